@@ -0,0 +1,276 @@
+package se.filipallberg.dark.mips32decompiler;
+
+import se.filipallberg.dark.mips32decompiler.output.GzipOutputStream;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Decompiles a number of inputs at the same time, each into its own file
+ * in an output directory, as enabled with the --batch option.
+ *
+ * The inputs are decompiled on a bounded pool of worker threads. Since
+ * the pool steals work, the largest inputs are started first so that a
+ * single huge input does not keep one worker busy long after the others
+ * have run out of work. When every input has been decompiled, a summary
+ * of the throughput of each input, or why it failed, is written.
+ */
+final class Batch {
+    private Batch() {}
+
+    /** An input and the file that its output is written to */
+    static final class Job {
+        private final Path input;
+        private final Path output;
+        private final long size;
+
+        private Job(Path input, Path output) throws IOException {
+            this.input = input;
+            this.output = output;
+            this.size = Files.size(input);
+        }
+
+        Path getInput() {
+            return input;
+        }
+
+        Path getOutput() {
+            return output;
+        }
+    }
+
+    /** The outcome of decompiling a single input */
+    static final class Result {
+        private final Job job;
+        private final long instructions;
+        private final long notLegal;
+        private final long nanos;
+        private final String error;
+
+        private Result(Job job, long instructions, long notLegal,
+                       long nanos, String error) {
+            this.job = job;
+            this.instructions = instructions;
+            this.notLegal = notLegal;
+            this.nanos = nanos;
+            this.error = error;
+        }
+
+        boolean failed() {
+            return error != null;
+        }
+
+        long getInstructions() {
+            return instructions;
+        }
+
+        long getNotLegal() {
+            return notLegal;
+        }
+
+        @Override
+        public String toString() {
+            if (failed()) {
+                return String.format("%s: failed: %s", job.input, error);
+            }
+            return String.format("%s: %d instructions, %d not legal, " +
+                            "%d ms, %.0f instructions/s", job.input,
+                    instructions, notLegal, nanos / 1_000_000,
+                    perSecond(instructions, nanos));
+        }
+    }
+
+    /**
+     * Decompiles the given files, and every regular file below the given
+     * directories, into the output directory and writes a summary to
+     * standard error.
+     *
+     * At most {@link Options#getThreads()} inputs are decompiled at a
+     * time.
+     *
+     * @return the number of inputs that failed.
+     */
+    static int run(Options options) throws IOException {
+        Path directory = options.getBatch();
+        List<Job> jobs = jobs(options.getInputs(), directory,
+                options.outputSuffix());
+        Files.createDirectories(directory);
+
+        long start = System.nanoTime();
+        List<Result> results = run(jobs, options);
+        summarize(results, System.nanoTime() - start, System.err);
+
+        return (int) results.stream().filter(Result::failed).count();
+    }
+
+    /**
+     * Lists the inputs along with the file that each is output to. The
+     * output of a file below a directory keeps its path relative to the
+     * directory, the output of any other file is named after the file.
+     *
+     * @throws IllegalArgumentException if two inputs would be output to
+     * the same file, or an input does not exist.
+     */
+    static List<Job> jobs(String[] inputs, Path directory, String suffix)
+            throws IOException {
+        Map<Path, Path> outputs = new HashMap<>();
+        List<Job> jobs = new ArrayList<>();
+        for (String arg : inputs) {
+            if ("-".equals(arg)) {
+                throw new IllegalArgumentException(
+                        "Standard input cannot be decompiled in a batch");
+            }
+            Path input = Paths.get(arg);
+            if (Files.isDirectory(input)) {
+                List<Path> files;
+                try (Stream<Path> walk = Files.walk(input)) {
+                    files = walk.filter(Files::isRegularFile)
+                            .sorted()
+                            .collect(Collectors.toList());
+                }
+                for (Path file : files) {
+                    jobs.add(job(file, input.relativize(file), directory,
+                            suffix, outputs));
+                }
+            } else if (Files.isRegularFile(input)) {
+                jobs.add(job(input, input.getFileName(), directory, suffix,
+                        outputs));
+            } else {
+                throw new IllegalArgumentException("The input: " + arg +
+                        " is neither a file nor a directory");
+            }
+        }
+        return jobs;
+    }
+
+    private static Job job(Path input, Path name, Path directory,
+                           String suffix, Map<Path, Path> outputs)
+            throws IOException {
+        Path output = directory.resolve(name.toString() + suffix);
+        Path previous = outputs.put(output, input);
+        if (previous != null) {
+            throw new IllegalArgumentException("The inputs: " + previous +
+                    " and " + input + " would both be output to " + output);
+        }
+        return new Job(input, output);
+    }
+
+    /**
+     * Decompiles every job on a work-stealing pool of
+     * {@link Options#getThreads()} threads, the largest inputs first.
+     *
+     * @return the results in the order of the jobs.
+     */
+    static List<Result> run(List<Job> jobs, Options options) {
+        int threads = options.getThreads();
+        if (threads < 1) {
+            throw new IllegalArgumentException("The number of threads: " +
+                    threads + " must be positive");
+        }
+        List<Job> largestFirst = new ArrayList<>(jobs);
+        largestFirst.sort(Comparator.comparingLong((Job j) -> j.size)
+                .reversed());
+
+        ExecutorService pool = Executors.newWorkStealingPool(threads);
+        try {
+            Map<Job, Future<Result>> futures = new HashMap<>();
+            for (Job job : largestFirst) {
+                futures.put(job, pool.submit(() -> decompile(job, options)));
+            }
+
+            List<Result> results = new ArrayList<>();
+            for (Job job : jobs) {
+                try {
+                    results.add(futures.get(job).get());
+                } catch (ExecutionException e) {
+                    results.add(new Result(job, 0, 0, 0,
+                            String.valueOf(e.getCause())));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    results.add(new Result(job, 0, 0, 0, "interrupted"));
+                }
+            }
+            return results;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * Decompiles the input of the given job into its output file. A
+     * failure is recorded in the result rather than thrown, so that the
+     * other inputs are still decompiled, and its output is removed.
+     */
+    private static Result decompile(Job job, Options options) {
+        long start = System.nanoTime();
+        try {
+            Path parent = job.output.getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            long[] counts;
+            try (OutputStream file = Files.newOutputStream(job.output)) {
+                Integer level = options.getGzipLevel();
+                GzipOutputStream gzip = level == null ? null :
+                        GzipOutputStream.withLevel(file, level);
+                try {
+                    counts = MIPS32Decompiler.decompile(options,
+                            job.input.toString(), gzip != null ? gzip : file);
+                } finally {
+                    if (gzip != null) {
+                        gzip.finish();
+                    }
+                }
+            }
+            return new Result(job, counts[0], counts[1],
+                    System.nanoTime() - start, null);
+        } catch (IOException | RuntimeException e) {
+            /* A partial output is not mistaken for a complete one */
+            try {
+                Files.deleteIfExists(job.output);
+            } catch (IOException ignored) {
+            }
+            return new Result(job, 0, 0, System.nanoTime() - start,
+                    e.getMessage() != null ? e.getMessage() : e.toString());
+        }
+    }
+
+    /** Writes a line per result followed by the total of every input */
+    static void summarize(List<Result> results, long nanos, PrintStream ps) {
+        long instructions = 0;
+        long notLegal = 0;
+        int failed = 0;
+        for (Result result : results) {
+            ps.println(result);
+            instructions += result.instructions;
+            notLegal += result.notLegal;
+            if (result.failed()) {
+                failed++;
+            }
+        }
+        ps.println(String.format("Total: %d files, %d failed, " +
+                        "%d instructions, %d not legal, %d ms, " +
+                        "%.0f instructions/s", results.size(), failed,
+                instructions, notLegal, nanos / 1_000_000,
+                perSecond(instructions, nanos)));
+    }
+
+    private static double perSecond(long instructions, long nanos) {
+        return nanos == 0 ? 0 : instructions * 1e9 / nanos;
+    }
+}
@@ -0,0 +1,20 @@
+package se.filipallberg.dark.mips32decompiler;
+
+import java.io.OutputStream;
+
+/**
+ * Decodes and renders a chunk of words into a stream of its own, so that
+ * chunks may be rendered on different threads and written out in order
+ * afterwards.
+ */
+@FunctionalInterface
+interface ChunkRenderer {
+    /**
+     * Renders the first {@code count} of the given words, the first word
+     * at the given address.
+     *
+     * @return the number of instructions that were output, and of those
+     * the number that were not legal.
+     */
+    long[] render(int[] words, int count, long address, OutputStream out);
+}
@@ -0,0 +1,105 @@
+package se.filipallberg.dark.mips32decompiler;
+
+import se.filipallberg.dark.mips32decompiler.instruction.DecodeResult;
+import se.filipallberg.dark.mips32decompiler.instruction.Instruction;
+import se.filipallberg.dark.mips32decompiler.instruction.util.DecomposedRepresentation;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * The columns of the table that the decompiler outputs. Each column only
+ * renders its own representation of an instruction, so that leaving a
+ * column out of the table means that its representation is never built.
+ */
+public enum Column {
+    INSTRUCTION("Instruction", 15, r ->
+            Instruction.asPaddedHexString(r.toNumericalRepresentation())),
+
+    FORMAT("Fmt", 2, r -> Objects.toString(r.getFormat(), "-")),
+
+    DECOMPOSITION("Decomposition", 15, r ->
+            decompose(r).asDecimalString()),
+
+    HEX("Decomp hex", 22, r -> decompose(r).asHexadecimalString()),
+
+    SOURCE("Source", 18, r ->
+            r.getType().toMnemonic(r.toNumericalRepresentation()).toString()),
+    ;
+
+    private final String header;
+    private final int width;
+    private final Function<DecodeResult, String> renderer;
+
+    Column(String header, int width, Function<DecodeResult, String> renderer) {
+        this.header = header;
+        this.width = width;
+        this.renderer = renderer;
+    }
+
+    public String getHeader() {
+        return header;
+    }
+
+    /** Returns the width that the column is padded to in the table */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * Renders this column of the given result. Nothing but the
+     * instruction and, possibly, the format of an illegal instruction is
+     * known, the other columns are rendered as "-".
+     */
+    public String render(DecodeResult result) {
+        if (result.getType() == null && this != INSTRUCTION && this != FORMAT) {
+            return "-";
+        }
+        return renderer.apply(result);
+    }
+
+    private static DecomposedRepresentation decompose(DecodeResult r) {
+        return DecomposedRepresentation.fromNumber(
+                r.toNumericalRepresentation(), r.getFormat().getLayout());
+    }
+
+    /**
+     * Parses a comma-separated list of column names, e.g.
+     * {@code instruction,source}. The columns are returned in the order
+     * that they appear in the table regardless of the order that they are
+     * listed in.
+     *
+     * @throws IllegalArgumentException if a name does not match any column.
+     */
+    public static List<Column> fromString(String names) {
+        EnumSet<Column> columns = EnumSet.noneOf(Column.class);
+        for (String name : names.split(",")) {
+            try {
+                columns.add(Column.valueOf(name.trim().toUpperCase()));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unknown column: " + name
+                        + ", expected one of: " + EnumSet.allOf(Column.class)
+                        .toString().toLowerCase());
+            }
+        }
+        return new ArrayList<>(columns);
+    }
+
+    /**
+     * Creates the format string of a row consisting of the given columns,
+     * e.g. {@code "%-15s %-18s\n"}.
+     */
+    public static String rowFormat(List<Column> columns) {
+        StringBuilder sb = new StringBuilder();
+        for (Column column : columns) {
+            if (sb.length() > 0) {
+                sb.append(' ');
+            }
+            sb.append("%-").append(column.width).append('s');
+        }
+        return sb.append('\n').toString();
+    }
+}
@@ -1,15 +1,64 @@
 package se.filipallberg.dark.mips32decompiler;
 
+import se.filipallberg.dark.mips32decompiler.instruction.DecodeCache;
+import se.filipallberg.dark.mips32decompiler.instruction.DecodeResult;
 import se.filipallberg.dark.mips32decompiler.instruction.Instruction;
-import se.filipallberg.dark.mips32decompiler.instruction.PartiallyLegalInstructionException;
+import se.filipallberg.dark.mips32decompiler.input.BinaryWordReader;
+import se.filipallberg.dark.mips32decompiler.input.ElfReader;
+import se.filipallberg.dark.mips32decompiler.input.FileFollower;
+import se.filipallberg.dark.mips32decompiler.input.Gzip;
+import se.filipallberg.dark.mips32decompiler.input.WordParser;
+import se.filipallberg.dark.mips32decompiler.output.GzipOutputStream;
+import se.filipallberg.dark.mips32decompiler.output.InstructionWriter;
 
 import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 public class MIPS32Decompiler {
-    private static StringJoiner sj = new StringJoiner(" ");
+    /** The settings of the run that this decompilation is part of */
+    private final Options options;
+
+    /** The stream that the output of this decompilation is written to */
+    private final OutputStream stream;
+
+    /** Writes the output to the stream, flushed when done */
+    private final InstructionWriter out;
+
+    /**
+     * Is {@code null} unless this decompilation reads the inputs of a
+     * pipeline, whose words are decoded on other threads
+     */
+    private Pipeline pipeline;
+
+    /** The address of the next instruction */
+    private long address;
+
+    /** The number of instructions output and how many were not legal */
+    private long instructions;
+    private long notLegal;
+
+    private MIPS32Decompiler(Options options, OutputStream stream) {
+        this.options = options;
+        this.stream = stream;
+        this.out = options.getFormat().create(stream, options.getColumns(),
+                options.isAddressed());
+    }
 
     public static void main(String[] args) throws IOException {
+        Options options = Options.parse(args);
+        args = options.getInputs();
+
         if (args.length == 0 || "-h".equals(args[0])) {
             System.err.println("Usage: MIPS32Decompiler [OPTION] " +
                     "<number|file>...");
@@ -21,65 +70,504 @@ public class MIPS32Decompiler {
             System.err.println("       or decimal form. Hexadecimal numbers must be");
             System.err.println("       preceeded by the 0x prefix.");
             System.err.println("    -h Shows this help message.");
+            System.err.println("    --cache <size> Caches the output of " +
+                    "repeated instructions.");
+            System.err.println("       The size is either a number of " +
+                    "entries or a number");
+            System.err.println("       of bytes, e.g. 4096 or 64KB. " +
+                    "Statistics are written");
+            System.err.println("       to standard error.");
+            System.err.println("    --columns <column,...> Only outputs " +
+                    "the given columns, any of");
+            System.err.println("       instruction, format, " +
+                    "decomposition, hex and source.");
+            System.err.println("    --output <format> Outputs the " +
+                    "instructions as a table, ndjson,");
+            System.err.println("       csv or binary records. The table " +
+                    "is output by default.");
+            System.err.println("    --gzip <level> Compresses the output " +
+                    "with gzip at the given");
+            System.err.println("       level, from 1 (fastest) to 9 " +
+                    "(smallest).");
+            System.err.println("    --binary Reads the files as raw " +
+                    "32-bit words rather than text.");
+            System.err.println("       --endian <big|little> The byte " +
+                    "order of the words, big by default.");
+            System.err.println("       --offset <bytes> Skips the given " +
+                    "number of bytes.");
+            System.err.println("       --length <bytes> Reads at most " +
+                    "the given number of bytes.");
+            System.err.println("    --elf Reads the executable sections " +
+                    "of 32-bit MIPS ELF files,");
+            System.err.println("       e.g. .text, along with the address " +
+                    "of each instruction.");
+            System.err.println("    --ihex Reads the files as Intel HEX " +
+                    "images, along with the");
+            System.err.println("       address of each instruction. " +
+                    "--endian applies.");
+            System.err.println("    --srec Reads the files as Motorola " +
+                    "S-record images, along with");
+            System.err.println("       the address of each instruction. " +
+                    "--endian applies.");
+            System.err.println("    --follow Outputs the instructions " +
+                    "appended to a single file as");
+            System.err.println("       they arrive, like tail -f, until " +
+                    "interrupted.");
+            System.err.println("    --parallel Decompiles each file on " +
+                    "a number of threads, in");
+            System.err.println("       chunks. Only applies to files " +
+                    "that are read as text or");
+            System.err.println("       --binary, and are not compressed.");
+            System.err.println("    --pipeline <decoders> Reads, decodes " +
+                    "and writes on threads of");
+            System.err.println("       their own, with the given number " +
+                    "of decoders. How the");
+            System.err.println("       stages kept up is written to " +
+                    "standard error.");
+            System.err.println("    --batch <directory> Decompiles the " +
+                    "files, and the files below");
+            System.err.println("       the directories, at the same time " +
+                    "into the given directory.");
+            System.err.println("       A summary of each file is written " +
+                    "to standard error.");
+            System.err.println("    --threads <n> The number of files, " +
+                    "or chunks with --parallel,");
+            System.err.println("       decompiled at a time, the number " +
+                    "of processors by default.");
+            System.err.println("    --base <address> Outputs the address " +
+                    "of each instruction, where");
+            System.err.println("       the input starts at the given " +
+                    "address.");
             System.err.println("If no option is passed, the argument(s) " +
                     "passed is");
-            System.err.println("assumed to be path to a filename");
+            System.err.println("assumed to be path to a filename, " +
+                    "where - is standard input. Files named *.gz, and");
+            System.err.println("compressed standard input, are " +
+                    "decompressed while read.");
             return;
         }
 
-        List<Integer> numbers = new ArrayList<>();
-        if ("-n".equals(args[0])) {
-            for (int i = 1; i < args.length; i++) {
-                numbers.add(numberFromString(args[i]));
+        boolean numbers = "-n".equals(args[0]);
+        if (options.getDecoders() != null && (options.getBatch() != null ||
+                options.isFollow() || options.getParallel() != null ||
+                numbers)) {
+            throw new IllegalArgumentException("Neither -n, --follow, " +
+                    "--parallel nor --batch may be combined with --pipeline");
+        }
+
+        int failed = 0;
+        if (options.getBatch() != null) {
+            if (options.isFollow() || numbers) {
+                throw new IllegalArgumentException("Neither -n nor " +
+                        "--follow may be combined with --batch");
             }
-            outputTable(numbers);
+            failed = Batch.run(options);
         } else {
-            for (String arg : args) {
-                BufferedReader br = new BufferedReader(new FileReader
-                        (arg));
-
-                String line;
-                while (isNotNull(line = br.readLine())) {
-                    if (line.isEmpty()) {
-                        continue;
+            GzipOutputStream gzip = options.getGzipLevel() == null ? null :
+                    GzipOutputStream.withLevel(System.out,
+                            options.getGzipLevel());
+            /* Standard output, compressed if so requested */
+            OutputStream stdout = gzip != null ? gzip : System.out;
+            try {
+                if (numbers) {
+                    outputTable(options, stdout, Arrays.stream(args, 1,
+                            args.length)
+                            .map(MIPS32Decompiler::numberFromString)
+                            .collect(Collectors.toList()));
+                } else {
+                    MIPS32Decompiler decompiler =
+                            new MIPS32Decompiler(options, stdout);
+                    try {
+                        if (options.isFollow()) {
+                            decompiler.followFile(args);
+                        } else if (options.getDecoders() != null) {
+                            decompiler.outputPipelined(args);
+                        } else {
+                            for (String arg : args) {
+                                decompiler.output(arg);
+                            }
+                        }
+                    } finally {
+                        decompiler.out.flush();
                     }
-                    numbers.add(numberFromString(line));
                 }
-                outputTable(numbers);
+            } finally {
+                if (gzip != null) {
+                    /* Ends the compressed output, standard output is left open */
+                    gzip.finish();
+                    System.out.flush();
+                }
             }
         }
+
+        if (options.getCache() != null) {
+            System.err.println("Cache: " + options.getCache());
+        }
+        if (failed > 0) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Decompiles the given input into the given stream, in the output
+     * format. Several inputs may be decompiled at the same time.
+     *
+     * @return the number of instructions that were output, and of those
+     * the number that were not legal.
+     */
+    static long[] decompile(Options options, String input,
+                            OutputStream stream) throws IOException {
+        MIPS32Decompiler decompiler = new MIPS32Decompiler(options, stream);
+        try {
+            decompiler.output(input);
+        } finally {
+            decompiler.out.flush();
+        }
+        return new long[] {decompiler.instructions, decompiler.notLegal};
+    }
+
+    /** Outputs a table of the given input, where - is standard input */
+    private void output(String input) throws IOException {
+        if ("-".equals(input)) {
+            /* Standard input is not ours to close */
+            outputStream(Gzip.sniff(System.in));
+            return;
+        }
+        Path file = Paths.get(input);
+        if (Gzip.isCompressed(file)) {
+            try (InputStream in = Gzip.decompress(
+                    Files.newInputStream(file))) {
+                outputStream(in);
+            }
+        } else if (options.isElf()) {
+            outputSections(ElfReader.open(file));
+        } else if (options.getRecords() != null) {
+            begin();
+            options.getRecords().apply(this::outputRow).read(file);
+        } else if (options.getParallel() != null) {
+            out.begin();
+            outputParallel(file);
+        } else {
+            begin();
+            address = options.getBase() + options.getOffset();
+            if (options.getBinary() != null) {
+                options.getBinary().read(file, this::outputRow);
+            } else {
+                WordParser.parse(file, this::outputRow);
+            }
+        }
+    }
+
+    /**
+     * Outputs a table of the given inputs, which are read, decoded and
+     * written by the stages of a pipeline. How the stages kept up with
+     * each other is written to standard error.
+     */
+    private void outputPipelined(String[] inputs) throws IOException {
+        /* The batches are written straight to the stream */
+        out.flush();
+        Pipeline pipeline = new Pipeline(options.getDecoders());
+        MIPS32Decompiler reader = new MIPS32Decompiler(options, stream);
+        reader.pipeline = pipeline;
+        try {
+            long[] counts = pipeline.run(() -> {
+                for (String input : inputs) {
+                    reader.output(input);
+                }
+            }, chunkRenderer(options), () -> {
+                out.begin();
+                out.flush();
+            }, stream);
+            instructions += counts[0];
+            notLegal += counts[1];
+        } finally {
+            System.err.println(pipeline);
+        }
+    }
+
+    /**
+     * Outputs a table of the given file, which is decompiled a chunk at a
+     * time on a number of threads.
+     */
+    private void outputParallel(Path file) throws IOException {
+        /* The chunks are written straight to the stream */
+        out.flush();
+        ChunkRenderer renderer = chunkRenderer(options);
+        ParallelDecompiler parallel = options.getParallel();
+        BinaryWordReader binary = options.getBinary();
+        try (FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.READ)) {
+            long[] counts;
+            if (binary != null) {
+                long start = binary.getOffset();
+                counts = parallel.decompile(channel, start,
+                        binary.end(channel.size()), false,
+                        options.getBase() + start,
+                        binary::read, renderer,
+                        (chunk, address, line) -> {
+                            this.address = address;
+                            binary.read(chunk, this::outputRow);
+                        }, stream);
+            } else {
+                counts = parallel.decompile(channel, 0, channel.size(),
+                        true, options.getBase(), (chunk, consumer) -> {
+                            WordParser parser = new WordParser(consumer);
+                            parser.parse(chunk);
+                            parser.finish();
+                        }, renderer,
+                        (chunk, address, line) -> {
+                            this.address = address;
+                            WordParser parser = new WordParser(
+                                    this::outputRow, line);
+                            parser.parse(chunk);
+                            parser.finish();
+                        }, stream);
+            }
+            instructions += counts[0];
+            notLegal += counts[1];
+        }
+    }
+
+    /**
+     * Returns a renderer of chunks that keeps a decompiler per thread,
+     * so that every chunk rendered on a thread reuses the buffer of the
+     * same writer.
+     */
+    private static ChunkRenderer chunkRenderer(Options options) {
+        ThreadLocal<MIPS32Decompiler> decompilers = ThreadLocal.withInitial(
+                () -> new MIPS32Decompiler(options, new ChunkStream()));
+        return (words, count, address, stream) -> outputChunk(
+                decompilers, words, count, address, stream);
+    }
+
+    /**
+     * Outputs the rows of the given words, without a header, as one chunk
+     * of the output.
+     */
+    private static long[] outputChunk(
+            ThreadLocal<MIPS32Decompiler> decompilers, int[] words,
+            int count, long address, OutputStream stream) {
+        MIPS32Decompiler decompiler = decompilers.get();
+        ChunkStream chunk = (ChunkStream) decompiler.stream;
+        chunk.target = stream;
+        decompiler.address = address;
+        decompiler.instructions = 0;
+        decompiler.notLegal = 0;
+        boolean rendered = false;
+        try {
+            for (int i = 0; i < count; i++) {
+                decompiler.outputRow(words[i]);
+            }
+            decompiler.out.flush();
+            rendered = true;
+        } finally {
+            chunk.target = null;
+            if (!rendered) {
+                /* The writer may hold part of the chunk */
+                decompilers.remove();
+            }
+        }
+        return new long[] {decompiler.instructions, decompiler.notLegal};
+    }
+
+    /**
+     * Passes the output of a decompiler on to the stream of the chunk
+     * that it currently renders.
+     */
+    private static final class ChunkStream extends OutputStream {
+        private OutputStream target;
+
+        @Override
+        public void write(int b) throws IOException {
+            target.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            target.write(b, off, len);
+        }
+    }
+
+    /**
+     * Outputs a table of the instructions appended to the given file as
+     * they arrive, until the program is interrupted. The output is
+     * flushed whenever every appended instruction has been output.
+     */
+    private void followFile(String[] args) throws IOException {
+        if (args.length != 1 || "-".equals(args[0]) || options.isElf() ||
+                Gzip.isCompressed(Paths.get(args[0]))) {
+            throw new IllegalArgumentException("Only a single file that " +
+                    "is neither compressed nor an ELF file may be followed");
+        }
+        out.begin();
+        address = options.getBase() + options.getOffset();
+
+        AtomicReference<Consumer<ByteBuffer>> sink =
+                new AtomicReference<>(followSink());
+        Runnable truncated = () -> {
+            /* The file is read from its first byte again */
+            address = options.getBase();
+            sink.set(followSink());
+        };
+
+        try (FileFollower follower = new FileFollower(Paths.get(args[0]),
+                options.getOffset())) {
+            follower.follow(b -> sink.get().accept(b), truncated,
+                    this::flushOutput);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Returns a sink that outputs the rows of the bytes of a followed
+     * file, from the start of a word, line or record
+     */
+    private Consumer<ByteBuffer> followSink() {
+        BinaryWordReader binary = options.getBinary();
+        if (options.getRecords() != null) {
+            return options.getRecords().apply(this::outputRow)::parse;
+        } else if (binary != null) {
+            return b -> binary.read(b, this::outputRow);
+        }
+        return new WordParser(this::outputRow)::parse;
+    }
+
+    /** Flushes everything that has been output, compressed or not */
+    private void flushOutput() {
+        out.flush();
+        try {
+            stream.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        System.out.flush();
+    }
+
+    /**
+     * Outputs a table of the input read from the given stream, which
+     * unlike a file cannot be mapped into memory.
+     */
+    private void outputStream(InputStream in) throws IOException {
+        if (options.isElf()) {
+            outputSections(new ElfReader(readFully(in)));
+            return;
+        }
+        begin();
+        address = options.getBase() + options.getOffset();
+        ReadableByteChannel channel = Channels.newChannel(in);
+        if (options.getRecords() != null) {
+            options.getRecords().apply(this::outputRow).read(channel);
+        } else if (options.getBinary() != null) {
+            options.getBinary().read(channel, this::outputRow);
+        } else {
+            WordParser.parse(channel, this::outputRow);
+        }
+    }
+
+    /**
+     * Outputs a table of each executable section of the given ELF file,
+     * where every instruction is output at its virtual address.
+     */
+    private void outputSections(ElfReader reader) {
+        for (ElfReader.Section section : reader.getExecutableSections()) {
+            begin();
+            address = section.getAddress();
+            section.read(this::outputRow);
+        }
     }
 
+    /** Reads all of the given stream, which cannot be mapped into memory */
+    private static ByteBuffer readFully(InputStream is) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        byte[] buffer = new byte[1 << 16];
+        int n;
+        while ((n = is.read(buffer)) != -1) {
+            bytes.write(buffer, 0, n);
+        }
+        return ByteBuffer.wrap(bytes.toByteArray());
+    }
+
+    /** Outputs a table of the given instructions, without any options */
     public static void outputTable(List<Integer> numbers)
             throws IOException {
-        String instruction = "Instruction";
-        String format = "Fmt";
-        String decomposition = "Decomposition";
-        String hex = "Decomp hex";
-        String decompiled = "Source";
-        Object[] header = {instruction, format, decomposition, hex,
-                decompiled};
+        outputTable(Options.defaults(), System.out, numbers);
+    }
 
-        System.out.format("%-15s %-2s %-15s %-22s %-18s\n", header);
+    private static void outputTable(Options options, OutputStream stream,
+                                    List<Integer> numbers) {
+        MIPS32Decompiler decompiler = new MIPS32Decompiler(options, stream);
+        decompiler.out.begin();
+        decompiler.address = options.getBase() + options.getOffset();
+        numbers.forEach(decompiler::outputRow);
+        decompiler.out.flush();
+    }
 
-        numbers.forEach(e -> {
-            try {
-                Instruction i;
-                i = Instruction.fromInteger(e);
-                Object[] row = {
-                        Instruction.asPaddedHexString(i.toNumericalRepresentation()),
-                        i.getFormat(), i.asDecimalString(), i
-                        .asHexadecimalString(),
-                        i.mnemonic()};
-                System.out.format("%-15s %-2s %-15s %-22s %-18s\n", row);
-            } catch (PartiallyLegalInstructionException exception) {
-                Object[] row = exception.getPartialOutput();
-
-                System.out.format("%-15s %-2s %-15s %-22s %-18s\n", row);
-                System.out.format("  Errors: %-15s\n", row[row.length -
-                        1]);
+    /**
+     * Outputs a table of the instructions read from the given reader, one
+     * instruction per line. The characters are parsed a block at a time,
+     * just as the bytes of a file are, so that the input may be of any
+     * size. No options apply.
+     */
+    public static void outputTable(BufferedReader br) throws IOException {
+        Options options = Options.defaults();
+        MIPS32Decompiler decompiler = new MIPS32Decompiler(options,
+                System.out);
+        decompiler.out.begin();
+        decompiler.address = options.getBase() + options.getOffset();
+        WordParser parser = new WordParser(decompiler::outputRow);
+        char[] chars = new char[1 << 13];
+        ByteBuffer bytes = ByteBuffer.allocate(chars.length);
+        int n;
+        while ((n = br.read(chars)) != -1) {
+            bytes.clear();
+            for (int i = 0; i < n; i++) {
+                /* No other character is part of a number */
+                bytes.put(chars[i] < 0x80 ? (byte) chars[i] : (byte) '?');
             }
-        });
+            bytes.flip();
+            parser.parse(bytes);
+        }
+        parser.finish();
+        decompiler.out.flush();
+    }
+
+    private void outputRow(long address, int instruction) {
+        this.address = address;
+        outputRow(instruction);
+    }
+
+    /** Starts the output of an input, e.g. the header of the table */
+    private void begin() {
+        if (pipeline != null) {
+            pipeline.begin();
+        } else {
+            out.begin();
+        }
+    }
+
+    private void outputRow(int instruction) {
+        if (pipeline != null) {
+            /* Is decoded by the pipeline */
+            pipeline.accept(address, instruction);
+            address += 4;
+            return;
+        }
+        DecodeCache cache = options.getCache();
+        DecodeResult result;
+        if (cache == null) {
+            result = Instruction.decode(instruction);
+            out.write(address, result);
+        } else {
+            DecodeCache.Entry entry = cache.get(instruction);
+            result = entry.getResult();
+            out.write(address, entry);
+        }
+        address += 4;
+        instructions++;
+        if (result.getStatus() != DecodeResult.Status.LEGAL) {
+            notLegal++;
+        }
     }
 
     public static Iterable<String> parse(InputStream is) throws
@@ -90,12 +578,17 @@ public class MIPS32Decompiler {
         String line;
         while (isNotNull(line = br.readLine())) {
             if (line.isEmpty()) { continue; }
-            try {
-                Instruction instruction;
-                instruction = Instruction.fromInteger(numberFromString(line));
-                disassembledCode.add(instruction.toString());
-            } catch (PartiallyLegalInstructionException e) {
-                disassembledCode.add(e.getMessage());
+            DecodeResult result = Instruction.decode(numberFromString(line));
+            switch (result.getStatus()) {
+                case LEGAL:
+                    disassembledCode.add(result.getInstruction().toString());
+                    break;
+                case PARTIALLY_LEGAL:
+                    disassembledCode.add(result.getInstruction() + " " +
+                            result.getErrors());
+                    break;
+                default:
+                    disassembledCode.add(result.getErrors());
             }
         }
 
@@ -103,10 +596,7 @@ public class MIPS32Decompiler {
     }
 
     private static int numberFromString(String s) {
-        if (s.startsWith("0x")) {
-            return (int) Long.parseLong(s.substring(2), 16);
-        }
-        return (int) Long.parseLong(s);
+        return (int) Options.longFromString(s);
     }
 
     private static boolean isNotNull(Object o) {
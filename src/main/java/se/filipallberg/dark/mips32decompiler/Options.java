@@ -0,0 +1,288 @@
+package se.filipallberg.dark.mips32decompiler;
+
+import se.filipallberg.dark.mips32decompiler.instruction.DecodeCache;
+import se.filipallberg.dark.mips32decompiler.input.AddressedWordConsumer;
+import se.filipallberg.dark.mips32decompiler.input.BinaryWordReader;
+import se.filipallberg.dark.mips32decompiler.input.IntelHexReader;
+import se.filipallberg.dark.mips32decompiler.input.RecordReader;
+import se.filipallberg.dark.mips32decompiler.input.SRecordReader;
+import se.filipallberg.dark.mips32decompiler.output.OutputFormat;
+import se.filipallberg.dark.mips32decompiler.output.TableWriter;
+
+import java.nio.ByteOrder;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+
+/**
+ * The settings of a single run of the decompiler, as given by the
+ * command-line options. They are not changed once parsed, so that every
+ * thread of a run may read them, and nothing is left behind for the
+ * next run.
+ */
+final class Options {
+    /** Is {@code null} unless enabled with the --cache option */
+    private DecodeCache cache;
+
+    /** The columns of the table, all unless given by --columns */
+    private List<Column> columns = Arrays.asList(Column.values());
+
+    /** The table unless given by the --output option */
+    private OutputFormat format = OutputFormat.TABLE;
+
+    /**
+     * Is {@code null} unless the output should be compressed at the
+     * given level, enabled with the --gzip option
+     */
+    private Integer gzipLevel;
+
+    /**
+     * Is {@code null} unless input files should be read as raw binary,
+     * enabled with the --binary option
+     */
+    private BinaryWordReader binary;
+
+    /** Whether input files are ELF files, enabled with the --elf option */
+    private boolean elf;
+
+    /**
+     * Is {@code null} unless input files are Intel HEX or S-record
+     * images, enabled with the --ihex and --srec options
+     */
+    private Function<AddressedWordConsumer, RecordReader> records;
+
+    /**
+     * Addresses are only output when given by the --base option. The
+     * address of the first instruction in each input is {@code base},
+     * plus the offset given by --offset.
+     */
+    private long base = -1;
+    private long offset;
+
+    /**
+     * Is {@code null} unless inputs should be decompiled on a number of
+     * threads, enabled with the --parallel option
+     */
+    private ParallelDecompiler parallel;
+
+    /**
+     * Is {@code null} unless inputs should be decompiled in a pipeline
+     * of the given number of decoders, enabled with the --pipeline option
+     */
+    private Integer decoders;
+
+    /** Whether a single file is followed, enabled with --follow */
+    private boolean follow;
+
+    /**
+     * Is {@code null} unless the inputs are decompiled into the given
+     * directory, enabled with the --batch option
+     */
+    private Path batch;
+
+    /** The number of files, or chunks, decompiled at a time */
+    private int threads = Runtime.getRuntime().availableProcessors();
+
+    /** The arguments following the options */
+    private String[] inputs = new String[0];
+
+    private Options() {}
+
+    /** Returns the settings of a run without any options */
+    static Options defaults() {
+        return parse(new String[0]);
+    }
+
+    /**
+     * Parses the options at the start of the given arguments, the rest
+     * of which are the inputs.
+     */
+    static Options parse(String[] args) {
+        Options options = new Options();
+        String cacheSize = null;
+        ByteOrder order = ByteOrder.BIG_ENDIAN;
+        long length = -1;
+        boolean readBinary = false;
+        boolean intelHex = false;
+        boolean sRecords = false;
+        boolean readParallel = false;
+        int first = 0;
+        while (first < args.length && args[first].startsWith("--")) {
+            String option = args[first++];
+            if ("--cache".equals(option) && first < args.length) {
+                cacheSize = args[first++];
+            } else if ("--columns".equals(option) && first < args.length) {
+                options.columns = Column.fromString(args[first++]);
+            } else if ("--output".equals(option) && first < args.length) {
+                options.format = OutputFormat.fromString(args[first++]);
+            } else if ("--gzip".equals(option) && first < args.length) {
+                options.gzipLevel = Integer.parseInt(args[first++]);
+            } else if ("--binary".equals(option)) {
+                readBinary = true;
+            } else if ("--elf".equals(option)) {
+                options.elf = true;
+            } else if ("--ihex".equals(option)) {
+                intelHex = true;
+            } else if ("--srec".equals(option)) {
+                sRecords = true;
+            } else if ("--follow".equals(option)) {
+                options.follow = true;
+            } else if ("--parallel".equals(option)) {
+                readParallel = true;
+            } else if ("--pipeline".equals(option) && first < args.length) {
+                options.decoders = Integer.parseInt(args[first++]);
+            } else if ("--batch".equals(option) && first < args.length) {
+                options.batch = Paths.get(args[first++]);
+            } else if ("--threads".equals(option) && first < args.length) {
+                options.threads = Integer.parseInt(args[first++]);
+            } else if ("--endian".equals(option) && first < args.length) {
+                order = byteOrderFromString(args[first++]);
+            } else if ("--offset".equals(option) && first < args.length) {
+                options.offset = longFromString(args[first++]);
+            } else if ("--length".equals(option) && first < args.length) {
+                length = longFromString(args[first++]);
+            } else if ("--base".equals(option) && first < args.length) {
+                options.base = longFromString(args[first++]);
+            } else {
+                System.err.println("Unknown option: " + option);
+                first = args.length;
+            }
+        }
+        options.inputs = Arrays.copyOfRange(args, first, args.length);
+
+        if (readBinary) {
+            options.binary = new BinaryWordReader(order, options.offset,
+                    length);
+        } else {
+            /* Only binary input is read from an offset */
+            options.offset = 0;
+        }
+
+        ByteOrder wordOrder = order;
+        if (intelHex) {
+            options.records = c -> new IntelHexReader(wordOrder, c);
+        } else if (sRecords) {
+            options.records = c -> new SRecordReader(wordOrder, c);
+        }
+
+        if (options.elf || options.records != null) {
+            /* Every instruction is output at its own address */
+            options.base = 0;
+        }
+
+        if (readParallel) {
+            if (options.threads < 1) {
+                throw new IllegalArgumentException("The number of " +
+                        "threads: " + options.threads + " must be positive");
+            }
+            options.parallel = new ParallelDecompiler(
+                    new ForkJoinPool(options.threads));
+        }
+
+        if (cacheSize != null) {
+            /*
+             * The cached rows depend on the columns, only the table is
+             * written from rendered rows
+             */
+            List<Column> columns = options.columns;
+            options.cache = DecodeCache.fromString(cacheSize,
+                    options.format == OutputFormat.TABLE ?
+                            r -> TableWriter.render(columns, r) : r -> "");
+        }
+        return options;
+    }
+
+    DecodeCache getCache() {
+        return cache;
+    }
+
+    List<Column> getColumns() {
+        return columns;
+    }
+
+    OutputFormat getFormat() {
+        return format;
+    }
+
+    Integer getGzipLevel() {
+        return gzipLevel;
+    }
+
+    BinaryWordReader getBinary() {
+        return binary;
+    }
+
+    boolean isElf() {
+        return elf;
+    }
+
+    Function<AddressedWordConsumer, RecordReader> getRecords() {
+        return records;
+    }
+
+    long getBase() {
+        return base;
+    }
+
+    long getOffset() {
+        return offset;
+    }
+
+    /** Whether the address of every instruction is output */
+    boolean isAddressed() {
+        return base >= 0;
+    }
+
+    ParallelDecompiler getParallel() {
+        return parallel;
+    }
+
+    Integer getDecoders() {
+        return decoders;
+    }
+
+    boolean isFollow() {
+        return follow;
+    }
+
+    Path getBatch() {
+        return batch;
+    }
+
+    int getThreads() {
+        return threads;
+    }
+
+    String[] getInputs() {
+        return inputs.clone();
+    }
+
+    /** Returns the suffix of files in the output format, e.g. ".csv" */
+    String outputSuffix() {
+        String suffix = format == OutputFormat.TABLE ? ".txt" :
+                "." + format.name().toLowerCase();
+        return gzipLevel == null ? suffix : suffix + ".gz";
+    }
+
+    private static ByteOrder byteOrderFromString(String s) {
+        switch (s) {
+            case "big":
+                return ByteOrder.BIG_ENDIAN;
+            case "little":
+                return ByteOrder.LITTLE_ENDIAN;
+            default:
+                throw new IllegalArgumentException("The byte order: " + s +
+                        " is neither big nor little");
+        }
+    }
+
+    static long longFromString(String s) {
+        if (s.startsWith("0x")) {
+            return Long.parseLong(s.substring(2), 16);
+        }
+        return Long.parseLong(s);
+    }
+}
@@ -0,0 +1,248 @@
+package se.filipallberg.dark.mips32decompiler;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.IntConsumer;
+
+/**
+ * Decompiles a single large file on a number of threads, as enabled with
+ * the --parallel option. The file is split into chunks on word or line
+ * boundaries, which are parsed, decoded and rendered independently of
+ * each other on a fork-join pool. The rendered chunks are written in the
+ * order of the file, so that the output is exactly that of decompiling
+ * the file on a single thread.
+ *
+ * Only a bounded number of chunks are in flight at a time, so that the
+ * memory used does not depend on the size of the file. Each chunk is
+ * mapped into memory on its own.
+ *
+ * The address of the first instruction of a chunk of text is not known
+ * until every chunk before it has been parsed, as lines may be blank or
+ * comments. Only the addresses are handed from chunk to chunk, the
+ * chunks are otherwise parsed and rendered at the same time.
+ */
+final class ParallelDecompiler {
+    /** The default size of a chunk in bytes */
+    static final int CHUNK = 1 << 18;
+
+    /** Parses the words of a chunk */
+    interface Parser {
+        void parse(ByteBuffer chunk, IntConsumer consumer);
+    }
+
+    /**
+     * Outputs a chunk whose words could not be parsed on the thread that
+     * writes the output, which fails just like decompiling the file on a
+     * single thread would, after outputting every word before the error.
+     */
+    interface Fallback {
+        void output(ByteBuffer chunk, long address, long line)
+                throws IOException;
+    }
+
+    /** The words parsed from a chunk */
+    private static final class Words implements IntConsumer {
+        private int[] words = new int[1 << 12];
+        private int count;
+
+        @Override
+        public void accept(int word) {
+            if (count == words.length) {
+                words = Arrays.copyOf(words, 2 * count);
+            }
+            words[count++] = word;
+        }
+    }
+
+    /** A chunk of the file between two boundaries */
+    private static final class Chunk {
+        private final long start;
+        private final ByteBuffer bytes;
+        private CompletableFuture<Words> words;
+        private CompletableFuture<Long> address;
+        private CompletableFuture<Rendered> rendered;
+
+        private Chunk(long start, ByteBuffer bytes) {
+            this.start = start;
+            this.bytes = bytes;
+        }
+    }
+
+    /** The output of a chunk */
+    private static final class Rendered {
+        private final ByteArrayOutputStream bytes =
+                new ByteArrayOutputStream(1 << 16);
+        private long[] counts;
+    }
+
+    private final ForkJoinPool pool;
+
+    /**
+     * The size of a chunk in bytes, before its end is moved to the next
+     * line. Is a multiple of 4 so that chunks of words are whole words.
+     */
+    private final int chunkSize;
+
+    /** The maximum number of chunks in flight */
+    private final int inFlight;
+
+    ParallelDecompiler(ForkJoinPool pool, int chunkSize) {
+        if (chunkSize <= 0 || chunkSize % 4 != 0) {
+            throw new IllegalArgumentException("The chunk size: " +
+                    chunkSize + " must be a positive multiple of 4");
+        }
+        this.pool = pool;
+        this.chunkSize = chunkSize;
+        this.inFlight = 2 * pool.getParallelism();
+    }
+
+    ParallelDecompiler(ForkJoinPool pool) {
+        this(pool, CHUNK);
+    }
+
+    /**
+     * Decompiles the given part of a file into the given stream.
+     *
+     * @param start the position of the first word.
+     * @param end the position just past the last word.
+     * @param lines whether the words are text, one per line, rather than
+     *              32-bit words.
+     * @param address the address of the first word.
+     * @return the number of instructions that were output, and of those
+     * the number that were not legal.
+     */
+    long[] decompile(FileChannel channel, long start, long end,
+                     boolean lines, long address, Parser parser,
+                     ChunkRenderer renderer, Fallback fallback,
+                     OutputStream out) throws IOException {
+        long[] total = new long[2];
+        Deque<Chunk> chunks = new ArrayDeque<>();
+        CompletableFuture<Long> next =
+                CompletableFuture.completedFuture(address);
+
+        long position = start;
+        while (position < end || !chunks.isEmpty()) {
+            while (position < end && chunks.size() < inFlight) {
+                long limit = boundary(channel, position, end, lines);
+                Chunk chunk = new Chunk(position, channel.map(
+                        FileChannel.MapMode.READ_ONLY, position,
+                        limit - position));
+                chunk.words = CompletableFuture.supplyAsync(() -> {
+                    Words words = new Words();
+                    parser.parse(chunk.bytes.duplicate(), words);
+                    return words;
+                }, pool);
+                chunk.address = next;
+                chunk.rendered = chunk.words.thenCombineAsync(next,
+                        (words, a) -> {
+                            Rendered rendered = new Rendered();
+                            rendered.counts = renderer.render(words.words,
+                                    words.count, a, rendered.bytes);
+                            return rendered;
+                        }, pool);
+                next = next.thenCombine(chunk.words,
+                        (a, words) -> a + 4L * words.count);
+                chunks.add(chunk);
+                position = limit;
+            }
+
+            Chunk chunk = chunks.remove();
+            Rendered rendered;
+            try {
+                rendered = chunk.rendered.join();
+            } catch (CompletionException e) {
+                for (Chunk c : chunks) {
+                    c.rendered.cancel(false);
+                }
+                if (chunk.words.isCompletedExceptionally()) {
+                    /* Every chunk before has been output */
+                    fallback.output(chunk.bytes.duplicate(),
+                            chunk.address.join(), lines ?
+                                    1 + countLines(channel, start,
+                                            chunk.start) : 1);
+                }
+                throw propagate(e.getCause());
+            }
+            rendered.bytes.writeTo(out);
+            total[0] += rendered.counts[0];
+            total[1] += rendered.counts[1];
+        }
+        return total;
+    }
+
+    /**
+     * Returns the end of the chunk that starts at the given position,
+     * which is just past the end of a line if the chunk is text.
+     */
+    private long boundary(FileChannel channel, long position,
+                                 long end, boolean lines)
+            throws IOException {
+        long limit = position + chunkSize;
+        if (limit >= end) {
+            return end;
+        }
+        if (!lines) {
+            return limit;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(1 << 12);
+        while (limit < end) {
+            buffer.clear();
+            if (channel.read(buffer, limit) <= 0) {
+                return end;
+            }
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                limit++;
+                if (buffer.get() == '\n') {
+                    return Math.min(limit, end);
+                }
+            }
+        }
+        return end;
+    }
+
+    /** Counts the line terminators between the given positions */
+    private static long countLines(FileChannel channel, long start,
+                                   long end) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(1 << 16);
+        long lines = 0;
+        for (long position = start; position < end; ) {
+            buffer.clear();
+            buffer.limit((int) Math.min(buffer.capacity(), end - position));
+            int n = channel.read(buffer, position);
+            if (n <= 0) {
+                break;
+            }
+            position += n;
+            for (int i = 0; i < n; i++) {
+                if (buffer.get(i) == '\n') {
+                    lines++;
+                }
+            }
+        }
+        return lines;
+    }
+
+    private static RuntimeException propagate(Throwable cause) {
+        if (cause instanceof RuntimeException) {
+            return (RuntimeException) cause;
+        }
+        if (cause instanceof Error) {
+            throw (Error) cause;
+        }
+        if (cause instanceof IOException) {
+            return new UncheckedIOException((IOException) cause);
+        }
+        return new RuntimeException(cause);
+    }
+}
@@ -0,0 +1,311 @@
+package se.filipallberg.dark.mips32decompiler;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+
+/**
+ * Decompiles inputs in three stages that run at the same time, as
+ * enabled with the --pipeline option. A reader stage reads the words of
+ * the inputs into batches, a number of decoder stages decode and render
+ * the batches, and a writer stage writes the rendered batches in the
+ * order that they were read. A stall in one stage, e.g. reading from a
+ * slow disk, does not hold up the others until the buffers between them
+ * run full.
+ *
+ * The stages are connected by {@link RingBuffer}s that each have a single
+ * producer. The reader puts each batch both in the decode buffer, which
+ * the decoders take from, and in the write buffer, which the writer takes
+ * from in order. A fixed number of batches are reused, the writer hands
+ * them back to the reader once they have been written. The reader thus
+ * waits for a free batch whenever the decoders or the writer fall behind.
+ */
+final class Pipeline {
+    /** The maximum number of words in a batch */
+    static final int BATCH = 1 << 12;
+
+    /** Reads the inputs, handing every word to the pipeline */
+    @FunctionalInterface
+    interface Reader {
+        void read() throws IOException;
+    }
+
+    /** A batch of consecutive words, along with its output */
+    private static final class WordBatch {
+        private final int[] words = new int[BATCH];
+        private int count;
+
+        /** The address of the first word */
+        private long address;
+
+        /** Whether an input starts with this batch */
+        private boolean begin;
+
+        private final ByteArrayOutputStream bytes =
+                new ByteArrayOutputStream();
+        private long[] counts;
+        private Throwable error;
+        private boolean decoded;
+
+        private void reset() {
+            count = 0;
+            begin = false;
+            bytes.reset();
+            counts = null;
+            error = null;
+            decoded = false;
+        }
+
+        private synchronized void decoded() {
+            decoded = true;
+            notifyAll();
+        }
+
+        /** @return whether the writer had to wait */
+        private synchronized boolean awaitDecoded()
+                throws InterruptedException {
+            if (decoded) {
+                return false;
+            }
+            do {
+                wait();
+            } while (!decoded);
+            return true;
+        }
+    }
+
+    /** Ends the input of the decoders and of the writer */
+    private static final WordBatch END = new WordBatch();
+
+    private final int decoders;
+
+    /** The number of batches that are reused */
+    private final int capacity;
+
+    private final RingBuffer<WordBatch> free;
+    private final RingBuffer<WordBatch> decode;
+    private final RingBuffer<WordBatch> write;
+
+    /** The batch being filled by the reader */
+    private WordBatch current;
+    private int allocated;
+    private long batches;
+
+    /** Is set by the reader before it ends the input of the writer */
+    private Throwable readError;
+
+    /** How many times the writer waited for a batch to be decoded */
+    private long decodeWaits;
+
+    /** @param decoders the number of decoder stages */
+    Pipeline(int decoders) {
+        if (decoders < 1) {
+            throw new IllegalArgumentException("The number of decoders: " +
+                    decoders + " must be positive");
+        }
+        this.decoders = decoders;
+        this.capacity = 2 * decoders + 2;
+        this.free = new RingBuffer<>(capacity);
+        this.decode = new RingBuffer<>(capacity + decoders);
+        this.write = new RingBuffer<>(capacity + 1);
+    }
+
+    /**
+     * Starts an input, after which the writer calls the {@code begin} of
+     * {@link #run}, e.g. to write the header of a table. Is called by the
+     * reader.
+     */
+    void begin() {
+        publish();
+        current = nextBatch();
+        current.begin = true;
+    }
+
+    /**
+     * Hands a word to the decoders. A word that does not follow the
+     * previous word starts a new batch, as the words of a batch are at
+     * consecutive addresses. Is called by the reader.
+     */
+    void accept(long address, int word) {
+        if (current != null && current.count > 0 &&
+                (current.count == BATCH ||
+                        address != current.address + 4L * current.count)) {
+            publish();
+        }
+        if (current == null) {
+            current = nextBatch();
+        }
+        if (current.count == 0) {
+            current.address = address;
+        }
+        current.words[current.count++] = word;
+    }
+
+    private WordBatch nextBatch() {
+        WordBatch batch;
+        if (allocated < capacity) {
+            allocated++;
+            batch = new WordBatch();
+        } else {
+            try {
+                batch = free.take();
+            } catch (InterruptedException e) {
+                throw interrupted();
+            }
+            batch.reset();
+        }
+        return batch;
+    }
+
+    private void publish() {
+        if (current == null) {
+            return;
+        }
+        try {
+            write.put(current);
+            decode.put(current);
+        } catch (InterruptedException e) {
+            throw interrupted();
+        }
+        current = null;
+        batches++;
+    }
+
+    private static CancellationException interrupted() {
+        Thread.currentThread().interrupt();
+        return new CancellationException("The pipeline was stopped");
+    }
+
+    /**
+     * Runs the reader and the decoders on threads of their own, while the
+     * calling thread writes the rendered batches to the given stream. An
+     * error of the reader is thrown once every batch before it has been
+     * written.
+     *
+     * @param begin is called whenever an input starts, before its first
+     *              batch is written.
+     * @return the number of instructions that were output, and of those
+     * the number that were not legal.
+     */
+    long[] run(Reader reader, ChunkRenderer renderer, Runnable begin,
+               OutputStream out) throws IOException {
+        List<Thread> threads = new ArrayList<>();
+        threads.add(new Thread(() -> read(reader), "pipeline-reader"));
+        for (int i = 1; i <= decoders; i++) {
+            threads.add(new Thread(() -> decode(renderer),
+                    "pipeline-decoder-" + i));
+        }
+        for (Thread thread : threads) {
+            thread.setDaemon(true);
+            thread.start();
+        }
+
+        long[] total = new long[2];
+        try {
+            WordBatch batch;
+            while ((batch = write.take()) != END) {
+                if (batch.awaitDecoded()) {
+                    decodeWaits++;
+                }
+                if (batch.error != null) {
+                    throw propagate(batch.error);
+                }
+                if (batch.begin) {
+                    begin.run();
+                }
+                batch.bytes.writeTo(out);
+                total[0] += batch.counts[0];
+                total[1] += batch.counts[1];
+                free.put(batch);
+            }
+            for (Thread thread : threads) {
+                thread.join();
+            }
+        } catch (InterruptedException e) {
+            throw interrupted();
+        } finally {
+            /* Stops the other stages if the writer failed */
+            for (Thread thread : threads) {
+                thread.interrupt();
+            }
+        }
+        if (readError != null) {
+            if (readError instanceof IOException) {
+                throw (IOException) readError;
+            }
+            throw propagate(readError);
+        }
+        return total;
+    }
+
+    private void read(Reader reader) {
+        try {
+            reader.read();
+        } catch (IOException | RuntimeException | Error e) {
+            readError = e;
+        }
+        try {
+            /* The words read before an error are still written */
+            publish();
+            write.put(END);
+            for (int i = 0; i < decoders; i++) {
+                decode.put(END);
+            }
+        } catch (CancellationException | InterruptedException e) {
+            /* The writer has stopped */
+        }
+    }
+
+    private void decode(ChunkRenderer renderer) {
+        try {
+            WordBatch batch;
+            while ((batch = decode.take()) != END) {
+                try {
+                    batch.counts = renderer.render(batch.words, batch.count,
+                            batch.address, batch.bytes);
+                } catch (RuntimeException | Error e) {
+                    batch.error = e;
+                }
+                batch.decoded();
+            }
+        } catch (InterruptedException e) {
+            /* The writer has stopped */
+        }
+    }
+
+    private static RuntimeException propagate(Throwable cause) {
+        if (cause instanceof RuntimeException) {
+            return (RuntimeException) cause;
+        }
+        if (cause instanceof Error) {
+            throw (Error) cause;
+        }
+        if (cause instanceof IOException) {
+            return new UncheckedIOException((IOException) cause);
+        }
+        return new RuntimeException(cause);
+    }
+
+    /**
+     * Describes how deep the buffers between the stages were and how
+     * often each stage waited. A stage that others keep waiting for is
+     * the one that limits the throughput: the reader if the decode buffer
+     * is mostly empty, the decoders if it is mostly full, and the writer
+     * if the reader keeps waiting for free batches while the decoders do
+     * not wait.
+     */
+    @Override
+    public String toString() {
+        return String.format("Pipeline: %d batches of at most %d words, " +
+                        "%d decoders%n" +
+                        "  Free batches: %s%n" +
+                        "  Decode buffer: %s%n" +
+                        "  Write buffer: %s, waited for decoding %d " +
+                        "times", batches, BATCH, decoders, free, decode,
+                write, decodeWaits);
+    }
+}
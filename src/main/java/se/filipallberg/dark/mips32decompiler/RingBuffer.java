@@ -0,0 +1,129 @@
+package se.filipallberg.dark.mips32decompiler;
+
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A bounded ring buffer that connects two stages of a {@link Pipeline},
+ * where a single thread puts elements and any number of threads take
+ * them. A full buffer blocks the producer until an element is taken, so
+ * that a fast stage is held back by a slow one rather than buffering
+ * without bound.
+ *
+ * Elements are batches of words, so that the buffer is locked once per
+ * batch rather than once per word. The depth of the buffer is recorded
+ * every time an element is put, along with how often either side had
+ * to wait, which tells which stage limits the throughput.
+ */
+final class RingBuffer<T> {
+    private final Object[] slots;
+
+    /** The number of elements ever put and taken */
+    private long puts;
+    private long takes;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Condition notFull = lock.newCondition();
+
+    /** The sum of the depths seen by every put, and the largest one */
+    private long depths;
+    private int maxDepth;
+
+    /** How many times a put found the buffer full, or a take empty */
+    private long fullWaits;
+    private long emptyWaits;
+
+    RingBuffer(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("The capacity: " +
+                    capacity + " must be positive");
+        }
+        slots = new Object[capacity];
+    }
+
+    /** Puts the element, waiting for room if the buffer is full */
+    void put(T element) throws InterruptedException {
+        lock.lock();
+        try {
+            if (puts - takes == slots.length) {
+                fullWaits++;
+                do {
+                    notFull.await();
+                } while (puts - takes == slots.length);
+            }
+            slots[(int) (puts++ % slots.length)] = element;
+            int depth = (int) (puts - takes);
+            depths += depth;
+            maxDepth = Math.max(maxDepth, depth);
+            notEmpty.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Takes the oldest element, waiting for one if the buffer is empty */
+    @SuppressWarnings("unchecked")
+    T take() throws InterruptedException {
+        lock.lock();
+        try {
+            if (puts == takes) {
+                emptyWaits++;
+                do {
+                    notEmpty.await();
+                } while (puts == takes);
+            }
+            int slot = (int) (takes++ % slots.length);
+            T element = (T) slots[slot];
+            slots[slot] = null;
+            notFull.signal();
+            return element;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int capacity() {
+        return slots.length;
+    }
+
+    /** The mean depth of the buffer as seen by the puts */
+    double meanDepth() {
+        lock.lock();
+        try {
+            return puts == 0 ? 0 : (double) depths / puts;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    long fullWaits() {
+        lock.lock();
+        try {
+            return fullWaits;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    long emptyWaits() {
+        lock.lock();
+        try {
+            return emptyWaits;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public String toString() {
+        lock.lock();
+        try {
+            return String.format("depth %.1f of %d (max %d), full %d " +
+                            "times, empty %d times", meanDepth(),
+                    slots.length, maxDepth, fullWaits, emptyWaits);
+        } finally {
+            lock.unlock();
+        }
+    }
+}
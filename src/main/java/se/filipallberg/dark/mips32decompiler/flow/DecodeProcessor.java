@@ -0,0 +1,250 @@
+package se.filipallberg.dark.mips32decompiler.flow;
+
+import se.filipallberg.dark.mips32decompiler.instruction.DecodeResult;
+import se.filipallberg.dark.mips32decompiler.instruction.Instruction;
+
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Decodes batches of words as a stage of a reactive stream, e.g. between
+ * a queue of words and a service that stores the results. Every word is
+ * published as a {@link DecodeResult}, so that partially legal and
+ * illegal words are passed on rather than failing the stream.
+ *
+ * Nothing blocks. Words are only decoded as the subscriber requests
+ * results, on the given executor, and only a bounded number of batches
+ * are requested from upstream ahead of that. A slow subscriber thus
+ * holds back the upstream publisher instead of having results buffered
+ * for it. Once half of the buffered batches have been decoded, as many
+ * batches are requested at once.
+ *
+ * Only a single subscriber is supported. Whether upstream completes or
+ * fails, the words of the batches received before are published first.
+ */
+public final class DecodeProcessor
+        implements Flow.Processor<int[], DecodeResult> {
+    /** The number of batches buffered by default */
+    public static final int DEFAULT_BATCHES = 16;
+
+    private final Executor executor;
+
+    /** The maximum number of batches requested ahead of the subscriber */
+    private final int batches;
+
+    /** The number of batches decoded before more are requested */
+    private final int limit;
+
+    /** Holds at most {@link #batches} batches, as no more are requested */
+    private final Queue<int[]> queue = new ConcurrentLinkedQueue<>();
+
+    private final AtomicReference<Flow.Subscriber<? super DecodeResult>>
+            subscriber = new AtomicReference<>();
+    private volatile Flow.Subscription upstream;
+
+    /** The number of results requested but not yet published */
+    private final AtomicLong demand = new AtomicLong();
+
+    /** Is non-zero while the results are published, see {@link #drain} */
+    private final AtomicInteger work = new AtomicInteger();
+
+    private volatile boolean done;
+    private volatile Throwable error;
+    private volatile boolean cancelled;
+
+    /** Is set if the subscriber requested less than one result */
+    private volatile Throwable invalidRequest;
+
+    /* Only accessed while draining */
+    private boolean requested;
+    private boolean terminated;
+    private int[] batch;
+    private int index;
+    private int decoded;
+
+    /**
+     * @param executor publishes the results, e.g. a pool of threads.
+     * @param batches the maximum number of batches of words requested
+     *                from upstream ahead of the subscriber.
+     */
+    public DecodeProcessor(Executor executor, int batches) {
+        if (batches < 1) {
+            throw new IllegalArgumentException("The number of batches: " +
+                    batches + " must be positive");
+        }
+        this.executor = Objects.requireNonNull(executor);
+        this.batches = batches;
+        this.limit = Math.max(1, batches / 2);
+    }
+
+    /** Publishes on the common fork-join pool */
+    public DecodeProcessor() {
+        this(ForkJoinPool.commonPool(), DEFAULT_BATCHES);
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super DecodeResult> s) {
+        Objects.requireNonNull(s);
+        if (!subscriber.compareAndSet(null, s)) {
+            s.onSubscribe(new Flow.Subscription() {
+                @Override
+                public void request(long n) {}
+
+                @Override
+                public void cancel() {}
+            });
+            s.onError(new IllegalStateException(
+                    "Only a single subscriber is supported"));
+            return;
+        }
+        s.onSubscribe(new Flow.Subscription() {
+            @Override
+            public void request(long n) {
+                if (n <= 0) {
+                    invalidRequest = new IllegalArgumentException(
+                            "The request: " + n + " must be positive");
+                    cancelled = true;
+                } else {
+                    /* Saturates, as Long.MAX_VALUE means unbounded */
+                    demand.accumulateAndGet(n, (a, b) -> a + b < 0 ?
+                            Long.MAX_VALUE : a + b);
+                }
+                drain();
+            }
+
+            @Override
+            public void cancel() {
+                cancelled = true;
+                drain();
+            }
+        });
+        drain();
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        Objects.requireNonNull(subscription);
+        if (upstream != null) {
+            subscription.cancel();
+            return;
+        }
+        upstream = subscription;
+        drain();
+    }
+
+    @Override
+    public void onNext(int[] words) {
+        queue.offer(Objects.requireNonNull(words));
+        drain();
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        error = Objects.requireNonNull(throwable);
+        done = true;
+        drain();
+    }
+
+    @Override
+    public void onComplete() {
+        done = true;
+        drain();
+    }
+
+    /**
+     * Publishes the results on the executor, unless they already are
+     * being published in which case that will go on to publish them.
+     * Every signal thus ends up being handled by a single thread at a
+     * time, without any locks.
+     */
+    private void drain() {
+        if (work.getAndIncrement() == 0) {
+            executor.execute(this::publish);
+        }
+    }
+
+    private void publish() {
+        int missed = 1;
+        do {
+            Flow.Subscriber<? super DecodeResult> s = subscriber.get();
+            if (s != null && !terminated) {
+                publish(s);
+            }
+            missed = work.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    private void publish(Flow.Subscriber<? super DecodeResult> s) {
+        Flow.Subscription up = upstream;
+        if (cancelled) {
+            terminated = true;
+            queue.clear();
+            batch = null;
+            if (up != null) {
+                up.cancel();
+            }
+            if (invalidRequest != null) {
+                s.onError(invalidRequest);
+            }
+            return;
+        }
+        if (!requested && up != null) {
+            requested = true;
+            up.request(batches);
+        }
+
+        long requests = demand.get();
+        long published = 0;
+        while (published != requests && hasWord()) {
+            s.onNext(Instruction.decode(batch[index++]));
+            published++;
+            if (cancelled) {
+                return;
+            }
+        }
+        if (published != 0 && requests != Long.MAX_VALUE) {
+            demand.addAndGet(-published);
+        }
+
+        /* Is read first, as every batch arrives before it is set */
+        boolean complete = done;
+        if (complete && !hasWord()) {
+            terminated = true;
+            if (error != null) {
+                s.onError(error);
+            } else {
+                s.onComplete();
+            }
+        }
+    }
+
+    /**
+     * Moves on to the next batch once the current one has been decoded,
+     * requesting more batches when enough have been decoded.
+     *
+     * @return whether there is a word to decode.
+     */
+    private boolean hasWord() {
+        while (batch == null || index == batch.length) {
+            if (batch != null) {
+                batch = null;
+                if (++decoded == limit) {
+                    decoded = 0;
+                    upstream.request(limit);
+                }
+            }
+            batch = queue.poll();
+            index = 0;
+            if (batch == null) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,53 @@
+package se.filipallberg.dark.mips32decompiler.flow;
+
+/**
+ * The interfaces of reactive streams, where a subscriber is only sent as
+ * many items as it has requested. They are the same as those of
+ * {@code java.util.concurrent.Flow}, which is not available before Java
+ * 9, so that moving to that is a matter of changing the imports.
+ */
+public final class Flow {
+    private Flow() {}
+
+    /** Produces items for the subscribers that subscribe to it */
+    @FunctionalInterface
+    public interface Publisher<T> {
+        /**
+         * Adds the given subscriber, whose {@code onSubscribe} is called
+         * before any other method. A publisher that cannot accept the
+         * subscriber signals {@code onError} instead.
+         */
+        void subscribe(Subscriber<? super T> subscriber);
+    }
+
+    /**
+     * Receives items. The methods are called one at a time, in the
+     * order {@code onSubscribe}, any number of {@code onNext} and at
+     * most one of {@code onError} and {@code onComplete}.
+     */
+    public interface Subscriber<T> {
+        void onSubscribe(Subscription subscription);
+
+        void onNext(T item);
+
+        void onError(Throwable throwable);
+
+        void onComplete();
+    }
+
+    /** Links a publisher to a subscriber */
+    public interface Subscription {
+        /**
+         * Requests up to {@code n} more items. A request of less than
+         * one fails the subscription.
+         */
+        void request(long n);
+
+        /** Stops the items, some of which may still arrive */
+        void cancel();
+    }
+
+    /** Both subscribes to items and publishes items of its own */
+    public interface Processor<T, R> extends Subscriber<T>, Publisher<R> {
+    }
+}
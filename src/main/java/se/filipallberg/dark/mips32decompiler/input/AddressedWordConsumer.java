@@ -0,0 +1,10 @@
+package se.filipallberg.dark.mips32decompiler.input;
+
+/**
+ * Accepts instructions along with their addresses, for input that states
+ * where each instruction is located, e.g. Intel HEX files.
+ */
+@FunctionalInterface
+public interface AddressedWordConsumer {
+    void accept(long address, int word);
+}
@@ -0,0 +1,149 @@
+package se.filipallberg.dark.mips32decompiler.input;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.IntConsumer;
+
+/**
+ * Reads instructions from raw binary input, e.g. a firmware image, where
+ * every instruction is stored as a 32-bit word in either big-endian or
+ * little-endian byte order.
+ *
+ * Reading may start at an offset into the input and may be limited to
+ * a number of bytes. A trailing part of a word, i.e. when fewer than 4
+ * bytes remain, is not read.
+ */
+public final class BinaryWordReader {
+    /**
+     * Files are mapped into memory a window at a time, as a single
+     * mapping may not exceed 2GB. Is a multiple of 4 so that no word
+     * straddles two windows.
+     */
+    private static final long WINDOW = 1 << 28;
+
+    /** The chunk size used when reading from a channel */
+    private static final int CHUNK = 1 << 16;
+
+    private final ByteOrder order;
+    private final long offset;
+    private final long length;
+
+    /**
+     * @param order the byte order of the words.
+     * @param offset the number of bytes to skip before the first word.
+     * @param length the maximum number of bytes to read, or a negative
+     *               number to read until the end of the input.
+     */
+    public BinaryWordReader(ByteOrder order, long offset, long length) {
+        if (offset < 0) {
+            throw new IllegalArgumentException("The offset: " + offset +
+                    " must not be negative");
+        }
+        this.order = order;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    /** Reads every word of the input in big-endian order */
+    public BinaryWordReader() {
+        this(ByteOrder.BIG_ENDIAN, 0, -1);
+    }
+
+    /**
+     * Reads the words of the given file, which is mapped into memory
+     * rather than read.
+     *
+     * @return the number of words read.
+     */
+    public long read(Path file, IntConsumer consumer) throws IOException {
+        try (FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.READ)) {
+            long end = end(channel.size());
+            long words = 0;
+            for (long position = offset; position < end; position += WINDOW) {
+                IntBuffer window = channel.map(FileChannel.MapMode.READ_ONLY,
+                        position, Math.min(WINDOW, end - position))
+                        .order(order)
+                        .asIntBuffer();
+                while (window.hasRemaining()) {
+                    consumer.accept(window.get());
+                    words++;
+                }
+            }
+            return words;
+        }
+    }
+
+    public long getOffset() {
+        return offset;
+    }
+
+    /**
+     * Returns the position just past the last word that is read of an
+     * input of the given size, i.e. no further than the length allows
+     * and only whole words.
+     */
+    public long end(long size) {
+        long end = size;
+        if (length >= 0) {
+            end = Math.min(end, offset + length);
+        }
+        /* Only whole words are read */
+        return end - Math.max(0, end - offset) % 4;
+    }
+
+    /**
+     * Reads the words of the given channel, e.g. standard input. The
+     * channel is not closed.
+     *
+     * @return the number of words read.
+     */
+    public long read(ReadableByteChannel channel, IntConsumer consumer)
+            throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(CHUNK).order(order);
+        long skip = offset;
+        long remaining = length >= 0 ? length : Long.MAX_VALUE;
+        long words = 0;
+
+        while (remaining >= 4 && channel.read(buffer) != -1) {
+            buffer.flip();
+            if (skip > 0) {
+                int skipped = (int) Math.min(skip, buffer.remaining());
+                buffer.position(buffer.position() + skipped);
+                skip -= skipped;
+            }
+            while (buffer.remaining() >= 4 && remaining >= 4) {
+                consumer.accept(buffer.getInt());
+                remaining -= 4;
+                words++;
+            }
+            buffer.compact();
+        }
+        return words;
+    }
+
+    /**
+     * Reads the whole words remaining in the given buffer, e.g. a chunk
+     * of a file that is being followed. A trailing part of a word is
+     * left in the buffer. Neither the offset nor the length applies.
+     *
+     * @return the number of words read.
+     */
+    public long read(ByteBuffer buffer, IntConsumer consumer) {
+        ByteOrder previous = buffer.order();
+        buffer.order(order);
+        long words = 0;
+        while (buffer.remaining() >= 4) {
+            consumer.accept(buffer.getInt());
+            words++;
+        }
+        buffer.order(previous);
+        return words;
+    }
+}
@@ -0,0 +1,233 @@
+package se.filipallberg.dark.mips32decompiler.input;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.IntConsumer;
+
+/**
+ * Locates the executable code of a 32-bit MIPS ELF file, i.e. an object
+ * file, an executable or a shared library, in either byte order.
+ *
+ * The executable code is described by the sections that are flagged as
+ * holding executable instructions, such as {@code .text}. A file that
+ * lacks section headers is described by its loadable segments that are
+ * flagged as executable instead.
+ *
+ * The file is mapped into memory once and every section is read
+ * straight from the mapping, nothing is copied.
+ */
+public final class ElfReader {
+    private static final int EM_MIPS = 8;
+
+    private static final int ELFCLASS32 = 1;
+    private static final int ELFDATA2LSB = 1;
+    private static final int ELFDATA2MSB = 2;
+
+    private static final int SHT_PROGBITS = 1;
+    private static final int SHF_EXECINSTR = 0x4;
+
+    private static final int PT_LOAD = 1;
+    private static final int PF_X = 0x1;
+
+    private final ByteBuffer file;
+    private final List<Section> executableSections;
+
+    /**
+     * Reads the headers of the given ELF file.
+     *
+     * @throws IllegalArgumentException if the file is not a 32-bit MIPS
+     * ELF file.
+     */
+    public static ElfReader open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("The file: " + path +
+                        " is too large to be a 32-bit ELF file");
+            }
+            /* The mapping remains valid after the channel is closed */
+            return new ElfReader(channel.map(FileChannel.MapMode.READ_ONLY,
+                    0, channel.size()));
+        }
+    }
+
+    /**
+     * Reads the headers of the ELF file held by the given buffer, from
+     * its position to its limit.
+     *
+     * @throws IllegalArgumentException if the buffer does not hold a
+     * 32-bit MIPS ELF file.
+     */
+    public ElfReader(ByteBuffer buffer) {
+        file = buffer.slice();
+        if (file.remaining() < 52 || file.getInt(0) != 0x7f454c46) {
+            throw new IllegalArgumentException("Not an ELF file");
+        }
+        if (file.get(4) != ELFCLASS32) {
+            throw new IllegalArgumentException("Not a 32-bit ELF file");
+        }
+        switch (file.get(5)) {
+            case ELFDATA2LSB:
+                file.order(ByteOrder.LITTLE_ENDIAN);
+                break;
+            case ELFDATA2MSB:
+                file.order(ByteOrder.BIG_ENDIAN);
+                break;
+            default:
+                throw new IllegalArgumentException("The ELF file has an " +
+                        "unknown byte order: " + file.get(5));
+        }
+        int machine = file.getShort(18) & 0xffff;
+        if (machine != EM_MIPS) {
+            throw new IllegalArgumentException("The ELF file is for the " +
+                    "machine: " + machine + " rather than MIPS");
+        }
+
+        List<Section> sections = fromSectionHeaders();
+        if (sections.isEmpty()) {
+            sections = fromProgramHeaders();
+        }
+        executableSections = Collections.unmodifiableList(sections);
+    }
+
+    public ByteOrder getByteOrder() {
+        return file.order();
+    }
+
+    /**
+     * Returns the sections that hold executable instructions, in the
+     * order that they appear in the section headers.
+     */
+    public List<Section> getExecutableSections() {
+        return executableSections;
+    }
+
+    private List<Section> fromSectionHeaders() {
+        int offset = file.getInt(32);
+        int size = file.getShort(46) & 0xffff;
+        int count = file.getShort(48) & 0xffff;
+        int names = file.getShort(50) & 0xffff;
+
+        List<Section> sections = new ArrayList<>();
+        if (offset == 0 || count == 0) {
+            return sections;
+        }
+        int namesOffset = names < count ?
+                file.getInt(offset + names * size + 16) : -1;
+
+        for (int i = 0; i < count; i++) {
+            int header = offset + i * size;
+            int type = file.getInt(header + 4);
+            int flags = file.getInt(header + 8);
+            if (type != SHT_PROGBITS || (flags & SHF_EXECINSTR) == 0) {
+                continue;
+            }
+            String name = namesOffset < 0 ? "section " + i :
+                    string(namesOffset + file.getInt(header));
+            sections.add(new Section(name,
+                    file.getInt(header + 12) & 0xffffffffL,
+                    file.getInt(header + 16),
+                    file.getInt(header + 20)));
+        }
+        return sections;
+    }
+
+    private List<Section> fromProgramHeaders() {
+        int offset = file.getInt(28);
+        int size = file.getShort(42) & 0xffff;
+        int count = file.getShort(44) & 0xffff;
+
+        List<Section> segments = new ArrayList<>();
+        for (int i = 0; offset != 0 && i < count; i++) {
+            int header = offset + i * size;
+            int type = file.getInt(header);
+            int flags = file.getInt(header + 24);
+            if (type != PT_LOAD || (flags & PF_X) == 0) {
+                continue;
+            }
+            segments.add(new Section("segment " + i,
+                    file.getInt(header + 8) & 0xffffffffL,
+                    file.getInt(header + 4),
+                    file.getInt(header + 16)));
+        }
+        return segments;
+    }
+
+    /** Reads a NUL-terminated string at the given offset */
+    private String string(int offset) {
+        int end = offset;
+        while (end < file.limit() && file.get(end) != 0) {
+            end++;
+        }
+        byte[] bytes = new byte[end - offset];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = file.get(offset + i);
+        }
+        return new String(bytes, StandardCharsets.US_ASCII);
+    }
+
+    /** A section, or a segment, of executable instructions */
+    public final class Section {
+        private final String name;
+        private final long address;
+        private final int offset;
+        private final int size;
+
+        private Section(String name, long address, int offset, int size) {
+            if (offset < 0 || size < 0 || offset > file.limit() - size) {
+                throw new IllegalArgumentException("The " + name +
+                        " lies outside of the ELF file");
+            }
+            this.name = name;
+            this.address = address;
+            this.offset = offset;
+            this.size = size;
+        }
+
+        /** Returns the name of the section, e.g. ".text" */
+        public String getName() {
+            return name;
+        }
+
+        /** Returns the virtual address of the first instruction */
+        public long getAddress() {
+            return address;
+        }
+
+        public int getSize() {
+            return size;
+        }
+
+        /**
+         * Returns the instructions of the section as a view of the mapped
+         * file, in the byte order of the file.
+         */
+        public IntBuffer getWords() {
+            ByteBuffer bytes = file.duplicate();
+            bytes.position(offset).limit(offset + size - size % 4);
+            return bytes.slice().order(file.order()).asIntBuffer();
+        }
+
+        /** Hands every instruction of the section to the consumer */
+        public void read(IntConsumer consumer) {
+            IntBuffer words = getWords();
+            while (words.hasRemaining()) {
+                consumer.accept(words.get());
+            }
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package se.filipallberg.dark.mips32decompiler.input;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.function.Consumer;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+
+/**
+ * Follows a file that keeps growing, e.g. a log that is being written,
+ * like {@code tail -f} does. The bytes that are appended to the file are
+ * handed to a sink as they arrive.
+ *
+ * The position that has been read up to is tracked so that only the
+ * appended bytes are read. Rather than reading the file over and over,
+ * the follower waits for the file system to report that the file has
+ * been modified. Only a single chunk of the file is held in memory.
+ */
+public final class FileFollower implements Closeable {
+    private static final int CHUNK = 1 << 16;
+
+    private final Path file;
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocate(CHUNK);
+    private long position;
+
+    /**
+     * @param position the number of bytes at the start of the file to
+     *                 skip.
+     */
+    public FileFollower(Path file, long position) throws IOException {
+        this.file = file;
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+        this.position = position;
+    }
+
+    /**
+     * Hands every byte that has been appended since the last call to the
+     * sink, a chunk at a time. Bytes that the sink leaves in the buffer,
+     * e.g. a part of a word, are handed to it again along with the next
+     * chunk.
+     *
+     * If the file has been truncated it is read from the start again.
+     * The bytes left in the buffer are dropped, and {@code truncated} is
+     * run first so that the sink may drop whatever it has parsed of them,
+     * e.g. half of a number.
+     *
+     * @return the number of bytes read.
+     */
+    public long readAppended(Consumer<ByteBuffer> sink, Runnable truncated)
+            throws IOException {
+        if (channel.size() < position) {
+            position = 0;
+            buffer.clear();
+            truncated.run();
+        }
+        long read = 0;
+        int n;
+        while ((n = channel.read(buffer, position)) > 0) {
+            position += n;
+            read += n;
+            buffer.flip();
+            sink.accept(buffer);
+            buffer.compact();
+        }
+        return read;
+    }
+
+    /**
+     * Hands the bytes of the file to the sink as they are appended, until
+     * the thread is interrupted or the directory of the file is removed.
+     *
+     * @param truncated is run whenever the file has been truncated, see
+     *                  {@link #readAppended(Consumer, Runnable)}.
+     * @param idle is run whenever every appended byte has been handed to
+     *             the sink, e.g. to flush the output.
+     * @throws InterruptedException if the thread is interrupted while
+     * waiting for the file to be modified.
+     */
+    public void follow(Consumer<ByteBuffer> sink, Runnable truncated,
+                       Runnable idle)
+            throws IOException, InterruptedException {
+        Path directory = file.toAbsolutePath().getParent();
+        try (WatchService watcher =
+                     directory.getFileSystem().newWatchService()) {
+            /* Watching starts before reading so that no append is missed */
+            WatchKey key = directory.register(watcher, ENTRY_MODIFY,
+                    ENTRY_CREATE);
+            do {
+                readAppended(sink, truncated);
+                idle.run();
+                watcher.take().pollEvents();
+            } while (key.reset());
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
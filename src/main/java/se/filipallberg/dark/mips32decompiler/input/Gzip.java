@@ -0,0 +1,50 @@
+package se.filipallberg.dark.mips32decompiler.input;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Decompresses gzip-compressed input while it is read, so that
+ * compressed input never has to be decompressed to disk. Only a buffer
+ * of the input is held in memory at any time.
+ */
+public final class Gzip {
+    private static final int BUFFER = 1 << 16;
+
+    /** The first two bytes of every gzip member */
+    private static final int MAGIC_0 = 0x1f;
+    private static final int MAGIC_1 = 0x8b;
+
+    private Gzip() {
+    }
+
+    /** Returns true if the file is named as being gzip-compressed */
+    public static boolean isCompressed(Path file) {
+        return file.getFileName().toString().endsWith(".gz");
+    }
+
+    /** Decompresses the given gzip-compressed stream */
+    public static InputStream decompress(InputStream in) throws IOException {
+        return new GZIPInputStream(in, BUFFER);
+    }
+
+    /**
+     * Decompresses the given stream if it starts like gzip-compressed
+     * input does, e.g. for standard input which has no name. Otherwise
+     * the input is returned as is, buffered.
+     */
+    public static InputStream sniff(InputStream in) throws IOException {
+        BufferedInputStream buffered = new BufferedInputStream(in, BUFFER);
+        buffered.mark(2);
+        int first = buffered.read();
+        int second = buffered.read();
+        buffered.reset();
+        if (first == MAGIC_0 && second == MAGIC_1) {
+            return decompress(buffered);
+        }
+        return buffered;
+    }
+}
@@ -0,0 +1,95 @@
+package se.filipallberg.dark.mips32decompiler.input;
+
+import java.nio.ByteOrder;
+
+/**
+ * Reads images in the Intel HEX format, e.g.
+ *
+ * <pre>
+ * :020000040040BA
+ * :0800000023BDFFF8AFBF0004AF
+ * :00000001FF
+ * </pre>
+ *
+ * where the first record sets the upper 16 bits of the addresses and the
+ * second record holds the two instructions at 0x00400000 and 0x00400004.
+ * Both extended segment and extended linear address records are
+ * supported, start address records are skipped and everything following
+ * the end of file record is ignored.
+ */
+public final class IntelHexReader extends RecordReader {
+    private static final int DATA = 0x00;
+    private static final int END_OF_FILE = 0x01;
+    private static final int EXTENDED_SEGMENT_ADDRESS = 0x02;
+    private static final int START_SEGMENT_ADDRESS = 0x03;
+    private static final int EXTENDED_LINEAR_ADDRESS = 0x04;
+    private static final int START_LINEAR_ADDRESS = 0x05;
+
+    /** Is added to the address of every data record */
+    private long base;
+
+    /**
+     * Whether the base is that of an extended segment address record,
+     * whose data records wrap around within their 64 KiB segment
+     */
+    private boolean segmented;
+    private boolean ended;
+
+    /**
+     * @param order the byte order of the instructions in the image.
+     */
+    public IntelHexReader(ByteOrder order, AddressedWordConsumer consumer) {
+        super(':', false, order, consumer);
+    }
+
+    @Override
+    void record(char unused, byte[] record, int length) {
+        if (ended) {
+            return;
+        }
+        if (length < 5 || length != (record[0] & 0xff) + 5) {
+            throw error("The length of the record does not match its " +
+                    "byte count");
+        }
+        if (sum(record, length) != 0) {
+            throw error("The checksum of the record does not match");
+        }
+        int offset = (record[1] & 0xff) << 8 | record[2] & 0xff;
+        int data = length - 5;
+
+        switch (record[3]) {
+            case DATA:
+                for (int i = 0; i < data; i++) {
+                    long address = segmented ? (offset + i) & 0xffff :
+                            offset + i;
+                    words.put((base + address) & 0xffffffffL,
+                            record[4 + i]);
+                }
+                return;
+            case END_OF_FILE:
+                ended = true;
+                return;
+            case EXTENDED_SEGMENT_ADDRESS:
+                base = (long) value(record, data) << 4;
+                segmented = true;
+                return;
+            case EXTENDED_LINEAR_ADDRESS:
+                base = (long) value(record, data) << 16;
+                segmented = false;
+                return;
+            case START_SEGMENT_ADDRESS:
+            case START_LINEAR_ADDRESS:
+                return;
+            default:
+                throw error("Unknown record type: " + record[3]);
+        }
+    }
+
+    /** Returns the 16-bit value of an extended address record */
+    private int value(byte[] record, int data) {
+        if (data != 2) {
+            throw error("An extended address record holds 2 bytes");
+        }
+        return (record[4] & 0xff) << 8 | record[5] & 0xff;
+    }
+}
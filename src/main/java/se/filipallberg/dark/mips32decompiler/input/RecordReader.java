@@ -0,0 +1,222 @@
+package se.filipallberg.dark.mips32decompiler.input;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reads images written as text records, one per line, where each record
+ * is a start character, for some formats a type character, and the
+ * bytes of the record as pairs of hexadecimal digits. For an example,
+ * the Intel HEX record
+ *
+ * <pre>
+ * :0400000023bdfff825
+ * </pre>
+ *
+ * The records are decoded straight from the bytes of the input, which
+ * is fed to the reader in chunks of any size, and only the record being
+ * decoded is held in memory. The bytes of the image are assembled into
+ * 32-bit words that are handed to the consumer along with their
+ * addresses, see {@link WordAssembler}.
+ *
+ * Blank lines and whitespace at the end of a line are skipped, lines may
+ * be terminated by either LF or CRLF.
+ */
+public abstract class RecordReader {
+    /**
+     * Files are mapped into memory a window at a time, as a single
+     * mapping may not exceed 2GB.
+     */
+    private static final long WINDOW = 1 << 28;
+
+    /** The chunk size used when reading from a channel */
+    private static final int CHUNK = 1 << 16;
+
+    private enum State {
+        LINE_START,
+        /** Read the start character of a typed record */
+        TYPE,
+        /** Expecting the first digit of a byte, or the end of the line */
+        HIGH,
+        /** Read the first digit of a byte */
+        LOW,
+        /** Read whitespace following the record */
+        LINE_END
+    }
+
+    private final char start;
+    private final boolean typed;
+    final WordAssembler words;
+
+    /** Records are at most 255 bytes, plus their count, address and sum */
+    private final byte[] record = new byte[262];
+    private int length;
+    private char type;
+    private int high;
+    private State state = State.LINE_START;
+    private long line = 1;
+
+    RecordReader(char start, boolean typed, ByteOrder order,
+                 AddressedWordConsumer consumer) {
+        this.start = start;
+        this.typed = typed;
+        this.words = new WordAssembler(order, consumer);
+    }
+
+    /**
+     * Reads every record of the given file, which is mapped into memory
+     * rather than read.
+     *
+     * @throws IllegalArgumentException if a line is not a valid record.
+     */
+    public void read(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.READ)) {
+            long size = channel.size();
+            for (long position = 0; position < size; position += WINDOW) {
+                MappedByteBuffer window = channel.map(
+                        FileChannel.MapMode.READ_ONLY, position,
+                        Math.min(WINDOW, size - position));
+                parse(window);
+            }
+        }
+        finish();
+    }
+
+    /**
+     * Reads every record of the given channel, e.g. standard input. The
+     * channel is not closed.
+     *
+     * @throws IllegalArgumentException if a line is not a valid record.
+     */
+    public void read(ReadableByteChannel channel) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(CHUNK);
+        while (channel.read(buffer) != -1) {
+            buffer.flip();
+            parse(buffer);
+            buffer.clear();
+        }
+        finish();
+    }
+
+    /**
+     * Parses the remaining bytes of the given buffer. A record at the end
+     * of the buffer is not decoded until the end of its line has been
+     * parsed, or {@link #finish()} is called.
+     *
+     * @throws IllegalArgumentException if a line is not a valid record.
+     */
+    public void parse(ByteBuffer bytes) {
+        while (bytes.hasRemaining()) {
+            accept(bytes.get());
+        }
+    }
+
+    /**
+     * Ends the input, which need not end with a line terminator, and
+     * hands over the last word.
+     *
+     * @throws IllegalArgumentException if the last line is not a valid
+     * record.
+     */
+    public void finish() {
+        endOfLine();
+        words.flush();
+    }
+
+    /**
+     * Decodes a record.
+     *
+     * @param type the type character, only given for typed records.
+     * @param record the bytes of the record.
+     * @param length the number of bytes in the record.
+     */
+    abstract void record(char type, byte[] record, int length);
+
+    private void accept(byte b) {
+        if (b == '\n') {
+            endOfLine();
+            line++;
+            return;
+        }
+        boolean whitespace = b == ' ' || b == '\t' || b == '\r';
+
+        switch (state) {
+            case LINE_START:
+                if (whitespace) {
+                    return;
+                }
+                if (b != start) {
+                    throw error("Expected a record to start with: " + start);
+                }
+                state = typed ? State.TYPE : State.HIGH;
+                return;
+            case TYPE:
+                type = (char) b;
+                state = State.HIGH;
+                return;
+            case HIGH:
+                if (whitespace) {
+                    state = State.LINE_END;
+                    return;
+                }
+                high = digit(b);
+                state = State.LOW;
+                return;
+            case LOW:
+                if (length == record.length) {
+                    throw error("The record is too long");
+                }
+                record[length++] = (byte) (high << 4 | digit(b));
+                state = State.HIGH;
+                return;
+            case LINE_END:
+                if (!whitespace) {
+                    throw error("Unexpected character: " + (char) b);
+                }
+        }
+    }
+
+    private int digit(byte b) {
+        int digit = Character.digit(b, 16);
+        if (digit < 0) {
+            throw error("Unexpected character: " + (char) b);
+        }
+        return digit;
+    }
+
+    private void endOfLine() {
+        switch (state) {
+            case TYPE:
+            case LOW:
+                throw error("Unexpected end of line");
+            case HIGH:
+            case LINE_END:
+                record(type, record, length);
+                break;
+            default:
+                /* A blank line */
+        }
+        state = State.LINE_START;
+        length = 0;
+    }
+
+    /** Sums the given bytes of a record, used to verify its checksum */
+    static int sum(byte[] record, int length) {
+        int sum = 0;
+        for (int i = 0; i < length; i++) {
+            sum += record[i] & 0xff;
+        }
+        return sum & 0xff;
+    }
+
+    IllegalArgumentException error(String message) {
+        return new IllegalArgumentException("Line " + line + ": " + message);
+    }
+}
@@ -0,0 +1,75 @@
+package se.filipallberg.dark.mips32decompiler.input;
+
+import java.nio.ByteOrder;
+
+/**
+ * Reads images in the Motorola S-record format, e.g.
+ *
+ * <pre>
+ * S00600004844521B
+ * S30D0040000023BDFFF8AFBF000469
+ * S70500400000BA
+ * </pre>
+ *
+ * where the S3 record holds the two instructions at 0x00400000 and
+ * 0x00400004. Data records with 16-bit (S1), 24-bit (S2) and 32-bit (S3)
+ * addresses are supported. Header (S0), count (S5, S6) and termination
+ * (S7, S8, S9) records are verified but otherwise skipped.
+ */
+public final class SRecordReader extends RecordReader {
+    /**
+     * @param order the byte order of the instructions in the image.
+     */
+    public SRecordReader(ByteOrder order, AddressedWordConsumer consumer) {
+        super('S', true, order, consumer);
+    }
+
+    @Override
+    void record(char type, byte[] record, int length) {
+        if (length < 1 || length != (record[0] & 0xff) + 1) {
+            throw error("The length of the record does not match its " +
+                    "byte count");
+        }
+        if (sum(record, length) != 0xff) {
+            throw error("The checksum of the record does not match");
+        }
+        switch (type) {
+            case '1':
+                data(record, length, 2);
+                return;
+            case '2':
+                data(record, length, 3);
+                return;
+            case '3':
+                data(record, length, 4);
+                return;
+            case '0':
+            case '5':
+            case '6':
+            case '7':
+            case '8':
+            case '9':
+                return;
+            default:
+                throw error("Unknown record type: S" + type);
+        }
+    }
+
+    /**
+     * Hands over the bytes of a data record, which follow the byte
+     * count and an address of the given number of bytes.
+     */
+    private void data(byte[] record, int length, int addressBytes) {
+        /* The byte count, the address and the checksum */
+        if (length < 2 + addressBytes) {
+            throw error("The record is too short for its address");
+        }
+        long address = 0;
+        for (int i = 1; i <= addressBytes; i++) {
+            address = address << 8 | record[i] & 0xff;
+        }
+        for (int i = 1 + addressBytes; i < length - 1; i++) {
+            words.put(address++, record[i]);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package se.filipallberg.dark.mips32decompiler.input;
+
+import java.nio.ByteOrder;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Assembles bytes, given one at a time along with their addresses, into
+ * the 32-bit words that they are part of. Words are aligned to 4 bytes.
+ *
+ * A word is handed to the consumer as soon as all of its bytes have been
+ * given, whatever the order of the bytes. Words of which only some bytes
+ * have been given are kept, by their address, until {@link #flush()} is
+ * called at the end of the input, when they are handed over in the order
+ * of their addresses. Bytes of a word that were never given, i.e. where
+ * the input has a gap, are 0. Every word is handed over once.
+ */
+final class WordAssembler {
+    private final ByteOrder order;
+    private final AddressedWordConsumer consumer;
+
+    /** The words being assembled, by their aligned addresses */
+    private final Map<Long, PartialWord> partial = new TreeMap<>();
+
+    /** The word being assembled, as most bytes follow the one before */
+    private PartialWord last;
+
+    private static final class PartialWord {
+        private final long address;
+        private int word;
+        /** The bytes of the word that have been given, one bit per byte */
+        private int given;
+
+        private PartialWord(long address) {
+            this.address = address;
+        }
+    }
+
+    WordAssembler(ByteOrder order, AddressedWordConsumer consumer) {
+        this.order = order;
+        this.consumer = consumer;
+    }
+
+    void put(long address, byte b) {
+        long aligned = address & ~3L;
+        PartialWord current = last;
+        if (current == null || current.address != aligned) {
+            current = partial.computeIfAbsent(aligned, PartialWord::new);
+            last = current;
+        }
+        int index = (int) (address & 3);
+        int shift = order == ByteOrder.BIG_ENDIAN ? 24 - 8 * index : 8 * index;
+        current.word = current.word & ~(0xff << shift) | (b & 0xff) << shift;
+        current.given |= 1 << index;
+        if (current.given == 0xf) {
+            partial.remove(aligned);
+            last = null;
+            consumer.accept(aligned, current.word);
+        }
+    }
+
+    /** Hands over the words of which only some bytes have been given */
+    void flush() {
+        for (PartialWord word : partial.values()) {
+            consumer.accept(word.address, word.word);
+        }
+        partial.clear();
+        last = null;
+    }
+}
@@ -0,0 +1,285 @@
+package se.filipallberg.dark.mips32decompiler.input;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.IntConsumer;
+
+/**
+ * Parses instructions written as text, one per line, straight from the
+ * bytes of the input. An instruction is either a decimal number or a
+ * hexadecimal number preceded by the 0x prefix. For an example,
+ *
+ * <pre>
+ * # The prologue of factorial
+ * 0x23bdfff8
+ * 0xafbf0004   // sw $ra, 4($sp)
+ *
+ * 599654392
+ * </pre>
+ *
+ * Blank lines are skipped, whitespace around the number is ignored and
+ * both {@code #} and {@code //} start a comment that lasts until the end
+ * of the line. Lines may be terminated by either LF or CRLF.
+ *
+ * The parser is fed the input in chunks of any size, a number may be
+ * split between two chunks. Every parsed instruction is handed to the
+ * consumer that the parser was created with, no objects are created per
+ * instruction.
+ */
+public final class WordParser {
+    /**
+     * Files are mapped into memory a window at a time, as a single
+     * mapping may not exceed 2GB.
+     */
+    private static final long WINDOW = 1 << 28;
+
+    /** The chunk size used when reading from a channel */
+    private static final int CHUNK = 1 << 16;
+
+    private enum State {
+        /** Nothing but whitespace has been read on the current line */
+        LINE_START,
+        /** Read the sign of a decimal number */
+        SIGN,
+        /** Read a leading 0, which is either 0 or the start of 0x */
+        ZERO,
+        /** Read the 0x prefix but not any digit */
+        HEX_PREFIX,
+        HEX,
+        DECIMAL,
+        /** Read the number of the current line */
+        AFTER_NUMBER,
+        /** Read the first slash of a // comment */
+        SLASH,
+        COMMENT
+    }
+
+    private final IntConsumer consumer;
+
+    private State state = State.LINE_START;
+    private long value;
+    private boolean negative;
+    private int digits;
+    private long line;
+
+    /** Whether a comment ends up in LINE_START or AFTER_NUMBER */
+    private State beforeComment;
+
+    public WordParser(IntConsumer consumer) {
+        this(consumer, 1);
+    }
+
+    /**
+     * @param line the number of the first line that is parsed, e.g. when
+     *             parsing a part of a file, which errors refer to.
+     */
+    public WordParser(IntConsumer consumer, long line) {
+        this.consumer = consumer;
+        this.line = line;
+    }
+
+    /**
+     * Parses every instruction in the given file, which is mapped into
+     * memory rather than read.
+     *
+     * @throws NumberFormatException if a line is not a number.
+     */
+    public static void parse(Path file, IntConsumer consumer)
+            throws IOException {
+        WordParser parser = new WordParser(consumer);
+        try (FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.READ)) {
+            long size = channel.size();
+            for (long position = 0; position < size; position += WINDOW) {
+                MappedByteBuffer window = channel.map(
+                        FileChannel.MapMode.READ_ONLY, position,
+                        Math.min(WINDOW, size - position));
+                parser.parse(window);
+            }
+        }
+        parser.finish();
+    }
+
+    /**
+     * Parses every instruction read from the given channel, e.g. standard
+     * input. The channel is not closed.
+     *
+     * @throws NumberFormatException if a line is not a number.
+     */
+    public static void parse(ReadableByteChannel channel,
+                             IntConsumer consumer) throws IOException {
+        WordParser parser = new WordParser(consumer);
+        ByteBuffer buffer = ByteBuffer.allocate(CHUNK);
+        while (channel.read(buffer) != -1) {
+            buffer.flip();
+            parser.parse(buffer);
+            buffer.clear();
+        }
+        parser.finish();
+    }
+
+    /**
+     * Parses the remaining bytes of the given buffer. A number at the
+     * end of the buffer is not handed to the consumer until the end of
+     * its line has been parsed, or {@link #finish()} is called.
+     *
+     * @throws NumberFormatException if a line is not a number.
+     */
+    public void parse(ByteBuffer bytes) {
+        while (bytes.hasRemaining()) {
+            accept(bytes.get());
+        }
+    }
+
+    /**
+     * Ends the input, which need not end with a line terminator.
+     *
+     * @throws NumberFormatException if the last line is not a number.
+     */
+    public void finish() {
+        endOfLine();
+    }
+
+    private void accept(byte b) {
+        if (b == '\n') {
+            endOfLine();
+            line++;
+            return;
+        }
+        boolean whitespace = b == ' ' || b == '\t' || b == '\r';
+
+        switch (state) {
+            case LINE_START:
+            case AFTER_NUMBER:
+                if (whitespace) {
+                    return;
+                }
+                if (b == '#' || b == '/') {
+                    startComment(b);
+                } else if (state == State.AFTER_NUMBER) {
+                    throw error("Expected a single number");
+                } else if (b == '-') {
+                    negative = true;
+                    state = State.SIGN;
+                } else if (b == '0') {
+                    state = State.ZERO;
+                } else {
+                    decimal(b);
+                }
+                return;
+            case SIGN:
+                decimal(b);
+                return;
+            case ZERO:
+                if (b == 'x' || b == 'X') {
+                    state = State.HEX_PREFIX;
+                    return;
+                }
+                /* The 0 was a decimal digit */
+                decimalOrEnd(b, whitespace);
+                return;
+            case DECIMAL:
+                decimalOrEnd(b, whitespace);
+                return;
+            case HEX_PREFIX:
+            case HEX:
+                if (state == State.HEX && endOfNumber(b, whitespace)) {
+                    return;
+                }
+                hexadecimal(b);
+                return;
+            case SLASH:
+                if (b != '/') {
+                    throw error("Expected // to start a comment");
+                }
+                state = State.COMMENT;
+                return;
+            case COMMENT:
+                return;
+        }
+    }
+
+    /** Returns true if the byte terminates the number being parsed */
+    private boolean endOfNumber(byte b, boolean whitespace) {
+        if (whitespace) {
+            state = State.AFTER_NUMBER;
+            return true;
+        }
+        if (b == '#' || b == '/') {
+            state = State.AFTER_NUMBER;
+            startComment(b);
+            return true;
+        }
+        return false;
+    }
+
+    /** Ends the number or adds the byte to it as a decimal digit */
+    private void decimalOrEnd(byte b, boolean whitespace) {
+        if (!endOfNumber(b, whitespace)) {
+            decimal(b);
+        }
+    }
+
+    private void startComment(byte b) {
+        beforeComment = state;
+        state = b == '#' ? State.COMMENT : State.SLASH;
+    }
+
+    private void decimal(byte b) {
+        int digit = b - '0';
+        if (digit < 0 || digit > 9) {
+            throw error("Unexpected character: " + (char) b);
+        }
+        if (value > (Long.MAX_VALUE - digit) / 10) {
+            throw error("The number is too large");
+        }
+        value = value * 10 + digit;
+        state = State.DECIMAL;
+    }
+
+    private void hexadecimal(byte b) {
+        int digit = Character.digit(b, 16);
+        if (digit < 0) {
+            throw error("Unexpected character: " + (char) b);
+        }
+        if (++digits > 16) {
+            throw error("The number is too large");
+        }
+        value = value << 4 | digit;
+        state = State.HEX;
+    }
+
+    private void endOfLine() {
+        State number = state;
+        if (state == State.COMMENT) {
+            number = beforeComment;
+        }
+        switch (number) {
+            case ZERO:
+            case DECIMAL:
+            case HEX:
+            case AFTER_NUMBER:
+                consumer.accept((int) (negative ? -value : value));
+                break;
+            case SIGN:
+            case HEX_PREFIX:
+            case SLASH:
+                throw error("Unexpected end of line");
+            default:
+                /* A blank line */
+        }
+        state = State.LINE_START;
+        value = 0;
+        negative = false;
+        digits = 0;
+    }
+
+    private NumberFormatException error(String message) {
+        return new NumberFormatException("Line " + line + ": " + message);
+    }
+}
@@ -1,26 +1,69 @@
 package se.filipallberg.dark.mips32decompiler.instruction;
 
+import se.filipallberg.dark.mips32decompiler.instruction.util.InstructionField;
+
 import java.util.*;
-import java.util.function.Function;
 
-public class Condition<T, R> {
-    private final Set<List<SubCondition>> subConditions = new
-            HashSet<>();
+/**
+ * Describes which values the fields of an instruction must have for the
+ * instruction to be legal. A condition is built once, e.g. when an enum
+ * value is instantiated, and may then be evaluated against any number of
+ * instructions. Evaluation does not modify the condition, so a single
+ * condition may be shared between threads.
+ *
+ * For an example, the condition
+ *
+ * <pre>{@code new Condition().checkThat(RD).and(SHAMT).is(0x00)}</pre>
+ *
+ * is satisfied by all instructions where both the rd and shamt fields
+ * are zero.
+ *
+ * As the condition is built it is compiled into a single pair of a mask
+ * and a match, the bits of the checked fields and the values that those
+ * bits must have. Evaluating the condition is then a matter of
+ *
+ * <pre>{@code (instruction & mask) == match}</pre>
+ *
+ * The individual sub conditions are only revisited to describe which
+ * fields of an instruction violate the condition.
+ */
+public class Condition {
+    private final List<List<SubCondition>> subConditions = new
+            ArrayList<>();
     private List<SubCondition> currentConditions = new ArrayList<>();
-    private final Set<String> errors = new HashSet<>();
 
-    public Condition<T, R> checkThat(Function<T, R> actual) {
-        return checkThat("", actual);
-    }
+    /** The bits of every checked field */
+    private int mask;
+
+    /** The expected values of the checked fields, in place */
+    private int match;
 
-    public Condition<T, R> checkThat(String info, Function<T, R> actual) {
-        currentConditions.add(new SubCondition(info, actual));
+    public Condition checkThat(InstructionField field) {
+        currentConditions.add(new SubCondition(field));
         return this;
     }
 
-    public Condition<T, R> is(R expected) {
+    /**
+     * @throws IllegalArgumentException if the expected value does not fit
+     * in one of the fields, or if a field is already expected to have
+     * another value.
+     */
+    public Condition is(int expected) {
         currentConditions.forEach(e -> {
+            InstructionField field = e.field;
+            if (field.of(field.compose(expected)) != expected) {
+                throw new IllegalArgumentException("The value: " +
+                        expected + " does not fit in the field: " + field);
+            }
+            if ((mask & field.mask()) != 0
+                    && (match & field.mask()) != field.compose(expected)) {
+                throw new IllegalArgumentException("The field: " + field +
+                        " can not be expected to be both " +
+                        field.of(match) + " and " + expected);
+            }
             e.expected = expected;
+            mask |= field.mask();
+            match |= field.compose(expected);
         });
 
         subConditions.add(new ArrayList<>(currentConditions));
@@ -29,65 +72,87 @@ public class Condition<T, R> {
         return this;
     }
 
-    public Condition<T, R> and(Function<T, R> actual) {
-        return and("", actual);
+    public Condition and(InstructionField field) {
+        currentConditions.add(new SubCondition(field));
+        return this;
     }
 
-    public Condition<T, R> and(String info, Function<T, R> actual) {
-        currentConditions.add(new SubCondition(info, actual));
+    public Condition andThat(InstructionField field) {
+        currentConditions.add(new SubCondition(field));
         return this;
     }
 
-    public Condition<T, R> andThat(Function<T, R> actual) {
-        return andThat("", actual);
+    public boolean evaluate(int instruction) {
+        return (instruction & mask) == match;
     }
 
-    public Condition<T, R> andThat(String info, Function<T, R> actual) {
-        currentConditions.add(new SubCondition(info, actual));
-        return this;
+    /**
+     * Returns the bits of the fields that this condition checks, see
+     * {@link #getMatch()}.
+     */
+    public int getMask() {
+        return mask;
+    }
+
+    /**
+     * Returns the values that the bits given by {@link #getMask()} must
+     * have for an instruction to satisfy this condition.
+     */
+    public int getMatch() {
+        return match;
     }
 
-    public boolean evaluate(T arg) {
-        /*
-         * If any sub condition is false then the entire
-         * expression is false.
-         */
+    /**
+     * Returns the fields of the given instruction that violate this
+     * condition as a bitmask, where each field is represented by
+     * {@link InstructionField#bit()}. Is zero if the condition is
+     * satisfied.
+     */
+    public int violations(int instruction) {
+        int mismatch = (instruction ^ match) & mask;
+        if (mismatch == 0) {
+            return 0;
+        }
 
-        /* Variable used inside lambda has to be effectively final */
-        final int[] valid = {1};
+        int violations = 0;
+        for (List<SubCondition> e : subConditions) {
+            for (SubCondition j : e) {
+                if ((mismatch & j.field.mask()) != 0) {
+                    violations |= j.field.bit();
+                }
+            }
+        }
+        return violations;
+    }
+
+    /**
+     * Returns a description of every sub condition that the given
+     * instruction violates, in the order that the sub conditions were
+     * specified.
+     */
+    public Collection<String> getErrors(int instruction) {
+        Collection<String> errors = new LinkedHashSet<>();
         subConditions.forEach(e -> {
             e.forEach(j -> {
-                if (!j.validate(arg)) {
-                    valid[0] *= 0;
-                    errors.add(j.errorInfo);
+                if (!j.validate(instruction)) {
+                    errors.add(j.field + ": Got: " + j.field.of(instruction)
+                            + " Expected: " + j.expected);
                 }
             });
         });
-        return 1 == valid[0];
-    }
-
-    public Collection<String> getErrors() {
         return errors;
     }
 
-    private class SubCondition {
-        Function<T, R> actual;
-        R got;
-        R expected;
-        String errorInfo;
+    private static class SubCondition {
+        final InstructionField field;
+        int expected;
 
-        public SubCondition(String errorInfo, Function<T, R> actual) {
-            this.actual = actual;
-            this.errorInfo = errorInfo;
+        public SubCondition(InstructionField field) {
+            this.field = field;
         }
 
-        public boolean validate(T t) {
-            got = actual.apply(t);
-            if (!got.equals(expected)) {
-                errorInfo += ": Got: " + got + " Expected: " + expected;
-                return false;
-            }
-            return true;
+        public boolean validate(int instruction) {
+            return field.of(instruction) == expected;
         }
     }
 }
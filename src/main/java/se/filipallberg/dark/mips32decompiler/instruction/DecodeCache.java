@@ -0,0 +1,164 @@
+package se.filipallberg.dark.mips32decompiler.instruction;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.CacheStats;
+import com.google.common.cache.LoadingCache;
+import com.google.common.cache.Weigher;
+
+import java.util.function.Function;
+
+/**
+ * A bounded, thread-safe cache in front of {@link Instruction#decode(int)}
+ * keyed by the numerical representation of the instruction. Programs
+ * tend to repeat a small set of instructions, e.g. {@code jr $ra} or
+ * {@code addi $sp, $sp, -8}, so that most words only have to be decoded
+ * and rendered once.
+ *
+ * Every entry holds the result of decoding the instruction together with
+ * its rendering, as produced by the renderer that the cache was created
+ * with. Both are immutable and may be shared between threads.
+ *
+ * The cache is split into segments that are locked independently of each
+ * other, within a segment the least recently used entries are evicted
+ * first.
+ */
+public final class DecodeCache {
+    /**
+     * A rough estimate of the size of an entry in bytes, excluding its
+     * rendering: the boxed key, the entry, the decode result and the
+     * bookkeeping of the cache itself.
+     */
+    private static final int ENTRY_OVERHEAD = 128;
+
+    private final LoadingCache<Integer, Entry> cache;
+
+    private DecodeCache(CacheBuilder<? super Integer, ? super Entry> builder,
+                        Function<DecodeResult, String> renderer) {
+        cache = builder.recordStats().build(new CacheLoader<Integer, Entry>() {
+            @Override
+            public Entry load(Integer instruction) {
+                DecodeResult result = Instruction.decode(instruction);
+                return new Entry(result, renderer.apply(result));
+            }
+        });
+    }
+
+    /**
+     * Creates a cache that holds at most the given number of entries.
+     *
+     * @param entries the maximum number of entries.
+     * @param renderer renders the result of decoding an instruction.
+     */
+    public static DecodeCache withMaximumEntries(
+            long entries, Function<DecodeResult, String> renderer) {
+        return new DecodeCache(CacheBuilder.newBuilder().maximumSize(entries),
+                renderer);
+    }
+
+    /**
+     * Creates a cache whose entries are estimated to occupy at most the
+     * given number of bytes.
+     *
+     * @param bytes the maximum estimated size of all entries.
+     * @param renderer renders the result of decoding an instruction.
+     */
+    public static DecodeCache withMaximumBytes(
+            long bytes, Function<DecodeResult, String> renderer) {
+        Weigher<Integer, Entry> weigher = (instruction, entry) ->
+                ENTRY_OVERHEAD + 2 * entry.rendering.length();
+        return new DecodeCache(CacheBuilder.newBuilder()
+                .maximumWeight(bytes)
+                .<Integer, Entry>weigher(weigher), renderer);
+    }
+
+    /**
+     * Creates a cache from a size given on the command-line. A plain
+     * number is the maximum number of entries, a number followed by
+     * {@code B}, {@code KB} or {@code MB} is the maximum number of bytes,
+     * e.g. {@code 4096} or {@code 64KB}.
+     *
+     * @throws IllegalArgumentException if the size is not on either form.
+     */
+    public static DecodeCache fromString(
+            String size, Function<DecodeResult, String> renderer) {
+        String s = size.toUpperCase();
+        long unit = 1;
+        if (s.endsWith("KB")) {
+            unit = 1 << 10;
+        } else if (s.endsWith("MB")) {
+            unit = 1 << 20;
+        } else if (!s.endsWith("B")) {
+            return withMaximumEntries(parseSize(size, s), renderer);
+        }
+        String digits = s.substring(0, s.length() - (unit == 1 ? 1 : 2));
+        return withMaximumBytes(parseSize(size, digits) * unit, renderer);
+    }
+
+    private static long parseSize(String size, String digits) {
+        try {
+            long n = Long.parseLong(digits);
+            if (n >= 0) {
+                return n;
+            }
+        } catch (NumberFormatException ignored) {
+            /* Reported below */
+        }
+        throw new IllegalArgumentException("The cache size: " + size +
+                " is neither a number of entries nor a number of bytes " +
+                "such as 64KB");
+    }
+
+    /**
+     * Returns the entry of the given instruction, decoding and rendering
+     * the instruction if it is not cached.
+     */
+    public Entry get(int instruction) {
+        return cache.getUnchecked(instruction);
+    }
+
+    public long hitCount() {
+        return cache.stats().hitCount();
+    }
+
+    public long missCount() {
+        return cache.stats().missCount();
+    }
+
+    public long evictionCount() {
+        return cache.stats().evictionCount();
+    }
+
+    public long size() {
+        return cache.size();
+    }
+
+    /** e.g. "hits: 10 misses: 5 evictions: 0 entries: 5" */
+    @Override
+    public String toString() {
+        CacheStats stats = cache.stats();
+        return "hits: " + stats.hitCount() +
+                " misses: " + stats.missCount() +
+                " evictions: " + stats.evictionCount() +
+                " entries: " + cache.size();
+    }
+
+    /** The cached result of decoding and rendering an instruction */
+    public static final class Entry {
+        private final DecodeResult result;
+        private final String rendering;
+
+        private Entry(DecodeResult result, String rendering) {
+            this.result = result;
+            this.rendering = rendering;
+        }
+
+        public DecodeResult getResult() {
+            return result;
+        }
+
+        public String getRendering() {
+            return rendering;
+        }
+    }
+}
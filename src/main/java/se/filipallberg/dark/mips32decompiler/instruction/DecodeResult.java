@@ -0,0 +1,194 @@
+package se.filipallberg.dark.mips32decompiler.instruction;
+
+import se.filipallberg.dark.mips32decompiler.instruction.type.InstructionType;
+import se.filipallberg.dark.mips32decompiler.instruction.util.Format;
+import se.filipallberg.dark.mips32decompiler.instruction.util.InstructionField;
+import se.filipallberg.dark.mips32decompiler.instruction.util.Opcode;
+
+/**
+ * The outcome of decoding a single instruction, obtained without any
+ * exceptions being thrown. A result is either
+ *
+ * <ul>
+ *     <li>legal, the instruction was identified and satisfies all of
+ *     its conditions,</li>
+ *     <li>partially legal, the instruction was identified but some of
+ *     its fields violate its conditions, or</li>
+ *     <li>illegal, the instruction could not be identified at all.</li>
+ * </ul>
+ *
+ * Only the numerical representation of the instruction, what it was
+ * identified as and the violated fields are stored. Nothing else is
+ * kept, every textual representation is rendered anew each time it is
+ * asked for.
+ */
+public final class DecodeResult {
+    public enum Status {
+        LEGAL,
+        PARTIALLY_LEGAL,
+        ILLEGAL
+    }
+
+    private final int instruction;
+    private final Format format;
+    private final InstructionType type;
+    private final int violations;
+
+    private DecodeResult(int instruction, Format format,
+                         InstructionType type, int violations) {
+        this.instruction = instruction;
+        this.format = format;
+        this.type = type;
+        this.violations = violations;
+    }
+
+    /**
+     * Creates the result of identifying the given instruction as the
+     * given kind of instruction.
+     */
+    public static DecodeResult of(int instruction, InstructionType type) {
+        return new DecodeResult(instruction, type.getFormat(), type,
+                type.violations(instruction));
+    }
+
+    /**
+     * Creates the result of failing to identify the given instruction.
+     *
+     * @param instruction the numerical representation of the instruction.
+     * @param format the format associated with the opcode of the
+     *               instruction, or {@code null} if there is none.
+     */
+    public static DecodeResult illegal(int instruction, Format format) {
+        return new DecodeResult(instruction, format, null, 0);
+    }
+
+    public Status getStatus() {
+        if (type == null) {
+            return Status.ILLEGAL;
+        }
+        return violations == 0 ? Status.LEGAL : Status.PARTIALLY_LEGAL;
+    }
+
+    public boolean isLegal() {
+        return type != null && violations == 0;
+    }
+
+    public int toNumericalRepresentation() {
+        return instruction;
+    }
+
+    /**
+     * Returns the format associated with the opcode of the instruction,
+     * or {@code null} if the opcode is not associated with any format.
+     */
+    public Format getFormat() {
+        return format;
+    }
+
+    /**
+     * Returns what the instruction was identified as, or {@code null} if
+     * the instruction is illegal.
+     */
+    public InstructionType getType() {
+        return type;
+    }
+
+    /**
+     * Returns the violated fields as a bitmask where each field is
+     * represented by {@link InstructionField#bit()}. Is zero unless the
+     * instruction is partially legal.
+     */
+    public int getViolations() {
+        return violations;
+    }
+
+    public boolean isViolated(InstructionField field) {
+        return (violations & field.bit()) != 0;
+    }
+
+    /**
+     * Returns the rendered instruction. Partially legal instructions are
+     * rendered as what they were identified as.
+     *
+     * @throws IllegalStateException if the instruction is illegal.
+     */
+    public Instruction getInstruction() {
+        if (type == null) {
+            throw new IllegalStateException(getErrors());
+        }
+        return new Instruction(instruction, type);
+    }
+
+    /**
+     * Describes why the instruction is not legal, e.g.
+     * "shamt: Got: 4 Expected: 0". Is the empty string if the
+     * instruction is legal.
+     */
+    public String getErrors() {
+        if (type != null) {
+            return type.describeViolations(instruction);
+        }
+        if (format == null) {
+            return "The opcode: " + Opcode.toNumericalRepresentation
+                    (instruction) + " is not associated with any known " +
+                    "format.";
+        }
+        InstructionField field = format == Format.R ?
+                InstructionField.FUNCT : InstructionField.RT;
+        return "The supplied instruction: " + instruction
+                + " has an opcode associated with the " + format +
+                "-format: " + Opcode.toNumericalRepresentation(instruction)
+                + " but the pairing of the opcode and the " + field +
+                " field does not match any known instruction. " + field +
+                ": " + field.of(instruction);
+    }
+
+    /**
+     * Returns the same partial output as
+     * {@link PartiallyLegalInstructionException#getPartialOutput()}, or
+     * {@code null} if the instruction is illegal.
+     */
+    public String[] getPartialOutput() {
+        if (type == null) {
+            return null;
+        }
+        Instruction i = getInstruction();
+        return new String[] {
+                Instruction.asPaddedHexString(instruction),
+                format.toString(),
+                i.asDecimalString(),
+                i.asHexadecimalString(),
+                i.mnemonic(),
+                getErrors()};
+    }
+
+    /**
+     * Returns the instruction if it is legal, mirroring the behaviour of
+     * {@link Instruction#fromInteger(int)}.
+     *
+     * @throws PartiallyLegalInstructionException if the instruction is
+     * partially legal, or if its opcode is associated with a format but
+     * it does not match any known instruction.
+     * @throws IllegalStateException if the opcode of the instruction is
+     * not associated with any format.
+     */
+    public Instruction requireLegal() {
+        switch (getStatus()) {
+            case LEGAL:
+                return getInstruction();
+            case PARTIALLY_LEGAL:
+                Instruction i = getInstruction();
+                throw new PartiallyLegalInstructionException(
+                        instruction,
+                        format,
+                        i.getDecomposedRepresentation(),
+                        i.getMnemonicRepresentation(),
+                        getErrors());
+            default:
+                if (format == null) {
+                    throw new IllegalStateException(getErrors());
+                }
+                throw new PartiallyLegalInstructionException(getErrors());
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package se.filipallberg.dark.mips32decompiler.instruction;
+
+import java.nio.IntBuffer;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * Decodes a range of words as they are traversed, see
+ * {@link Instruction#decodeAll(IntBuffer)}. The words are read with
+ * absolute gets, so that the halves of a split read the same buffer
+ * without sharing any state. The size is always exact and the range is
+ * split in halves, so that a parallel stream of results hands every
+ * worker of the fork-join pool an even share of the words.
+ */
+final class DecodeSpliterator implements Spliterator<DecodeResult> {
+    private final IntBuffer words;
+    private int index;
+    private final int fence;
+
+    /**
+     * @param words the words, which must not be modified while being
+     *              traversed.
+     * @param index the index of the first word.
+     * @param fence the index just past the last word.
+     */
+    DecodeSpliterator(IntBuffer words, int index, int fence) {
+        this.words = words;
+        this.index = index;
+        this.fence = fence;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super DecodeResult> action) {
+        if (index >= fence) {
+            return false;
+        }
+        action.accept(Instruction.decode(words.get(index++)));
+        return true;
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super DecodeResult> action) {
+        int i = index;
+        /* The range is consumed up front, as the action may throw */
+        index = fence;
+        for (; i < fence; i++) {
+            action.accept(Instruction.decode(words.get(i)));
+        }
+    }
+
+    @Override
+    public Spliterator<DecodeResult> trySplit() {
+        int middle = (index + fence) >>> 1;
+        if (middle <= index) {
+            return null;
+        }
+        Spliterator<DecodeResult> prefix =
+                new DecodeSpliterator(words, index, middle);
+        index = middle;
+        return prefix;
+    }
+
+    @Override
+    public long estimateSize() {
+        return fence - index;
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED | SIZED | SUBSIZED | NONNULL | IMMUTABLE;
+    }
+}
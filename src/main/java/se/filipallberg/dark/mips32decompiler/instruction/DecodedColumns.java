@@ -0,0 +1,170 @@
+package se.filipallberg.dark.mips32decompiler.instruction;
+
+import se.filipallberg.dark.mips32decompiler.instruction.type.InstructionIds;
+import se.filipallberg.dark.mips32decompiler.instruction.type.InstructionType;
+import se.filipallberg.dark.mips32decompiler.instruction.util.Format;
+
+import static se.filipallberg.dark.mips32decompiler.instruction.util.InstructionField.*;
+
+/**
+ * The results of decoding a batch of words, stored as a column of
+ * primitives per field rather than as an object per word. Analyses that
+ * scan millions of instructions, e.g. for every store relative to
+ * {@code $sp}, then run as loops over a few arrays,
+ *
+ * <pre>
+ * short sw = InstructionIds.of(ITypeInstruction.SW);
+ * for (int i = 0; i &lt; columns.size(); i++) {
+ *     if (columns.getIds()[i] == sw &amp;&amp; columns.getRs()[i] == 29) {
+ *         ...
+ *     }
+ * }
+ * </pre>
+ *
+ * Every word is decomposed into every field, whatever its format, so
+ * that e.g. the imm column of an R-type instruction holds its low 16
+ * bits. The kind of instruction that a word was identified as is stored
+ * as a small id, see {@link InstructionIds}. A word is described
+ * just as {@link Instruction#decode(int)} describes it.
+ *
+ * The columns are exposed as is, for speed, and must not be modified.
+ */
+public final class DecodedColumns {
+    private final int size;
+    private final byte[] opcodes;
+    private final byte[] rs;
+    private final byte[] rt;
+    private final byte[] rd;
+    private final byte[] shamts;
+    private final byte[] functs;
+    private final short[] imms;
+    private final int[] targets;
+    private final short[] ids;
+    private final byte[] violations;
+
+    private DecodedColumns(int size) {
+        this.size = size;
+        opcodes = new byte[size];
+        rs = new byte[size];
+        rt = new byte[size];
+        rd = new byte[size];
+        shamts = new byte[size];
+        functs = new byte[size];
+        imms = new short[size];
+        targets = new int[size];
+        ids = new short[size];
+        violations = new byte[size];
+    }
+
+    /** Decodes every given word */
+    public static DecodedColumns decode(int[] words) {
+        return decode(words, 0, words.length);
+    }
+
+    /**
+     * Decodes the words from index {@code from}, inclusive, to index
+     * {@code to}, exclusive. The first word is at index 0 of the columns.
+     */
+    public static DecodedColumns decode(int[] words, int from, int to) {
+        if (from < 0 || to > words.length || from > to) {
+            throw new IndexOutOfBoundsException("The range: [" + from +
+                    ", " + to + ") is not within the " + words.length +
+                    " words");
+        }
+        DecodedColumns columns = new DecodedColumns(to - from);
+        for (int i = 0; i < columns.size; i++) {
+            int word = words[from + i];
+            columns.opcodes[i] = (byte) OPCODE.of(word);
+            columns.rs[i] = (byte) RS.of(word);
+            columns.rt[i] = (byte) RT.of(word);
+            columns.rd[i] = (byte) RD.of(word);
+            columns.shamts[i] = (byte) SHAMT.of(word);
+            columns.functs[i] = (byte) FUNCT.of(word);
+            columns.imms[i] = (short) IMM.of(word);
+            columns.targets[i] = TARGET.of(word);
+
+            InstructionType type = Instruction.lookup(word);
+            columns.ids[i] = InstructionIds.of(type);
+            if (type != null) {
+                columns.violations[i] = (byte) type.violations(word);
+            }
+        }
+        return columns;
+    }
+
+    /** Returns the number of decoded words */
+    public int size() {
+        return size;
+    }
+
+    public byte[] getOpcodes() {
+        return opcodes;
+    }
+
+    public byte[] getRs() {
+        return rs;
+    }
+
+    public byte[] getRt() {
+        return rt;
+    }
+
+    public byte[] getRd() {
+        return rd;
+    }
+
+    public byte[] getShamts() {
+        return shamts;
+    }
+
+    public byte[] getFuncts() {
+        return functs;
+    }
+
+    /** The immediates are sign-extended, use {@code & 0xffff} if not */
+    public short[] getImms() {
+        return imms;
+    }
+
+    public int[] getTargets() {
+        return targets;
+    }
+
+    /** Returns the ids of what the words were identified as */
+    public short[] getIds() {
+        return ids;
+    }
+
+    /**
+     * Returns the violated fields of every word, as a bitmask like
+     * {@link DecodeResult#getViolations()}. Is zero for legal and
+     * illegal words.
+     */
+    public byte[] getViolations() {
+        return violations;
+    }
+
+    /** Returns the numerical representation of the word at the index */
+    public int getWord(int i) {
+        return (opcodes[i] & 0x3f) << 26 | targets[i];
+    }
+
+    public DecodeResult.Status getStatus(int i) {
+        if (ids[i] == InstructionIds.ILLEGAL) {
+            return DecodeResult.Status.ILLEGAL;
+        }
+        return violations[i] == 0 ? DecodeResult.Status.LEGAL :
+                DecodeResult.Status.PARTIALLY_LEGAL;
+    }
+
+    /** Returns the result of decoding the word at the given index */
+    public DecodeResult getResult(int i) {
+        InstructionType type = InstructionIds.typeOf(ids[i]);
+        int word = getWord(i);
+        if (type == null) {
+            return DecodeResult.illegal(word,
+                    Format.lookup(opcodes[i] & 0x3f));
+        }
+        return DecodeResult.of(word, type);
+    }
+}
@@ -2,67 +2,165 @@ package se.filipallberg.dark.mips32decompiler.instruction;
 
 import se.filipallberg.dark.mips32decompiler.instruction.util.DecomposedRepresentation;
 import se.filipallberg.dark.mips32decompiler.instruction.util.Format;
-import se.filipallberg.dark.mips32decompiler.instruction.util.Opcode;
 import se.filipallberg.dark.mips32decompiler.instruction.mnemonic.MnemonicRepresentation;
+import se.filipallberg.dark.mips32decompiler.instruction.type.Decoder;
+import se.filipallberg.dark.mips32decompiler.instruction.type.InstructionType;
 import se.filipallberg.dark.mips32decompiler.instruction.type.ITypeInstruction.ITypeInstruction;
 import se.filipallberg.dark.mips32decompiler.instruction.type.JTypeInstruction.JTypeInstruction;
 import se.filipallberg.dark.mips32decompiler.instruction.type.RTypeInstruction.RTypeInstruction;
 
+import java.nio.IntBuffer;
 import java.util.Arrays;
 import java.util.StringJoiner;
-
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * A decoded instruction. Only the numerical representation of the
+ * instruction and what kind of instruction it was identified as are
+ * held, every textual representation is rendered when it is asked for.
+ * An instance is thus not much larger than the instruction itself, so
+ * that large programs may be kept in memory once decoded.
+ */
 public class Instruction {
     private final int instruction;
-    private final Format format;
-    private final DecomposedRepresentation decomposedRepresentation;
-    private final MnemonicRepresentation mnemonicRepresentation;
-
-    public Instruction(int instruction,
-                        Format format,
-                        DecomposedRepresentation decomposedRepresentation,
-                        MnemonicRepresentation mnemonicRepresentation) {
+    private final InstructionType type;
+
+    public Instruction(int instruction, InstructionType type) {
         this.instruction = instruction;
-        this.format = format;
-        this.decomposedRepresentation = decomposedRepresentation;
-        this.mnemonicRepresentation = mnemonicRepresentation;
+        this.type = type;
     }
     
-    public static Instruction fromInteger(int instruction) {
-        /* Get the opcode of this instruction */
-        Opcode op = Opcode.fromInstruction(instruction);
-
-        /* Opcodes map uniquely to a format, get the associated format */
-        Format format = Format.fromOpcode(op);
-
-        if (format == Format.R) {
-            return RTypeInstruction.fromNumericalRepresentation(instruction);
-        } else if (format == Format.I) {
-            return ITypeInstruction.fromNumericalRepresentation(instruction);
-        } else if (format == Format.J) {
-            return JTypeInstruction.fromNumericalRepresentation(instruction);
+    /**
+     * Identifies an instruction as one of the kinds of instructions of a
+     * single format.
+     */
+    @FunctionalInterface
+    private interface Lookup {
+        /** Returns the kind of instruction, or {@code null} if none */
+        InstructionType lookup(int instruction);
+    }
+
+    /**
+     * Maps the numerical representation of every opcode directly to the
+     * lookup of the format that the opcode is associated with, and to the
+     * decoder built on that lookup. The opcode is always the leftmost 6
+     * bits, hence there are 64 slots. Slots of opcodes that are not
+     * associated with any format identify no instruction.
+     */
+    private static final Lookup[] lookups = new Lookup[64];
+    private static final Decoder[] decoders = new Decoder[64];
+    static {
+        for (int op = 0; op < decoders.length; op++) {
+            Format format = Format.lookup(op);
+            Lookup lookup;
+            if (format == Format.R) {
+                lookup = RTypeInstruction::lookup;
+            } else if (format == Format.I) {
+                lookup = ITypeInstruction::lookup;
+            } else if (format == Format.J) {
+                lookup = JTypeInstruction::lookup;
+            } else {
+                lookup = instruction -> null;
+            }
+            lookups[op] = lookup;
+            decoders[op] = instruction -> {
+                InstructionType type = lookup.lookup(instruction);
+                if (type == null) {
+                    return DecodeResult.illegal(instruction, format);
+                }
+                return DecodeResult.of(instruction, type);
+            };
         }
+    }
+
+    /**
+     * Returns the kind of instruction that the given instruction is
+     * identified as, or {@code null} if it is illegal. The instruction
+     * may still violate the conditions of that kind, see
+     * {@link InstructionType#violations(int)}.
+     */
+    public static InstructionType lookup(int instruction) {
+        return lookups[instruction >>> 26].lookup(instruction);
+    }
+
+    /**
+     * Decodes the given instruction without throwing, see
+     * {@link DecodeResult}.
+     */
+    public static DecodeResult decode(int instruction) {
+        return decoders[instruction >>> 26].decode(instruction);
+    }
+
+    /**
+     * Decodes every given word as the stream is traversed, without
+     * throwing, e.g. {@code decodeAll(words).parallel()} to decode the
+     * words on every processor. The array must not be modified while the
+     * stream is traversed.
+     *
+     * @return a sequential stream of the results in the order of the
+     * words, which is of exactly known size and splits evenly.
+     */
+    public static Stream<DecodeResult> decodeAll(int[] words) {
+        return decodeAll(IntBuffer.wrap(words));
+    }
 
-        throw new IllegalArgumentException(
-                "The instruction: " + instruction + " with opcode: " +
-                        Opcode.toNumericalRepresentation(instruction) +
-                        " is not associated with any Format (R, I, J)"
-        );
+    /**
+     * Decodes the remaining words of the given buffer, e.g. a mapped
+     * file viewed as an {@link IntBuffer}, as the stream is traversed.
+     * The position of the buffer is left as is.
+     *
+     * @see #decodeAll(int[])
+     */
+    public static Stream<DecodeResult> decodeAll(IntBuffer words) {
+        return StreamSupport.stream(new DecodeSpliterator(words,
+                words.position(), words.limit()), false);
+    }
+
+    /**
+     * Decodes every word of the given stream as it is traversed. The
+     * results are parallel, ordered and sized if the words are.
+     *
+     * @see #decodeAll(int[])
+     */
+    public static Stream<DecodeResult> decodeAll(IntStream words) {
+        return words.mapToObj(Instruction::decode);
+    }
+
+    public static Instruction fromInteger(int instruction) {
+        return decode(instruction).requireLegal();
     }
 
     public String asHexadecimalString() {
-        return decomposedRepresentation.asHexadecimalString();
+        return getDecomposedRepresentation().asHexadecimalString();
     }
 
     public String asDecimalString() {
-        return decomposedRepresentation.asDecimalString();
+        return getDecomposedRepresentation().asDecimalString();
     }
 
     public String mnemonic() {
-        return mnemonicRepresentation.toString();
+        return getMnemonicRepresentation().toString();
+    }
+
+    /** Decomposes the instruction according to the layout of its format */
+    public DecomposedRepresentation getDecomposedRepresentation() {
+        return DecomposedRepresentation.fromNumber(instruction,
+                getFormat().getLayout());
+    }
+
+    public MnemonicRepresentation getMnemonicRepresentation() {
+        return type.toMnemonic(instruction);
+    }
+
+    /** Returns what kind of instruction this instruction is */
+    public InstructionType getType() {
+        return type;
     }
 
     public Format getFormat() {
-        return format;
+        return type.getFormat();
     }
 
     public int toNumericalRepresentation() {
@@ -73,7 +171,7 @@ public class Instruction {
     public String toString() {
         String[] representations = {
                 asPaddedHexString(instruction),
-                format.toString(),
+                getFormat().toString(),
                 asDecimalString(),
                 asHexadecimalString(),
                 mnemonic(),
@@ -1,30 +1,267 @@
 package se.filipallberg.dark.mips32decompiler.instruction.mnemonic;
 
-import se.filipallberg.dark.mips32decompiler.instruction.type.InstructionType;
-import se.filipallberg.dark.mips32decompiler.instruction.type.RTypeInstruction.RTypeInstruction;
+import se.filipallberg.dark.mips32decompiler.instruction.util.InstructionField;
+import se.filipallberg.dark.mips32decompiler.instruction.util.Register;
 
-import java.util.Arrays;
-import java.util.StringJoiner;
-import java.util.function.Function;
-import java.util.function.Supplier;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 
-public class MnemonicPattern<T> {
-    private final Function<T, String> iname;
-    private final Function<T, String>[] params;
+/**
+ * Describes how an instruction is written in assembly: the name of the
+ * instruction followed by the fields of the instruction that are its
+ * operands. For an example,
+ *
+ * <pre>{@code new MnemonicPattern(RD, RS, RT)}</pre>
+ *
+ * renders the word 0x01014820 identified as {@code add} as
+ * {@code add $t1, $t0, $at}.
+ *
+ * The register fields (rs, rt, rd) are written as register names, shamt
+ * as an unsigned decimal, imm as a signed decimal and target as an
+ * unsigned hexadecimal number.
+ *
+ * A pattern is compiled once, into the text that goes in between the
+ * operands, so that it may render any number of instructions straight
+ * into a {@link StringBuilder}, an {@link Appendable} or a
+ * {@link ByteBuffer} without allocating.
+ */
+public final class MnemonicPattern {
+    /** The ASCII encoded register names, indexed by address */
+    private static final byte[][] registers = new byte[32][];
+    static {
+        for (int i = 0; i < registers.length; i++) {
+            registers[i] = ascii(Register.toString(i));
+        }
+    }
+
+    private static final char[] hexDigits = "0123456789abcdef".toCharArray();
+
+    private final InstructionField[] operands;
+
+    /** The name of the instruction, e.g. "addi" */
+    private final String iname;
+
+    /**
+     * The text preceding each operand, the last element is the text
+     * following the last operand. The first element includes the name
+     * of the instruction.
+     */
+    private final String[] separators;
+    private final byte[][] separatorBytes;
+
+    /** Whether the last operand is the base of an offset */
+    private final boolean offset;
 
-    @SafeVarargs
-    public MnemonicPattern(Function<T, String> iname,
-                            Function<T, String>... params) {
+    public MnemonicPattern(InstructionField... operands) {
+        this(operands, "", false);
+    }
+
+    private MnemonicPattern(InstructionField[] operands, String iname,
+                            boolean offset) {
+        for (InstructionField operand : operands) {
+            switch (operand) {
+                case RS: case RT: case RD: case SHAMT: case IMM: case TARGET:
+                    break;
+                default:
+                    throw new IllegalArgumentException("The field: " +
+                            operand + " can not be rendered as an operand");
+            }
+        }
+        this.operands = operands;
         this.iname = iname;
-        this.params = params;
+        this.offset = offset;
+        this.separators = separators(iname, operands.length, offset);
+        this.separatorBytes = new byte[separators.length][];
+        for (int i = 0; i < separators.length; i++) {
+            separatorBytes[i] = ascii(separators[i]);
+        }
+    }
+
+    /**
+     * Creates a pattern on the form {@code <iname> <register>,
+     * <offset>(<base>)}, e.g. {@code lw $ra, 4($sp)}.
+     */
+    public static MnemonicPattern withOffset(InstructionField register,
+                                             InstructionField offset,
+                                             InstructionField base) {
+        return new MnemonicPattern(
+                new InstructionField[] {register, offset, base}, "", true);
     }
 
-    public MnemonicRepresentation compose(T e) {
-        String[] strings = new String[params.length];
-        for (int i = 0 ; i < params.length; i++) {
-            strings[i] = params[i].apply(e);
+    /**
+     * Returns this pattern for instructions with the given name. The
+     * name is written before the operands.
+     */
+    public MnemonicPattern named(String iname) {
+        return new MnemonicPattern(operands, iname, offset);
+    }
+
+    /**
+     * Returns the name of the instructions that this pattern renders,
+     * e.g. "addi", or the empty string if the pattern is not named.
+     */
+    public String getName() {
+        return iname;
+    }
+
+    private static String[] separators(String iname, int operands,
+                                       boolean offset) {
+        String[] separators = new String[operands + 1];
+        if (operands == 0) {
+            separators[0] = iname;
+            return separators;
+        }
+        separators[0] = iname + " ";
+        for (int i = 1; i < operands; i++) {
+            separators[i] = ", ";
+        }
+        separators[operands] = "";
+        if (offset) {
+            separators[operands - 1] = "(";
+            separators[operands] = ")";
         }
+        return separators;
+    }
+
+    public MnemonicRepresentation compose(int instruction) {
+        return MnemonicRepresentation.fromString(
+                appendTo(new StringBuilder(32), instruction).toString());
+    }
+
+    /**
+     * Appends the given instruction, rendered according to this
+     * pattern, to the given builder.
+     *
+     * @return the given builder.
+     */
+    public StringBuilder appendTo(StringBuilder sb, int instruction) {
+        try {
+            appendTo((Appendable) sb, instruction);
+        } catch (IOException e) {
+            /* A StringBuilder never throws */
+            throw new UncheckedIOException(e);
+        }
+        return sb;
+    }
+
+    /**
+     * Appends the given instruction, rendered according to this
+     * pattern, to the given appendable.
+     *
+     * @return the given appendable.
+     */
+    public <A extends Appendable> A appendTo(A out, int instruction)
+            throws IOException {
+        for (int i = 0; i < operands.length; i++) {
+            out.append(separators[i]);
+            InstructionField operand = operands[i];
+            int value = operand.of(instruction);
+            switch (operand) {
+                case SHAMT:
+                    appendDecimal(out, value);
+                    break;
+                case IMM:
+                    appendDecimal(out, (short) value);
+                    break;
+                case TARGET:
+                    appendHex(out, value);
+                    break;
+                default:
+                    out.append(Register.toString(value));
+            }
+        }
+        out.append(separators[operands.length]);
+        return out;
+    }
+
+    /**
+     * Writes the given instruction, rendered according to this pattern,
+     * to the given buffer as ASCII.
+     *
+     * @return the given buffer.
+     * @throws java.nio.BufferOverflowException if the buffer does not
+     * have room for the rendered instruction.
+     */
+    public ByteBuffer writeTo(ByteBuffer buffer, int instruction) {
+        for (int i = 0; i < operands.length; i++) {
+            buffer.put(separatorBytes[i]);
+            InstructionField operand = operands[i];
+            int value = operand.of(instruction);
+            switch (operand) {
+                case SHAMT:
+                    writeDecimal(buffer, value);
+                    break;
+                case IMM:
+                    writeDecimal(buffer, (short) value);
+                    break;
+                case TARGET:
+                    writeHex(buffer, value);
+                    break;
+                default:
+                    buffer.put(registers[value]);
+            }
+        }
+        buffer.put(separatorBytes[operands.length]);
+        return buffer;
+    }
+
+    /** Same as {@code Integer.toString}, the value fits in 16 bits */
+    private static void appendDecimal(Appendable out, int value)
+            throws IOException {
+        if (value < 0) {
+            out.append('-');
+            value = -value;
+        }
+        int divisor = 1;
+        while (divisor * 10 <= value) {
+            divisor *= 10;
+        }
+        for (; divisor > 0; divisor /= 10) {
+            out.append((char) ('0' + value / divisor % 10));
+        }
+    }
+
+    private static void writeDecimal(ByteBuffer buffer, int value) {
+        if (value < 0) {
+            buffer.put((byte) '-');
+            value = -value;
+        }
+        int divisor = 1;
+        while (divisor * 10 <= value) {
+            divisor *= 10;
+        }
+        for (; divisor > 0; divisor /= 10) {
+            buffer.put((byte) ('0' + value / divisor % 10));
+        }
+    }
+
+    /** Same as {@code "0x" + Integer.toHexString} */
+    private static void appendHex(Appendable out, int value)
+            throws IOException {
+        out.append('0').append('x');
+        int shift = hexShift(value);
+        for (; shift >= 0; shift -= 4) {
+            out.append(hexDigits[(value >>> shift) & 0xf]);
+        }
+    }
+
+    private static void writeHex(ByteBuffer buffer, int value) {
+        buffer.put((byte) '0').put((byte) 'x');
+        int shift = hexShift(value);
+        for (; shift >= 0; shift -= 4) {
+            buffer.put((byte) hexDigits[(value >>> shift) & 0xf]);
+        }
+    }
+
+    /** The shift of the leftmost nonzero hexadecimal digit of value */
+    private static int hexShift(int value) {
+        int bits = 32 - Integer.numberOfLeadingZeros(value);
+        return Math.max(0, (bits - 1) / 4 * 4);
+    }
 
-        return new MnemonicRepresentation(iname.apply(e), strings);
+    private static byte[] ascii(String s) {
+        return s.getBytes(StandardCharsets.US_ASCII);
     }
 }
@@ -0,0 +1,12 @@
+package se.filipallberg.dark.mips32decompiler.instruction.type;
+
+import se.filipallberg.dark.mips32decompiler.instruction.DecodeResult;
+
+/**
+ * Turns the numerical representation of an instruction into the result
+ * of decoding it. Each format (R, I, J) supplies exactly one decoder.
+ */
+@FunctionalInterface
+public interface Decoder {
+    DecodeResult decode(int instruction);
+}
@@ -1,143 +1,135 @@
 package se.filipallberg.dark.mips32decompiler.instruction.type.ITypeInstruction;
 
 import se.filipallberg.dark.mips32decompiler.instruction.Condition;
-import se.filipallberg.dark.mips32decompiler.instruction.PartiallyLegalInstructionException;
+import se.filipallberg.dark.mips32decompiler.instruction.DecodeResult;
 import se.filipallberg.dark.mips32decompiler.instruction.mnemonic.MnemonicPattern;
-import se.filipallberg.dark.mips32decompiler.instruction.mnemonic.MnemonicRepresentation;
-import se.filipallberg.dark.mips32decompiler.instruction.util.DecomposedRepresentation;
+import se.filipallberg.dark.mips32decompiler.instruction.type.InstructionType;
 import se.filipallberg.dark.mips32decompiler.instruction.util.Format;
 import se.filipallberg.dark.mips32decompiler.instruction.util.Opcode;
 import se.filipallberg.dark.mips32decompiler.instruction.Instruction;
-import se.filipallberg.dark.mips32decompiler.instruction.util.Register;
 
 import java.util.*;
-import java.util.function.Function;
 
-public enum ITypeInstruction {
+import static se.filipallberg.dark.mips32decompiler.instruction.util.InstructionField.*;
+
+public enum ITypeInstruction implements InstructionType {
     /**
      * Addition immediate (with overflow). Put the sum of register rs and
      * the sign-extended immediate into register rt.
      */
-    ADDI(0x08, new MnemonicPattern<>(Str::iname, Str::rt, Str::rs,
-            Str::imm)),
+    ADDI(0x08, new MnemonicPattern(RT, RS, IMM)),
 
     /**
      * Addition immediate (without overflow). Put the sum of register rs and
      * the sign-extended immediate into register rt.
      */
-    ADDIU(0x09, new MnemonicPattern<>(Str::iname, Str::rt, Str::rs, Str::imm)),
+    ADDIU(0x09, new MnemonicPattern(RT, RS, IMM)),
 
 
     /**
      * Put the logical AND of register rs and the zero-extended immediate
      * into register rt.
      */
-    ANDI(0xc, new MnemonicPattern<>(Str::iname, Str::rt, Str::rs, Str::imm)),
+    ANDI(0xc, new MnemonicPattern(RT, RS, IMM)),
 
     /**
      * Put the logical OR of register rs and the zero-extended immediate
      * register into rt.
      */
-    ORI(0xd, new MnemonicPattern<>(Str::iname, Str::rt, Str::rs, Str::imm)),
+    ORI(0xd, new MnemonicPattern(RT, RS, IMM)),
 
     /**
      * Put the logical XOR of register rs and the zero.extended immediate
      * into register rt.
      */
-    XORI(0xe, new MnemonicPattern<>(Str::iname, Str::rt, Str::rs, Str::imm)),
+    XORI(0xe, new MnemonicPattern(RT, RS, IMM)),
 
     /**
      * Load upper immediate. Load the lower halfword of the immediate imm
      * into the upper halfword of register rt. The lower bits of the
      * register are set to 0.
      */
-    LUI(0xf, new Condition<ITypeInstruction, Integer>()
-            .checkThat("rs", Int::rs).is(0x00),
-            new MnemonicPattern<>(Str::iname, Str::rt, Str::imm)),
+    LUI(0xf, new Condition()
+            .checkThat(RS).is(0x00),
+            new MnemonicPattern(RT, IMM)),
 
     /**
      * Trap if equal immediate. If register rs is equal to
      * the sign-extended value imm, Str::raise a Trap Exception.
      */
-    TEQI(0x01, 0xc, new MnemonicPattern<>(Str::iname, Str::rs, Str::imm)),
+    TEQI(0x01, 0xc, new MnemonicPattern(RS, IMM)),
 
     /**
      * Trap if less than immediate. If register rs is less than
      * the sign-extended value imm, Str::raise a Trap Exception.
      */
-    TLTI(0x01, 0xa, new MnemonicPattern<>(Str::iname, Str::rs, Str::imm)),
+    TLTI(0x01, 0xa, new MnemonicPattern(RS, IMM)),
 
     /**
      * Unsigned trap if less than immediate. If register rs is less than
      * the sign-extended value imm, Str::raise a Trap Exception.
      */
-    TLTIU(0x01, 0xb, new MnemonicPattern<>(Str::iname, Str::rs, Str::imm)),
+    TLTIU(0x01, 0xb, new MnemonicPattern(RS, IMM)),
 
     /**
      * Trap if not equal immediate. If register rs is equal to the
      * sign-extended value imm, Str::raise a Trap exception.
      */
-    TNEI(0x01, 0xe, new MnemonicPattern<>(Str::iname, Str::rs, Str::imm)),
+    TNEI(0x01, 0xe, new MnemonicPattern(RS, IMM)),
 
     /**
      * Trap if greater equal immediate. If register rs is greater than
      * or equal to the sign-extended value imm, Str::raise a Trap exception.
      */
-    TGEI(0x01, 0x08, new MnemonicPattern<>(Str::iname, Str::rs, Str::imm)),
+    TGEI(0x01, 0x08, new MnemonicPattern(RS, IMM)),
 
     /**
      * Unsigned trap if greater equal immediate. If register rs is greater
      * than
      * or equal to the sign-extended value imm, Str::raise a Trap exception.
      */
-    TGEIU(0x01, 0x09, new MnemonicPattern<>(Str::iname, Str::rs, Str::imm)),
+    TGEIU(0x01, 0x09, new MnemonicPattern(RS, IMM)),
 
     /**
      * Load byte. Load the byte at "address" into register rt. The byte is
      * sign-extended.
      */
-    LB(0x20, new OffsetMnemonicPattern<>(Str::iname, Str::rt,
-            Str::offset, Str::rs)),
+    LB(0x20, MnemonicPattern.withOffset(RT, IMM, RS)),
 
     /**
      * Load byte. Load the byte at "address" into register rt. The byte is
      * not sign-extended.
      */
-    LBU(0x24, new OffsetMnemonicPattern<>(Str::iname, Str::rt,
-            Str::offset, Str::rs)),
+    LBU(0x24, MnemonicPattern.withOffset(RT, IMM, RS)),
 
     /**
      * Load halfword. Load the 16-bit quantity (halfword) at "address" into
      * register rt. The halfword is sign-extended.
      */
-    LH(0x21, new OffsetMnemonicPattern<>(Str::iname, Str::rt,
-            Str::offset, Str::rs)),
+    LH(0x21, MnemonicPattern.withOffset(RT, IMM, RS)),
 
     /**
      * Load halfword. Load the 16-bit quantity (halfword) at "address" into
      * register rt. The halfword is not sign-extended.
      */
-    LHU(0x25, new OffsetMnemonicPattern<>(Str::iname, Str::rt,
-            Str::offset, Str::rs)),
+    LHU(0x25, MnemonicPattern.withOffset(RT, IMM, RS)),
 
     /**
      * Load word. Load the 32-bit quantity (word) at address into register rt.
      */
-    LW(0x23, new OffsetMnemonicPattern<>(Str::iname, Str::rt,
-            Str::offset, Str::rs)),
+    LW(0x23, MnemonicPattern.withOffset(RT, IMM, RS)),
 
     /**
      * Load word left. Load the left bytes from the word at the possibly
      * unaligned "address" into rt.
      */
-    LWL(0x22, new OffsetMnemonicPattern<>(Str::iname, Str::rt,
-            Str::offset, Str::rs)),
+    LWL(0x22, MnemonicPattern.withOffset(RT, IMM, RS)),
 
     /**
      * Load word right. Load the right bytes from the word at the possibly
      * unaligned "address" into rt.
      */
-    LWR(0x26, new OffsetMnemonicPattern<>(Str::iname, Str::rt, Str::offset, Str::rs)),
+    LWR(0x26, MnemonicPattern.withOffset(RT, IMM, RS)),
 
     /**
      * Load linked. Load the 32-bit quantity (word) at "address" into register
@@ -145,34 +137,32 @@ public enum ITypeInstruction {
      * is completed by a store conditional (sc) instruction, Str::which will fail if
      * another processor writes into the block containing the loaded word.
      */
-    LL(0x30, new OffsetMnemonicPattern<>(Str::iname, Str::rt, Str::offset, Str::rs)),
+    LL(0x30, MnemonicPattern.withOffset(RT, IMM, RS)),
 
     /**
      * Store byte. Store the low byte from register rt at "address".
      */
-    SB(0x28, new OffsetMnemonicPattern<>(Str::iname, Str::rt, Str::offset, Str::rs)),
+    SB(0x28, MnemonicPattern.withOffset(RT, IMM, RS)),
 
     /**
      * Store halfword. Store the low halfword from register rt at "address".
      */
-    SH(0x29, new OffsetMnemonicPattern<>(Str::iname, Str::rt, Str::offset, Str::rs)),
+    SH(0x29, MnemonicPattern.withOffset(RT, IMM, RS)),
 
     /**
      * Store word. Store the word from register rt at "address".
      */
-    SW(0x2b, new OffsetMnemonicPattern<>(Str::iname, Str::rt, Str::offset, Str::rs)),
+    SW(0x2b, MnemonicPattern.withOffset(RT, IMM, RS)),
 
     /**
      * Store the left bytes from register rt at the possibly unaligned address.
      */
-    SWL(0x2a, new OffsetMnemonicPattern<>(Str::iname, Str::rt,
-            Str::offset, Str::rs)),
+    SWL(0x2a, MnemonicPattern.withOffset(RT, IMM, RS)),
 
     /**
      * Store the right bytes from register rt at the possibly unaligned address.
      */
-    SWR(0x2e, new OffsetMnemonicPattern<>(Str::iname, Str::rt,
-            Str::offset, Str::rs)),
+    SWR(0x2e, MnemonicPattern.withOffset(RT, IMM, RS)),
 
     /**
      * Store conditional.  Load the 32-bit quantity (word) in register rt into
@@ -182,20 +172,20 @@ public enum ITypeInstruction {
      * processor wrote to a location in the block containing the addressed word,
      * this instruction does not modify memory and writes 0 into register rt.
      */
-    SC(0x38, new OffsetMnemonicPattern<>(Str::iname, Str::rt, Str::offset, Str::rs)),
+    SC(0x38, MnemonicPattern.withOffset(RT, IMM, RS)),
 
     /**
      * Branch on equal. Conditionally branch the number of instructions
      * specified by the offset if register rs equals rt.
      */
-    BEQ(0x04, new MnemonicPattern<>(Str::iname, Str::rs, Str::rt, Str::label)),
+    BEQ(0x04, new MnemonicPattern(RS, RT, IMM)),
 
     /**
      * Branch on greater than equal zero. Conditionally branch the number
      * of instructions specified by the offset if register rs is greater
      * than or equal to 0.
      */
-    BGEZ(0x01, 0x01, new MnemonicPattern<>(Str::iname, Str::rs, Str::label)),
+    BGEZ(0x01, 0x01, new MnemonicPattern(RS, IMM)),
 
     /**
      * Branch on greater than equal zero and link.
@@ -203,62 +193,64 @@ public enum ITypeInstruction {
      * if register rs is greater than or equal to 0. Save the address of
      * the next instruction in register 31.
      */
-    BGEZAL(0x01, 0x11, new MnemonicPattern<>(Str::iname, Str::rs, Str::label)),
+    BGEZAL(0x01, 0x11, new MnemonicPattern(RS, IMM)),
 
     /**
      * Branch on greater than zero. Conditionally branch the number
      * of instructions specified by the offset if register rs is greater
      * than 0.
      */
-    BGTZ(0x07, 0x00, new MnemonicPattern<>(Str::iname, Str::rs, Str::label)),
+    BGTZ(0x07, 0x00, new MnemonicPattern(RS, IMM)),
 
     /**
      * Branch on less than equal zero. Conditionally branch the number
      * of instructions specified by the offset if register rs is less than
      * or equal to 0.
      */
-    BLEZ(0x06, 0x00, new MnemonicPattern<>(Str::iname, Str::rs, Str::label)),
+    BLEZ(0x06, 0x00, new MnemonicPattern(RS, IMM)),
 
-    BLTZAL(0x01, 0x10, new MnemonicPattern<>(Str::iname, Str::rs, Str::label)),
+    BLTZAL(0x01, 0x10, new MnemonicPattern(RS, IMM)),
 
     /**
      * Branch on less than zero. Conditionally branch the number
      * of instructions specified by the offset if register rs is less than 0.
      */
-    BLTZ(0x01, 0x00, new MnemonicPattern<>(Str::iname, Str::rs, Str::label)),
+    BLTZ(0x01, 0x00, new MnemonicPattern(RS, IMM)),
 
     /**
      * Conditionally branch the number of instructions specified by the offset
      * if register rs is not equal to rt.
      */
-    BNE(0x05, new MnemonicPattern<>(Str::iname, Str::rs, Str::rt, Str::label)),
+    BNE(0x05, new MnemonicPattern(RS, RT, IMM)),
 
     /**
      * Set less than immediate. Set register rt to 1 if register rs is
      * less than the sign-extended immediate, Str::and to 0 otherwise.
      */
-    SLTI(0xa, new MnemonicPattern<>(Str::iname, Str::rt, Str::rs, Str::imm)),
+    SLTI(0xa, new MnemonicPattern(RT, RS, IMM)),
 
     /**
      * Set less than unsigned immediate. Set register rt to 1 if register rs is
      * less than the sign-extended immediate, Str::and to 0 otherwise.
      */
-    SLTIU(0xb, new MnemonicPattern<>(Str::iname, Str::rt, Str::rs, Str::imm)),
+    SLTIU(0xb, new MnemonicPattern(RT, RS, IMM)),
     ;
 
     /**
      * Map the unique identifier instruction identifier with its
      * corresponding instruction. This only applies to those instructions
-     * that are not a trap or branch instruction.
+     * that are not a trap or branch instruction. Indexed by the
+     * numerical representation of the opcode.
      */
-    private static final Map<Opcode, ITypeInstruction> opcodeIdentifiable
-            = new HashMap<>();
+    private static final ITypeInstruction[] opcodeIdentifiable =
+            new ITypeInstruction[64];
 
     /**
-     * If the opcode is 0x01 the rt field has to be consulted.
+     * If the opcode is 0x01 the rt field has to be consulted. Indexed by
+     * the value of the rt field.
      */
-    private static final Map<Integer, ITypeInstruction>
-            rtIdentifiableMap = new HashMap<>();
+    private static final ITypeInstruction[] rtIdentifiable =
+            new ITypeInstruction[32];
 
     /**
      * Maintain a set of all I-type instruction opcodes so that
@@ -269,38 +261,50 @@ public enum ITypeInstruction {
     static {
         Arrays.stream(ITypeInstruction.values()).forEach(e -> {
             /** Ignore branch and trap instructions */
-            if (e.opcode.toNumericalRepresentation() != 0x01) {
-                opcodeIdentifiable.put(e.opcode, e);
+            int op = e.opcode.toNumericalRepresentation();
+            if (op != 0x01) {
+                put(opcodeIdentifiable, op, e);
             } else {
-                rtIdentifiableMap.put(e.rt, e);
+                put(rtIdentifiable, e.rt, e);
             }
+            opcodeSet.add(e.opcode);
         });
+    }
 
-        ITypeInstruction.opcodeIdentifiable.keySet().forEach(opcodeSet::add);
-        opcodeSet.add(Opcode.fromNumericalRepresentation(0x01)); // Branch
-        // and trap instructions.
+    /**
+     * Puts the instruction into the given slot of the table, refusing to
+     * silently overwrite an instruction that is already there.
+     */
+    private static void put(ITypeInstruction[] table, int index,
+                            ITypeInstruction e) {
+        if (table[index] != null) {
+            throw new IllegalStateException("Both " + table[index] +
+                    " and " + e + " are identified by: " + index);
+        }
+        table[index] = e;
     }
-    
-    /** All I-format instructions follow the same pattern */
-    private final static int[] decomposedPattern = {6, 5, 5, 16};
 
     private final Opcode opcode;
-    private DecomposedRepresentation decomposedRepresentation;
-    private MnemonicPattern<ITypeInstruction> mnemonicPattern;
-    private MnemonicRepresentation mnemonicRepresentation;
+    private final MnemonicPattern mnemonicPattern;
+    private final Condition condition;
 
-    ITypeInstruction(int opcode, MnemonicPattern<ITypeInstruction> mnemonicPattern) {
-        this.mnemonicPattern = mnemonicPattern;
-        this.opcode = Opcode.fromNumericalRepresentation(opcode);
-    }
+    /** The compiled form of the condition, see {@link Condition} */
+    private final int mask;
+    private final int match;
 
-    private Condition<ITypeInstruction, Integer> condition;
+    /**
+     * The value of the rt field that identifies this instruction, only
+     * meaningful for trap and branch instructions with the opcode 0x01.
+     */
+    private final int rt;
 
-    ITypeInstruction(int opcode, Condition<ITypeInstruction,
-            Integer> condition, MnemonicPattern<ITypeInstruction> mnemonicPattern) {
-        this.mnemonicPattern = mnemonicPattern;
-        this.opcode = Opcode.fromNumericalRepresentation(opcode);
-        this.condition = condition;
+    ITypeInstruction(int opcode, MnemonicPattern mnemonicPattern) {
+        this(opcode, 0, null, mnemonicPattern);
+    }
+
+    ITypeInstruction(int opcode, Condition condition,
+                     MnemonicPattern mnemonicPattern) {
+        this(opcode, 0, condition, mnemonicPattern);
     }
 
     /**
@@ -308,11 +312,19 @@ public enum ITypeInstruction {
      * one instruction shares the same opcode. This is the case
      * when dealing with a trap or a branch instruction.
      */
-    ITypeInstruction(int opcode, int rt, MnemonicPattern<ITypeInstruction>
+    ITypeInstruction(int opcode, int rt, MnemonicPattern
             mnemonicPattern) {
-        this.mnemonicPattern = mnemonicPattern;
+        this(opcode, rt, null, mnemonicPattern);
+    }
+
+    ITypeInstruction(int opcode, int rt, Condition condition,
+                     MnemonicPattern mnemonicPattern) {
+        this.mnemonicPattern = mnemonicPattern.named(name().toLowerCase());
         this.opcode = Opcode.fromNumericalRepresentation(opcode);
         this.rt = rt;
+        this.condition = condition;
+        this.mask = condition == null ? 0 : condition.getMask();
+        this.match = condition == null ? 0 : condition.getMatch();
     }
 
     public static Set<Opcode> getOpcodeSet() {
@@ -330,136 +342,90 @@ public enum ITypeInstruction {
             throw new IllegalArgumentException(err);
         }
 
-        /** Get the correct I-type instruction */
-        ITypeInstruction iTypeInstruction = identifyInstruction(instruction);
-        iTypeInstruction.validate();
-
-        return new Instruction(
-                instruction,
-                Format.I,
-                iTypeInstruction.decomposedRepresentation,
-                iTypeInstruction.mnemonicRepresentation);
+        return decode(instruction).requireLegal();
     }
 
-    private int instruction;
-    public boolean validate() {
-        if (condition != null) {
-            if (!condition.evaluate(this)) {
-                StringJoiner sj = new StringJoiner(" ");
-                condition.getErrors().forEach(sj::add);
-                throw new PartiallyLegalInstructionException(
-                        instruction,
-                        Format.fromOpcode(opcode),
-                        DecomposedRepresentation.fromNumber(instruction,
-                                decomposedPattern),
-                        mnemonicPattern.compose(this),
-                        sj.toString());
-            }
+    /**
+     * Decodes an instruction that is already known to be in the
+     * I-format, e.g. one that has been dispatched on its opcode by
+     * {@link Instruction#decode(int)}. The opcode is not checked
+     * again and no exceptions are thrown, illegal and partially legal
+     * instructions are reported through the result.
+     *
+     * @param instruction the numerical representation of an I-format
+     *                    instruction.
+     * @return the result of decoding the instruction.
+     */
+    public static DecodeResult decode(int instruction) {
+        ITypeInstruction i = lookup(instruction);
+        if (i == null) {
+            return DecodeResult.illegal(instruction, Format.I);
         }
-        return true;
+        return DecodeResult.of(instruction, i);
     }
 
-    public int rs;
-    public int offset;
-    public int label;
-    public int rt;
-    public int imm;
-
-    private static ITypeInstruction identifyInstruction(int instruction) {
-        DecomposedRepresentation d = DecomposedRepresentation.
-                fromNumber(instruction, decomposedPattern);
-        int[] decomposition = d.toIntArray();
-
-        ITypeInstruction i;
-        if (d.opcode() == 0x01) {
-            i = rtIdentifiableMap.get(decomposition[2]);
-        } else {
-            i = opcodeIdentifiable.get(Opcode.fromInstruction(instruction));
+    /**
+     * The instruction is not required to have been identified as this
+     * kind of instruction, only the fields that the conditions of this
+     * instruction concern are examined.
+     */
+    @Override
+    public int violations(int instruction) {
+        if ((instruction & mask) == match) {
+            return 0;
         }
-        i.instruction = instruction;
-        i.rs = decomposition[1];
-        i.rt = decomposition[2];
-        i.imm = i.label = i.offset = decomposition[3];
-        i.mnemonicRepresentation = i.mnemonicPattern.compose(i);
-        i.decomposedRepresentation = d;
-        return i;
+        return condition.violations(instruction);
     }
 
-    /** Returns true if the instruction has the R-format */
-    private static boolean hasCorrectFormat(int instruction) {
-        int op = Opcode.toNumericalRepresentation(instruction);
-        Opcode opcode = Opcode.fromNumericalRepresentation(op);
-
-        return Format.fromOpcode(opcode) == Format.I;
-    }
-
-    private static class Int {
-        static Integer rs(ITypeInstruction i) {
-            return i.rs;
+    @Override
+    public String describeViolations(int instruction) {
+        if (condition == null) {
+            return "";
         }
+        return String.join(" ", condition.getErrors(instruction));
     }
-    
-    private static class Str {
-        static String iname(ITypeInstruction instruction) {
-            return instruction.name().toLowerCase();
-        }
-        
-        static String rt(ITypeInstruction instruction) {
-            return Register.toString(instruction.rt);
-        }
 
-        static String rs(ITypeInstruction instruction) {
-            return Register.toString(instruction.rs);
-        }
-
-        static String imm(ITypeInstruction instruction) {
-            return Short.toString((short) instruction.imm);
-        }
+    @Override
+    public MnemonicPattern getMnemonicPattern() {
+        return mnemonicPattern;
+    }
 
-        static String label(ITypeInstruction instruction) {
-            return Short.toString((short) instruction.label);
-        }
+    @Override
+    public Format getFormat() {
+        return Format.I;
+    }
 
-        static String offset(ITypeInstruction instruction) {
-            return Short.toString((short) instruction.offset);
-        }
+    /**
+     * Composes the numerical representation of this kind of instruction
+     * out of the given fields. The opcode is that of this instruction.
+     */
+    public int toNumericalRepresentation(int rs, int rt, int imm) {
+        return OPCODE.compose(opcode.toNumericalRepresentation())
+                | RS.compose(rs)
+                | RT.compose(rt)
+                | IMM.compose(imm);
     }
 
-    private static class OffsetMnemonicPattern<T> extends
-            MnemonicPattern<T> {
-        Function<T, String> iname;
-        Function<T, String> rt;
-        Function<T, String> offset;
-        Function<T, String> rs;
-
-        /**
-         * Expects to be called with the parameters
-         * Str::iname, Str::rt, Str::offset, Str::rs
-         */
-        public OffsetMnemonicPattern(Function<T, String> iname,
-                                     Function<T, String>... params) {
-            super(iname, params);
-            assert(params.length == 3);
-            this.iname = iname;
-            rt = params[0];
-            offset = params[1];
-            rs = params[2];
+    /**
+     * Looks up the kind of I-type instruction that the given instruction
+     * is identified as, using its opcode and, for trap and branch
+     * instructions, its rt field.
+     *
+     * @param instruction the numerical representation of the instruction.
+     * @return the identified instruction or {@code null} if there is no
+     * matching instruction.
+     */
+    public static ITypeInstruction lookup(int instruction) {
+        int op = instruction >>> 26;
+        if (op == 0x01) {
+            return rtIdentifiable[RT.of(instruction)];
         }
+        return opcodeIdentifiable[op];
+    }
 
-        /**
-         * Yields output on the form <iname, rt, offset(rs)>
-         */
-        @Override
-        public MnemonicRepresentation compose(T e) {
-            StringBuilder sb = new StringBuilder();
-            sb.append(iname.apply(e)).append(" ")
-                    .append(rt.apply(e))
-                    .append(", ")
-                    .append(offset.apply(e))
-                    .append("(")
-                    .append(rs.apply(e))
-                    .append(")");
-            return MnemonicRepresentation.fromString(sb.toString());
-        }
+    /** Returns true if the instruction has the R-format */
+    private static boolean hasCorrectFormat(int instruction) {
+        int op = Opcode.toNumericalRepresentation(instruction);
+        return Format.fromOpcode(op) == Format.I;
     }
 }
@@ -0,0 +1,77 @@
+package se.filipallberg.dark.mips32decompiler.instruction.type;
+
+import se.filipallberg.dark.mips32decompiler.instruction.type.ITypeInstruction.ITypeInstruction;
+import se.filipallberg.dark.mips32decompiler.instruction.type.JTypeInstruction.JTypeInstruction;
+import se.filipallberg.dark.mips32decompiler.instruction.type.RTypeInstruction.RTypeInstruction;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Numbers every kind of instruction with a small id, e.g. for storing
+ * what an instruction was identified as in a column of shorts or a
+ * binary record. The kinds of the R-, I- and J-type instructions are
+ * numbered in that order, starting from 1, as 0 is the id of words that
+ * could not be identified. Every output that writes ids uses these, so
+ * that they may be joined with each other.
+ */
+public final class InstructionIds {
+    /** The id of words that could not be identified */
+    public static final short ILLEGAL = 0;
+
+    /** Every kind of instruction, indexed by its id */
+    private static final List<InstructionType> types;
+    private static final int R_BASE;
+    private static final int I_BASE;
+    private static final int J_BASE;
+    static {
+        List<InstructionType> all = new ArrayList<>();
+        all.add(null);
+        R_BASE = all.size();
+        Collections.addAll(all, RTypeInstruction.values());
+        I_BASE = all.size();
+        Collections.addAll(all, ITypeInstruction.values());
+        J_BASE = all.size();
+        Collections.addAll(all, JTypeInstruction.values());
+        types = Collections.unmodifiableList(all);
+    }
+
+    private InstructionIds() {}
+
+    /**
+     * Returns the id of the given kind of instruction, or
+     * {@link #ILLEGAL} if it is {@code null}.
+     */
+    public static short of(InstructionType type) {
+        int id;
+        if (type == null) {
+            id = ILLEGAL;
+        } else if (type instanceof RTypeInstruction) {
+            id = R_BASE + ((RTypeInstruction) type).ordinal();
+        } else if (type instanceof ITypeInstruction) {
+            id = I_BASE + ((ITypeInstruction) type).ordinal();
+        } else if (type instanceof JTypeInstruction) {
+            id = J_BASE + ((JTypeInstruction) type).ordinal();
+        } else {
+            throw new IllegalArgumentException("Unknown kind of " +
+                    "instruction: " + type);
+        }
+        return (short) id;
+    }
+
+    /**
+     * Returns the kind of instruction with the given id, or {@code null}
+     * for {@link #ILLEGAL}.
+     *
+     * @throws IndexOutOfBoundsException if no kind has the id.
+     */
+    public static InstructionType typeOf(int id) {
+        return types.get(id);
+    }
+
+    /** Returns the number of ids, including {@link #ILLEGAL} */
+    public static int count() {
+        return types.size();
+    }
+}
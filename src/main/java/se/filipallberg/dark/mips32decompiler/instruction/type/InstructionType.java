@@ -1,5 +1,68 @@
 package se.filipallberg.dark.mips32decompiler.instruction.type;
 
+import se.filipallberg.dark.mips32decompiler.instruction.PartiallyLegalInstructionException;
+import se.filipallberg.dark.mips32decompiler.instruction.mnemonic.MnemonicPattern;
+import se.filipallberg.dark.mips32decompiler.instruction.mnemonic.MnemonicRepresentation;
+import se.filipallberg.dark.mips32decompiler.instruction.util.DecomposedRepresentation;
+import se.filipallberg.dark.mips32decompiler.instruction.util.Format;
+
+/**
+ * Describes a kind of instruction, e.g. {@code add} or {@code lw}.
+ * Implementations are immutable and hold no state that is particular
+ * to any single instruction word, all such state is passed in as the
+ * numerical representation of the instruction.
+ */
 public interface InstructionType {
-    boolean validate();
+    /** Returns the format shared by all instructions of this kind */
+    Format getFormat();
+
+    /**
+     * Returns the fields of the given instruction that violate the
+     * conditions of this kind of instruction, as a bitmask where each
+     * field is represented by
+     * {@link se.filipallberg.dark.mips32decompiler.instruction.util.InstructionField#bit()}.
+     * Is zero if the instruction satisfies all conditions.
+     */
+    int violations(int instruction);
+
+    /**
+     * Describes every condition that the given instruction violates,
+     * e.g. "shamt: Got: 4 Expected: 0". Is the empty string if the
+     * instruction satisfies all conditions.
+     */
+    String describeViolations(int instruction);
+
+    /**
+     * Returns the pattern that renders instructions as this kind of
+     * instruction. Use it to render straight into a buffer, see
+     * {@link MnemonicPattern#appendTo(StringBuilder, int)}.
+     */
+    MnemonicPattern getMnemonicPattern();
+
+    /** Renders the given instruction as this kind of instruction */
+    default MnemonicRepresentation toMnemonic(int instruction) {
+        return getMnemonicPattern().compose(instruction);
+    }
+
+    /**
+     * Checks that the given instruction satisfies the conditions of
+     * this kind of instruction.
+     *
+     * @param instruction the numerical representation of the instruction.
+     * @return true if the instruction is valid.
+     * @throws PartiallyLegalInstructionException if any condition is
+     * violated.
+     */
+    default boolean validate(int instruction) {
+        if (violations(instruction) != 0) {
+            throw new PartiallyLegalInstructionException(
+                    instruction,
+                    getFormat(),
+                    DecomposedRepresentation.fromNumber(instruction,
+                            getFormat().getLayout()),
+                    toMnemonic(instruction),
+                    describeViolations(instruction));
+        }
+        return true;
+    }
 }
@@ -1,14 +1,17 @@
 package se.filipallberg.dark.mips32decompiler.instruction.type.JTypeInstruction;
 
-import se.filipallberg.dark.mips32decompiler.instruction.util.DecomposedRepresentation;
+import se.filipallberg.dark.mips32decompiler.instruction.DecodeResult;
 import se.filipallberg.dark.mips32decompiler.instruction.util.Format;
-import se.filipallberg.dark.mips32decompiler.instruction.mnemonic.MnemonicRepresentation;
+import se.filipallberg.dark.mips32decompiler.instruction.mnemonic.MnemonicPattern;
+import se.filipallberg.dark.mips32decompiler.instruction.type.InstructionType;
 import se.filipallberg.dark.mips32decompiler.instruction.util.Opcode;
 import se.filipallberg.dark.mips32decompiler.instruction.Instruction;
 
 import java.util.*;
 
-public enum JTypeInstruction {
+import static se.filipallberg.dark.mips32decompiler.instruction.util.InstructionField.TARGET;
+
+public enum JTypeInstruction implements InstructionType {
     /** Unconditionally jump to the instruction at target. */
     J(0x02),
 
@@ -22,24 +25,53 @@ public enum JTypeInstruction {
     private static Map<Opcode, JTypeInstruction> map = new HashMap<>();
     private final Opcode opcode;
 
+    /** Indexed by the numerical representation of the opcode */
+    private static final JTypeInstruction[] byOpcode =
+            new JTypeInstruction[64];
+
     static {
         Arrays.stream(JTypeInstruction.values()).forEach(e -> {
             map.put(e.opcode, e);
+            byOpcode[e.opcode.toNumericalRepresentation()] = e;
         });
     }
 
+    private final MnemonicPattern pattern;
+
     JTypeInstruction(int opcode) {
         this.opcode = Opcode.fromNumericalRepresentation(opcode);
+        this.pattern = new MnemonicPattern(TARGET).named(name().toLowerCase());
+    }
+    /** J-format instructions are not subject to any conditions */
+    @Override
+    public int violations(int instruction) {
+        return 0;
+    }
+
+    @Override
+    public String describeViolations(int instruction) {
+        return "";
+    }
+
+    @Override
+    public MnemonicPattern getMnemonicPattern() {
+        return pattern;
     }
+
+    @Override
+    public Format getFormat() {
+        return Format.J;
+    }
+
     public static Set<Opcode> getOpcodeSet() {
         return map.keySet();
     }
 
     public static Instruction fromNumericalRepresentation(int instruction) {
         /* Validate input */
-        Opcode opcode = Opcode.fromInstruction(instruction);
+        int op = Opcode.toNumericalRepresentation(instruction);
 
-        if (Format.fromOpcode(opcode) != Format.J) {
+        if (Format.fromOpcode(op) != Format.J) {
             String err = "Expected an instruction in the J-format. The" +
                     " passed instruction is: " + instruction +
                     " which has the opcode: " +
@@ -48,20 +80,32 @@ public enum JTypeInstruction {
             throw new IllegalArgumentException(err);
         }
 
-        /** Get the correct J-type instruction */
-        DecomposedRepresentation d =
-                DecomposedRepresentation.fromNumber(instruction, 6, 26);
-        String iname = map.get(opcode).name().toLowerCase();
+        return decode(instruction).requireLegal();
+    }
 
-        return new Instruction(instruction,
-                Format.J,
-                d,
-                J(iname, d));
+    /**
+     * Decodes an instruction that is already known to be in the
+     * J-format, e.g. one that has been dispatched on its opcode by
+     * {@link Instruction#decode(int)}. The opcode is not checked
+     * again.
+     *
+     * @param instruction the numerical representation of a J-format
+     *                    instruction.
+     * @return the result of decoding the instruction, which is always
+     * legal.
+     */
+    public static DecodeResult decode(int instruction) {
+        return DecodeResult.of(instruction, lookup(instruction));
     }
 
-    private static MnemonicRepresentation J(String iname,
-                                            DecomposedRepresentation d) {
-        String target = "0x" + Integer.toHexString(d.toIntArray()[1]);
-        return MnemonicRepresentation.fromString(iname + " " + target);
+    /**
+     * Looks up the kind of J-type instruction that the given instruction
+     * is identified as, using its opcode.
+     *
+     * @return the identified instruction or {@code null} if the opcode is
+     * not that of a J-type instruction.
+     */
+    public static JTypeInstruction lookup(int instruction) {
+        return byOpcode[instruction >>> 26];
     }
 }
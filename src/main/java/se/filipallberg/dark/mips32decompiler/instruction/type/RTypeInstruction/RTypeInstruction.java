@@ -1,18 +1,17 @@
 package se.filipallberg.dark.mips32decompiler.instruction.type.RTypeInstruction;
 
 import se.filipallberg.dark.mips32decompiler.instruction.Condition;
-import se.filipallberg.dark.mips32decompiler.instruction.PartiallyLegalInstructionException;
+import se.filipallberg.dark.mips32decompiler.instruction.DecodeResult;
 import se.filipallberg.dark.mips32decompiler.instruction.mnemonic.MnemonicPattern;
-import se.filipallberg.dark.mips32decompiler.instruction.mnemonic.MnemonicRepresentation;
 import se.filipallberg.dark.mips32decompiler.instruction.type.InstructionType;
-import se.filipallberg.dark.mips32decompiler.instruction.util.DecomposedRepresentation;
 import se.filipallberg.dark.mips32decompiler.instruction.util.Format;
 import se.filipallberg.dark.mips32decompiler.instruction.util.Opcode;
 import se.filipallberg.dark.mips32decompiler.instruction.Instruction;
-import se.filipallberg.dark.mips32decompiler.instruction.util.Register;
 
 import java.util.*;
 
+import static se.filipallberg.dark.mips32decompiler.instruction.util.InstructionField.*;
+
 /**
  * Describes a stateless representation of all the known R-type
  * instructions. Pass in an numerical representation of an instruction
@@ -24,30 +23,27 @@ public enum RTypeInstruction implements InstructionType {
      * register rd. Is only valid if shamt is 0.
      */
     ADD(0x00, 0x20,
-            new Condition<RTypeInstruction, Integer>()
-                    .checkThat("shamt", Int::shamt).is(0x00),
-            new MnemonicPattern<>(
-                    Str::iname, Str::rd,  Str::rs,  Str::rt)),
+            new Condition()
+                    .checkThat(SHAMT).is(0x00),
+            new MnemonicPattern(RD, RS, RT)),
 
     /**
      * Addition (without overflow). Put the sum of registers rs and rt into
      * register rd. Is only valid if shamt is 0
      */
     ADDU(0, 0x21,
-            new Condition<RTypeInstruction, Integer>()
-                    .checkThat("shamt", Int::shamt).is(0x00),
-            new MnemonicPattern<>(
-                    Str::iname, Str::rd,  Str::rs,  Str::rt)),
+            new Condition()
+                    .checkThat(SHAMT).is(0x00),
+            new MnemonicPattern(RD, RS, RT)),
 
     /**
      * Put the logical AND of registers rs and rt into register rd.
      * Is only valid if shamt is 0
      */
     AND(0x00, 0x24,
-            new Condition<RTypeInstruction, Integer>()
-                    .checkThat("shamt", Int::shamt).is(0x00),
-            new MnemonicPattern<>(
-                    Str::iname, Str::rd,  Str::rs,  Str::rt)),
+            new Condition()
+                    .checkThat(SHAMT).is(0x00),
+            new MnemonicPattern(RD, RS, RT)),
 
     /**
      * Count leading ones in the word in register rs and put the result
@@ -56,11 +52,10 @@ public enum RTypeInstruction implements InstructionType {
      * to be 0.
      */
     CLO(0x1c, 0x21,
-            new Condition<RTypeInstruction, Integer>()
-                    .checkThat("shamt", Int::shamt).
-                    and("rt", Int::rt).is(0x00),
-            new MnemonicPattern<>
-                    (Str::iname, Str::rd, Str::rs)),
+            new Condition()
+                    .checkThat(SHAMT).
+                    and(RT).is(0x00),
+            new MnemonicPattern(RD, RS)),
 
     /**
      * Count leading zeroes in the word in register rs and put the result
@@ -68,39 +63,35 @@ public enum RTypeInstruction implements InstructionType {
      * Is only valid if shamt is 0 and rt is 0
      */
     CLZ(0x1c, 0x20,
-            new Condition<RTypeInstruction, Integer>()
-                    .checkThat("shamt", Int::shamt).
-                    and("rt", Int::rt).is(0x00),
-            new MnemonicPattern<>
-                    (Str::iname, Str::rd, Str::rs)),
+            new Condition()
+                    .checkThat(SHAMT).
+                    and(RT).is(0x00),
+            new MnemonicPattern(RD, RS)),
     
     /**
      * Divide (with overflow). Divide register rs by register rt.
      * Is only valid if rd and shamt is 0.
      */
-    DIV(0x00, 0x1a, new Condition<RTypeInstruction, Integer>()
-            .checkThat("rd", Int::rd).and("shamt", Int::shamt).is(0x00),
-            new MnemonicPattern<>
-                    (Str::iname, Str::rs, Str::rt)),
+    DIV(0x00, 0x1a, new Condition()
+            .checkThat(RD).and(SHAMT).is(0x00),
+            new MnemonicPattern(RS, RT)),
 
     /**
      * Divide (without overflow). Divide register rs by register rt.
      * Is only valid if rd and shamt is 0.
      */
-    DIVU(0x00, 0x1b, new Condition<RTypeInstruction, Integer>()
-            .checkThat("rd", Int::rd).and("shamt", Int::shamt).is(0x00),
-            new MnemonicPattern<>
-                    (Str::iname, Str::rs, Str::rt)),
+    DIVU(0x00, 0x1b, new Condition()
+            .checkThat(RD).and(SHAMT).is(0x00),
+            new MnemonicPattern(RS, RT)),
 
     /**
      * Multiply. Multiply registers rs and rt. Leave the low-order word
      * of the product in the register lo and the high-order word in
      * register hi. Is only valid if rd and shamt is 0
      */
-    MULT(0x00, 0x18, new Condition<RTypeInstruction, Integer>()
-            .checkThat("rd", Int::rd).and("shamt", Int::shamt).is(0x00),
-            new MnemonicPattern<>
-                    (Str::iname, Str::rs, Str::rt)),
+    MULT(0x00, 0x18, new Condition()
+            .checkThat(RD).and(SHAMT).is(0x00),
+            new MnemonicPattern(RS, RT)),
 
 
     /**
@@ -108,20 +99,18 @@ public enum RTypeInstruction implements InstructionType {
      * of the product in the register lo and the high-order word in
      * register hi. Is only valid if rd and shamt is 0.
      */
-    MULTU(0x00, 0x19, new Condition<RTypeInstruction, Integer>()
-            .checkThat("rd", Int::rd).is(0x00).andThat("shamt", Int::shamt).is(0x00),
-            new MnemonicPattern<>
-                    (Str::iname, Str::rs, Str::rt)),
+    MULTU(0x00, 0x19, new Condition()
+            .checkThat(RD).is(0x00).andThat(SHAMT).is(0x00),
+            new MnemonicPattern(RS, RT)),
 
 
     /**
      * Multiply (without overflow). Put the low-order 32 bits of the product
      * of rs and rt into register rd. Is valid iff the shamt field is 0.
      */
-    MUL(0x1c, 2, new Condition<RTypeInstruction, Integer>()
-            .checkThat("shamt", Int::shamt).is(0x00),
-            new MnemonicPattern<>(
-                    Str::iname, Str::rd, Str::rs, Str::rt)),
+    MUL(0x1c, 2, new Condition()
+            .checkThat(SHAMT).is(0x00),
+            new MnemonicPattern(RD, RS, RT)),
 
     /**
      * Multiply add. Multiply registers rs and rt (5 and 5 bits, respectively)
@@ -129,10 +118,9 @@ public enum RTypeInstruction implements InstructionType {
      * concatenated registers lo and hi. Is only valid if rd and shamt
      * are both zero
      */
-    MADD(0x1c, 0, new Condition<RTypeInstruction, Integer>()
-            .checkThat("rd", Int::rd).and("shamt", Int::shamt).is(0x00),
-            new MnemonicPattern<>
-                    (Str::iname, Str::rs, Str::rt)),
+    MADD(0x1c, 0, new Condition()
+            .checkThat(RD).and(SHAMT).is(0x00),
+            new MnemonicPattern(RS, RT)),
 
     /**
      * Unsigned multiply add. Multiply registers rs and rt (5 and 5
@@ -141,10 +129,9 @@ public enum RTypeInstruction implements InstructionType {
      * concatenated registers lo and hi. Is only valid if rd and shamt
      * are both zero
      */
-    MADDU(0x1c, 1, new Condition<RTypeInstruction, Integer>()
-            .checkThat("rd", Int::rd).is(0x00).andThat("shamt", Int::shamt).is(0x00),
-            new MnemonicPattern<>
-                    (Str::iname, Str::rs, Str::rt)),
+    MADDU(0x1c, 1, new Condition()
+            .checkThat(RD).is(0x00).andThat(SHAMT).is(0x00),
+            new MnemonicPattern(RS, RT)),
 
     /**
      * Multiply subtract. Multiply registers rs and rt and subtract the
@@ -152,10 +139,9 @@ public enum RTypeInstruction implements InstructionType {
      * concatenated registers lo and hi. Is only valid if both rd
      * and shamt are 0. Is only valid if rd and shamt are both 0.
      */
-    MSUB(0x1c, 4, new Condition<RTypeInstruction, Integer>()
-            .checkThat("rd", Int::rd).is(0x00).andThat("shamt", Int::shamt).is(0x00),
-            new MnemonicPattern<>
-                    (Str::iname, Str::rs, Str::rt)),
+    MSUB(0x1c, 4, new Condition()
+            .checkThat(RD).is(0x00).andThat(SHAMT).is(0x00),
+            new MnemonicPattern(RS, RT)),
 
     /**
      * Unsigned multiply subtract. Multiply registers rs and rt and subtract
@@ -163,146 +149,132 @@ public enum RTypeInstruction implements InstructionType {
      * concatenated registers lo and hi. Is only valid if both rd
      * and shamt are 0.
      */
-    MSUBU(0x1c, 5, new Condition<RTypeInstruction, Integer>()
-            .checkThat("rd", Int::rd).is(0x00).andThat("shamt", Int::shamt).is(0x00),
-            new MnemonicPattern<>
-                    (Str::iname, Str::rs, Str::rt)),
+    MSUBU(0x1c, 5, new Condition()
+            .checkThat(RD).is(0x00).andThat(SHAMT).is(0x00),
+            new MnemonicPattern(RS, RT)),
     
     /**
      * Put the logical NOR of registers rs and rt into register rd.
      * Is only valid if shamt is 0.
      */
-    NOR(0x00, 0x27, new Condition<RTypeInstruction, Integer>()
-            .checkThat("shamt", Int::shamt).is(0x00),
-            new MnemonicPattern<>(Str::iname, Str::rd, Str::rs, Str::rt)),
+    NOR(0x00, 0x27, new Condition()
+            .checkThat(SHAMT).is(0x00),
+            new MnemonicPattern(RD, RS, RT)),
 
     /**
      * Put the logical OR of registers rs and rt into register rd.
      * Is only valid if shamt is 0.
      */
-    OR(0x00, 0x25, new Condition<RTypeInstruction, Integer>()
-            .checkThat("shamt", Int::shamt).is(0x00),
-            new MnemonicPattern<>(Str::iname, Str::rd, Str::rs, Str::rt)),
+    OR(0x00, 0x25, new Condition()
+            .checkThat(SHAMT).is(0x00),
+            new MnemonicPattern(RD, RS, RT)),
 
     /**
      * Shift left logical. Shift register rt left by the distance indicated
      * by immediate shamt and put the result in register rd.
      */
-    SLL(0x00, 0x00, new MnemonicPattern<>(
-            Str::iname, Str::rd,  Str::rt,  Str::shamt)),
+    SLL(0x00, 0x00, new MnemonicPattern(RD, RT, SHAMT)),
 
     /**
      * Shift left logical variable. Shift register rt left by the distance indicated
      * by immediate shamt or register rs and put the result in register rd.
      * Is only valid if shamt is 0.
      */
-    SLLV(0x00, 4, new Condition<RTypeInstruction, Integer>()
-            .checkThat("shamt", Int::shamt).is(0x00),
-            new MnemonicPattern<>(
-                    Str::iname, Str::rd, Str::rt, Str::rs)),
+    SLLV(0x00, 4, new Condition()
+            .checkThat(SHAMT).is(0x00),
+            new MnemonicPattern(RD, RT, RS)),
 
     /**
      * Shift right arithmetic. Shift register rt left by the distance indicated
      * by immediate shamt and put the result in register rd.
      */
     SRA(0x00, 0x03,
-            new MnemonicPattern<>(
-                    Str::iname, Str::rd, Str::rt, Str::shamt)),
+            new MnemonicPattern(RD, RT, SHAMT)),
 
     /**
      * Shift right arithmetic variable. Shift register rt left by the distance indicated
      * by immediate shamt or register rs and put the result in register rd.
      * Is only valid if shamt is 0.
      */
-    SRAV(0x00, 7, new Condition<RTypeInstruction, Integer>()
-            .checkThat("shamt", Int::shamt).is(0x00),
-            new MnemonicPattern<>(
-                    Str::iname, Str::rd,  Str::rt,  Str::rs)),
+    SRAV(0x00, 7, new Condition()
+            .checkThat(SHAMT).is(0x00),
+            new MnemonicPattern(RD, RT, RS)),
 
     /**
      * Shift right logical. Shift register rt left by the distance indicated
      * by immediate shamt and put the result in register rd.
      */
-    SRL(0x00, 0x02, new MnemonicPattern<>(
-            Str::iname, Str::rd,  Str::rt,  Str::shamt)),
+    SRL(0x00, 0x02, new MnemonicPattern(RD, RT, SHAMT)),
 
     /**
      * Shift right logical variable. Shift register rt left by the distance indicated
      * by immediate shamt or register rs and put the result in register rd.
      * Is only valid if shamt is 0.
      */
-    SRLV(0x00, 0x06, new Condition<RTypeInstruction, Integer>()
-            .checkThat("shamt", Int::shamt).is(0x00),
-            new MnemonicPattern<>(Str::iname, Str::rd,  Str::rt,  Str::rs)),
+    SRLV(0x00, 0x06, new Condition()
+            .checkThat(SHAMT).is(0x00),
+            new MnemonicPattern(RD, RT, RS)),
 
     /**
      * Subtract (with overflow). Put the difference of registers rs and rt
      * into register rd.
      */
-    SUB(0x00, 0x22, new Condition<RTypeInstruction, Integer>()
-            .checkThat("shamt", Int::shamt).is(0x00),
-            new MnemonicPattern<>(
-                    Str::iname, Str::rd,  Str::rs,  Str::rt)),
+    SUB(0x00, 0x22, new Condition()
+            .checkThat(SHAMT).is(0x00),
+            new MnemonicPattern(RD, RS, RT)),
 
     /**
      * Subtract (without overflow). Put the difference of registers rs and rt
      * into register rd.
      */
-    SUBU(0x00, 0x23, new Condition<RTypeInstruction, Integer>()
-            .checkThat("shamt", Int::shamt).is(0x00),
-            new MnemonicPattern<>(
-                    Str::iname, Str::rd,  Str::rs,  Str::rt)),
+    SUBU(0x00, 0x23, new Condition()
+            .checkThat(SHAMT).is(0x00),
+            new MnemonicPattern(RD, RS, RT)),
 
     /** Put the logical XOR of registers rs and rt into register rd. */
-    XOR(0x00, 0x26, new Condition<RTypeInstruction, Integer>()
-            .checkThat("shamt", Int::shamt).is(0x00),
-            new MnemonicPattern<>(
-                    Str::iname, Str::rd,  Str::rs,  Str::rt)),
+    XOR(0x00, 0x26, new Condition()
+            .checkThat(SHAMT).is(0x00),
+            new MnemonicPattern(RD, RS, RT)),
 
     /**
      * Trap if equal. If register rs is equal to register rt, raise a
      * Trap exception.
      */
-    TEQ(0x00, 0x52, new Condition<RTypeInstruction, Integer>()
-            .checkThat("shamt", Int::shamt).is(0x00).andThat("rd", Int::rd).is(0x00),
-            new MnemonicPattern<>(
-                    Str::iname, Str::rs,  Str::rt)),
+    TEQ(0x00, 0x34, new Condition()
+            .checkThat(SHAMT).is(0x00).andThat(RD).is(0x00),
+            new MnemonicPattern(RS, RT)),
 
     /**
      * Trap if greater equal. If register rs is greater than or equal to
      * register rt, raise a Trap exception.
      */
-    TGE(0x00, 0x48, new Condition<RTypeInstruction, Integer>()
-            .checkThat("shamt", Int::shamt).is(0x00).andThat("rd", Int::rd).is(0x00),
-            new MnemonicPattern<>(
-                    Str::iname, Str::rs,  Str::rt)),
+    TGE(0x00, 0x30, new Condition()
+            .checkThat(SHAMT).is(0x00).andThat(RD).is(0x00),
+            new MnemonicPattern(RS, RT)),
 
     /**
      * Unsigned trap if greater equal. If register rs is greater than or equal
      * to register rt, raise a Trap exception.
      */
-    TGEU(0x00, 0x49, new Condition<RTypeInstruction, Integer>()
-            .checkThat("shamt", Int::shamt).is(0x00).andThat("rd", Int::rd).is(0x00),
-            new MnemonicPattern<>(
-                    Str::iname, Str::rs,  Str::rt)),
+    TGEU(0x00, 0x31, new Condition()
+            .checkThat(SHAMT).is(0x00).andThat(RD).is(0x00),
+            new MnemonicPattern(RS, RT)),
 
     /**
      * Trap if less than. If register rs is less than register rt, raise a
      * Trap exception.
      */
-    TLT(0x00, 0x50, new Condition<RTypeInstruction, Integer>()
-            .checkThat("shamt", Int::shamt).is(0x00).andThat("rd", Int::rd).is(0x00),
-            new MnemonicPattern<>(
-                    Str::iname, Str::rs,  Str::rt)),
+    TLT(0x00, 0x32, new Condition()
+            .checkThat(SHAMT).is(0x00).andThat(RD).is(0x00),
+            new MnemonicPattern(RS, RT)),
 
     /**
      * Trap if less than unsigned. If register rs is less than register rt,
      * raise a Trap exception.
      */
-    TLTU(0x00, 0x51, new Condition<RTypeInstruction, Integer>()
-            .checkThat("shamt", Int::shamt).is(0x00).andThat("rd", Int::rd).is(0x00),
-            new MnemonicPattern<>(
-                    Str::iname, Str::rs,  Str::rt)),
+    TLTU(0x00, 0x33, new Condition()
+            .checkThat(SHAMT).is(0x00).andThat(RD).is(0x00),
+            new MnemonicPattern(RS, RT)),
 
     /**
      * Move from hi
@@ -310,12 +282,11 @@ public enum RTypeInstruction implements InstructionType {
      * registers, hi and lo. This instruction moves the hi register
      * to rd.
      */
-    MFHI(0x00, 0x10, new Condition<RTypeInstruction, Integer>()
-            .checkThat("rs", Int::rs).is(0x00).
-                    andThat("rt", Int::rt).is(0x00).
-                    andThat("shamt", Int::shamt).is(0x00),
-            new MnemonicPattern<>(
-                    Str::iname, Str::rd)),
+    MFHI(0x00, 0x10, new Condition()
+            .checkThat(RS).is(0x00).
+                    andThat(RT).is(0x00).
+                    andThat(SHAMT).is(0x00),
+            new MnemonicPattern(RD)),
 
     /**
      * Move from lo
@@ -323,60 +294,57 @@ public enum RTypeInstruction implements InstructionType {
      * registers, hi and lo. This instruction moves values from the lo
      * register to rd.
      */
-    MFLO(0x00, 0x10, new Condition<RTypeInstruction, Integer>()
-            .checkThat("rs", Int::rs).is(0x00).
-                    andThat("rt", Int::rt).is(0x00).
-                    andThat("shamt", Int::shamt).is(0x00),
-            new MnemonicPattern<>(
-                    Str::iname, Str::rd)),
+    MFLO(0x00, 0x12, new Condition()
+            .checkThat(RS).is(0x00).
+                    andThat(RT).is(0x00).
+                    andThat(SHAMT).is(0x00),
+            new MnemonicPattern(RD)),
 
     /**
      * Move to hi, move register rs to the hi register.
      */
-    MTHI(0x00, 0x11, new Condition<RTypeInstruction, Integer>()
-            .checkThat("rt", Int::rt).is(0x00).
-                    andThat("rd", Int::rd).is(0x00).
-                    andThat("shamt", Int::shamt).is(0x00),
-            new MnemonicPattern<>(
-                    Str::iname, Str::rs)),
+    MTHI(0x00, 0x11, new Condition()
+            .checkThat(RT).is(0x00).
+                    andThat(RD).is(0x00).
+                    andThat(SHAMT).is(0x00),
+            new MnemonicPattern(RS)),
 
 
     /**
      * Move to lo, move register rs to the lo register.
      */
-    MTLO(0x00, 0x13, new Condition<RTypeInstruction, Integer>()
-            .checkThat("rt", Int::rt).is(0x00).
-                    andThat("rd", Int::rd).is(0x00).
-                    andThat("shamt", Int::shamt).is(0x00),
-            new MnemonicPattern<>(
-                    Str::iname, Str::rs)),
+    MTLO(0x00, 0x13, new Condition()
+            .checkThat(RT).is(0x00).
+                    andThat(RD).is(0x00).
+                    andThat(SHAMT).is(0x00),
+            new MnemonicPattern(RS)),
 
     /**
      * Move from coprocessor 0. Move register rd in a coprocessor (register
      * fs in the FPU) to CPU register rt. The floating-point unit is
      * coprocessor 1.
      */
-    MFC0(0x10, 0x00, new Condition<RTypeInstruction, Integer>()
-            .checkThat("rs", Int::rs).and("shamt", Int::shamt).is(0x00),
-            new MnemonicPattern<>(Str::iname, Str::rt,  Str::rd)),
+    MFC0(0x10, 0x00, new Condition()
+            .checkThat(RS).and(SHAMT).is(0x00),
+            new MnemonicPattern(RT, RD)),
 
     /**
      * Move from coprocessor 1. Move register rd in a coprocessor (register
      * fs in the FPU) to CPU register rt. The floating-point unit is
      * coprocessor 1. Note that fs occupies the rd field
      */
-    MFC1(0x11, 0x00, new Condition<RTypeInstruction, Integer>()
-            .checkThat("rs", Int::rs).and("shamt", Int::shamt).is(0x00),
-            new MnemonicPattern<>(Str::iname, Str::rt,  Str::fs)),
+    MFC1(0x11, 0x00, new Condition()
+            .checkThat(RS).and(SHAMT).is(0x00),
+            new MnemonicPattern(RT, RD)),
 
     /**
      * Move to coprocessor 0, move CPU register rt to register
      * rd in a coprocessor
      */
-    MTC0(0x10, 0x00, new Condition<RTypeInstruction, Integer>()
-            .checkThat("rs", Int::rs).is(0x04).
-                    andThat("shamt", Int::shamt).is(0x00),
-            new MnemonicPattern<>(Str::iname, Str::rd,  Str::rt)),
+    MTC0(0x10, 0x00, new Condition()
+            .checkThat(RS).is(0x04).
+                    andThat(SHAMT).is(0x00),
+            new MnemonicPattern(RD, RT)),
 
     /**
      * Move to coprocessor 0, move CPU register rt to register
@@ -384,180 +352,207 @@ public enum RTypeInstruction implements InstructionType {
      * the MTC and MTF operations share the same opcode and funct
      * field. The rs field distinguishes them.
      */
-    MTC1(0x11, 0x00, new Condition<RTypeInstruction, Integer>()
-            .checkThat("rs", Int::rs).is(0x04).
-                    andThat("shamt", Int::shamt).is(0x00),
-            new MnemonicPattern<>(Str::iname, Str::rt,  Str::fs)),
+    MTC1(0x11, 0x00, new Condition()
+            .checkThat(RS).is(0x04).
+                    andThat(SHAMT).is(0x00),
+            new MnemonicPattern(RT, RD)),
 
     /**
      * Move conditional not zero. Move register rs to register rd if
      * register rt is not zero.
      */
-    MOVN(0x00, 0x11, new MnemonicPattern<>(Str::iname, Str::rd,  Str::rs,  Str::rt)),
+    MOVN(0x00, 0x0b, new MnemonicPattern(RD, RS, RT)),
 
     /**
      * Move conditional zero. Move register rs to register rd if
      * register rt is zero.
      */
-    MOVZ(0x00, 0x10, new MnemonicPattern<>(Str::iname, Str::rd,  Str::rs,  Str::rt)),
+    MOVZ(0x00, 0x0a, new MnemonicPattern(RD, RS, RT)),
 
     /**
      * Set less than. Set register rd to 1 if register rs is less than rt,
      * otherwise set register rd to 0.
      */
-    SLT(0x00, 0x42, new MnemonicPattern<>(Str::iname, Str::rd,  Str::rs,  Str::rt)),
+    SLT(0x00, 0x2a, new MnemonicPattern(RD, RS, RT)),
 
     /**
      * Set less than unsigned. Set register rd to 1 if register rs is
      * less than rt, otherwise set register rd to 0.
      */
-    SLTU(0x00, 0x43, new MnemonicPattern<>(Str::iname, Str::rd,  Str::rs,  Str::rt)),
+    SLTU(0x00, 0x2b, new MnemonicPattern(RD, RS, RT)),
 
     /**
      * Unconditionally jump to the instruction whose address is in register
      * rs. Save the address of the next instruction in register rd.
      */
-    JALR(0x00, 0x09, new Condition<RTypeInstruction, Integer>()
-            .checkThat("rs", Int::rs).and("shamt", Int::shamt).is(0x00),
-            new MnemonicPattern<>(Str::iname, Str::rs,  Str::rd)),
+    JALR(0x00, 0x09, new Condition()
+            .checkThat(RS).and(SHAMT).is(0x00),
+            new MnemonicPattern(RS, RD)),
 
     /**
      * Unconditionally jump to the instruction whose address is in
      * register rs.
      */
-    JR(0x00, 0x08, new Condition<RTypeInstruction, Integer>()
-            .checkThat("rt", Int::rt).is(0x00).
-                    andThat("rd", Int::rd).is(0x00).
-                    andThat("shamt", Int::shamt).is(0x00),
-            new MnemonicPattern<>(Str::iname, Str::rs)),
+    JR(0x00, 0x08, new Condition()
+            .checkThat(RT).is(0x00).
+                    andThat(RD).is(0x00).
+                    andThat(SHAMT).is(0x00),
+            new MnemonicPattern(RS)),
 
     /** Do nothing */
-    NOP(0x00, 0x00, new Condition<RTypeInstruction, Integer>()
-            .checkThat("rt", Int::rt).and("rs", Int::rs).
-                    and("rd", Int::rd).and("shamt", Int::shamt).is(0x00)
+    NOP(0x00, 0x00, new Condition()
+            .checkThat(RT).and(RS).
+                    and(RD).and(SHAMT).is(0x00)
             ,
-            new MnemonicPattern<>(Str::iname))
+            new MnemonicPattern())
     ;
 
 
     /**
-     * An R-type instruction is uniquely identified by its opcode and
-     * its funct field, viz. that the pair uniquely identifies a particular
-     * kind of instruction. This map is populated during the instantiation
-     * of each enum value so that we can later look-up the correct
-     * instruction instance given a particular number.
+     * An R-type instruction is identified by its opcode and its funct
+     * field. The table has one slot for every (opcode, funct) pair,
+     * indexed by {@code opcode << 6 | funct}, holding the instructions
+     * that the pair identifies or {@code null} if there are none.
+     *
+     * A few pairs are shared by more than one instruction, e.g. sll and
+     * nop, in which case the conditions of the instructions tell them
+     * apart. The instructions in such a slot are stored in the reverse
+     * order of their declaration and the first one whose conditions are
+     * satisfied is picked. If none is satisfied the instruction declared
+     * last is picked, and reported as partially legal.
      */
-    private static final Map<OpcodeFunctPair, RTypeInstruction> map
-            = new HashMap<>();
+    private static final RTypeInstruction[][] table =
+            new RTypeInstruction[64 * 64][];
+
     /**
      * Maintain a set of all R-type instruction opcodes so that
      * {@link Format} may map opcodes with the R-format.
      */
     private static final Set<Opcode> opcodeSet = new HashSet<>();
     static {
-        /*
-         * Each RTypeInstruction sets its own OpcodeFunctPair during
-         * its instantiation in the field pair. The .values() method
-         * allows us to iterate across all the enum values of this
-         * enum class. Hence we can put all OpCodeFunct pairs into
-         * our map, and associate them with the instruction that
-         * the pair identifies.
-         */
-        Arrays.stream(RTypeInstruction.values()).forEach(e -> {
-            map.put(e.pair, e);
-        });
-
-        /*
-         * With the map populated we can now iterate across all the
-         * OpcodeFunct pairs and yank out the opcodes, constructing a
-         * set of all the Opcodes where each opcode is correlated with
-         * an R-type instruction.
-         */
-        RTypeInstruction.map.keySet().forEach(e -> {
-            opcodeSet.add(e.getOpcode());
-        });
+        for (RTypeInstruction e : RTypeInstruction.values()) {
+            if (e.opcode >>> 6 != 0 || e.funct >>> 6 != 0) {
+                throw new IllegalStateException("The opcode: " + e.opcode
+                        + " and the funct: " + e.funct + " of " + e +
+                        " must both fit in 6 bits");
+            }
+            int key = e.opcode << 6 | e.funct;
+            RTypeInstruction[] slot = table[key];
+            if (slot == null) {
+                table[key] = new RTypeInstruction[] {e};
+            } else {
+                /*
+                 * Two instructions whose conditions check the same bits
+                 * for the same values can never be told apart, so one of
+                 * them has the wrong encoding. This includes two
+                 * instructions without any conditions.
+                 */
+                for (RTypeInstruction other : slot) {
+                    if (other.mask == e.mask && other.match == e.match) {
+                        throw new IllegalStateException(
+                                "Both " + other + " and " + e + " are " +
+                                        "identified by the opcode: " +
+                                        e.opcode + " and the funct: " +
+                                        e.funct);
+                    }
+                }
+                RTypeInstruction[] extended =
+                        new RTypeInstruction[slot.length + 1];
+                extended[0] = e;
+                System.arraycopy(slot, 0, extended, 1, slot.length);
+                table[key] = extended;
+            }
+            opcodeSet.add(Opcode.fromNumericalRepresentation(e.opcode));
+        }
     }
 
-    /**
-     * The OpcodeFunctPair uniquely identifies this instruction.
-     */
-    private final OpcodeFunctPair pair;
-
-    /** Set this upon use in fromNumericalRepresentation */
-    private DecomposedRepresentation decomposedRepresentation;
-
-    public int instruction;
-    public int opcode;
-    public int rs;
-    public int rt;
-    public int rd;
-    public int shamt;
-    public int funct;
+    public final int opcode;
+    public final int funct;
 
     /**
-     * All R-format instructions are decomposed into fields of the
-     * same length.
-     */
-    private final static int[] decomposedPattern = {6, 5, 5, 5, 5, 6};
-
-    /**
-     * Describes a condition object that takes as arguments
-     * RTypeInstruction instances that return an integer these return
-     * values are then compared for equality against the specified
-     * values given during construction.
+     * Describes which values the fields of an instruction must have
+     * for it to be a legal instance of this kind of instruction.
      *
      * For an example, let
      *
      * <code>
-     * Condition c = new Condition<RTypeInstruction, Integer>()
-     * .checkThat("rd", Int::rd).is(0x00).andThat("shamt", Int::shamt).is(0x00)
+     * Condition c = new Condition()
+     * .checkThat(RD).is(0x00).andThat(SHAMT).is(0x00)
      * </code>
      *
-     * Then, when we call {@code c.evaluate(this)} in a non-static
-     * method we will call each specified method (here
-     * {@code Int:rd} and {@code "shamt", Int::shamt}) with the {@code this}
-     * reference and check that the return value of {@code "rd", Int::rd} is
-     * 0x00, and similarily that {@code "shamt", Int::shamt} returns 0x00.
+     * Then, when we call {@code c.evaluate(instruction)} we yank the rd
+     * and shamt fields out of the instruction and check that both are
+     * 0x00.
      */
-    private Condition<RTypeInstruction, Integer> validationConditions;
-    private MnemonicPattern<RTypeInstruction> pattern;
-    private MnemonicRepresentation mnemonicRepresentation;
+    private final Condition validationConditions;
+    private final MnemonicPattern pattern;
+
+    /** The compiled form of the conditions, see {@link Condition} */
+    private final int mask;
+    private final int match;
 
     RTypeInstruction(int opcode, int funct,
-                     Condition<RTypeInstruction, Integer>
-                             validationConditions,
-                     MnemonicPattern<RTypeInstruction> pattern) {
-        this.pattern = pattern;
+                     Condition validationConditions,
+                     MnemonicPattern pattern) {
+        this.pattern = pattern.named(name().toLowerCase());
         this.opcode = opcode;
         this.funct = funct;
-        pair = new OpcodeFunctPair(opcode, funct);
         this.validationConditions = validationConditions;
+        this.mask = validationConditions == null ? 0 :
+                validationConditions.getMask();
+        this.match = validationConditions == null ? 0 :
+                validationConditions.getMatch();
     }
 
     /** Not all instructions need satisfy a particular condition */
     RTypeInstruction(int opcode, int funct,
-                     MnemonicPattern<RTypeInstruction> pattern) {
-        this.pattern = pattern;
-        pair = new OpcodeFunctPair(opcode, funct);
+                     MnemonicPattern pattern) {
+        this(opcode, funct, null, pattern);
     }
 
-    public boolean validate() {
-        if (validationConditions != null) {
-            if (!validationConditions.evaluate(this)) {
-                StringJoiner sj = new StringJoiner(" ");
-
-                validationConditions.getErrors().forEach(sj::add);
-                throw new PartiallyLegalInstructionException(
-                        instruction,
-                        getFormat(instruction),
-                        DecomposedRepresentation.fromNumber(instruction,
-                                decomposedPattern),
-                        pattern.compose(this),
-                        sj.toString()
-                );
-            }
+    /**
+     * The instruction is not required to have been identified as this
+     * kind of instruction, only the fields that the conditions of this
+     * instruction concern are examined.
+     */
+    @Override
+    public int violations(int instruction) {
+        if ((instruction & mask) == match) {
+            return 0;
         }
-        return true;
+        return validationConditions.violations(instruction);
+    }
+
+    @Override
+    public String describeViolations(int instruction) {
+        if (validationConditions == null) {
+            return "";
+        }
+        return String.join(" ", validationConditions.getErrors(instruction));
+    }
+
+    @Override
+    public MnemonicPattern getMnemonicPattern() {
+        return pattern;
+    }
+
+    @Override
+    public Format getFormat() {
+        return Format.R;
+    }
+
+    /**
+     * Composes the numerical representation of this kind of instruction
+     * out of the given fields. The opcode and funct fields are those of
+     * this instruction.
+     */
+    public int toNumericalRepresentation(int rs, int rt, int rd, int shamt) {
+        return OPCODE.compose(opcode)
+                | RS.compose(rs)
+                | RT.compose(rt)
+                | RD.compose(rd)
+                | SHAMT.compose(shamt)
+                | FUNCT.compose(funct);
     }
 
     public static Set<Opcode> getOpcodeSet() {
@@ -575,28 +570,23 @@ public enum RTypeInstruction implements InstructionType {
             throw new IllegalArgumentException(err);
         }
 
-        /** Get the correct R-type instruction */
-        RTypeInstruction rTypeInstruction = identifyInstruction
-                (instruction);
-
-        rTypeInstruction.validate();
-        return new Instruction(
-                instruction,
-                Format.R,
-                rTypeInstruction.decomposedRepresentation,
-                rTypeInstruction.mnemonicRepresentation);
+        return decode(instruction).requireLegal();
     }
 
-    private static RTypeInstruction identifyInstruction(int instruction) {
-        DecomposedRepresentation d = DecomposedRepresentation.
-                fromNumber(instruction, decomposedPattern);
-        int[] decomposition = d.toIntArray();
-        int funct = decomposition[5];
-        OpcodeFunctPair key = new OpcodeFunctPair(d.opcode(), funct);
-
-        RTypeInstruction r = map.get(key);
-
-        if (Objects.isNull(r)) {
+    /**
+     * Decodes an instruction that is already known to be in the
+     * R-format, e.g. one that has been dispatched on its opcode by
+     * {@link Instruction#decode(int)}. The opcode is not checked
+     * again and no exceptions are thrown, illegal and partially legal
+     * instructions are reported through the result.
+     *
+     * @param instruction the numerical representation of an R-format
+     *                    instruction.
+     * @return the result of decoding the instruction.
+     */
+    public static DecodeResult decode(int instruction) {
+        RTypeInstruction r = lookup(instruction);
+        if (r == null) {
             /*
              * The opcode field was legal, otherwise we would not be here.
              * But, since we were unable to find an instruction matching
@@ -604,78 +594,39 @@ public enum RTypeInstruction implements InstructionType {
              * supplied instruction then the funct field must have been
              * erroneous.
              */
-            String err = "The supplied instruction: " + instruction
-                    + " has an opcode associated with the R-format: " +
-                    d.opcode() +
-                    " but the pairing of the opcode and the funct field" +
-                    " does not match any known instruction. funct: " +
-                    funct;
-            throw new PartiallyLegalInstructionException(err);
-        }
-
-        r.instruction = instruction;
-        r.decomposedRepresentation = d;
-        r.opcode = decomposition[0];
-        r.rs = decomposition[1];
-        r.rt = decomposition[2];
-        r.rd = decomposition[3];
-        r.shamt = decomposition[4];
-        r.funct = decomposition[5];
-        r.mnemonicRepresentation = r.pattern.compose(r);
-
-        return r;
-    }
-    
-    private static class Str {
-        static String iname(RTypeInstruction instruction) {
-            return instruction.name().toLowerCase();
-        }
-
-        static String rd(RTypeInstruction instruction) {
-            return Register.toString(instruction.rd);
-        }
-
-        static String rs(RTypeInstruction instruction) {
-            return Register.toString(instruction.rs);
-        }
-
-        static String rt(RTypeInstruction instruction) {
-            return Register.toString(instruction.rt);
-        }
-
-        static String shamt(RTypeInstruction instruction) {
-            return Register.toString(instruction.shamt);
-        }
-
-        static String fs(RTypeInstruction instruction) {
-            return Register.toString(instruction.rd);
+            return DecodeResult.illegal(instruction, Format.R);
         }
+        return DecodeResult.of(instruction, r);
     }
 
-    private static class Int {
-        static Integer rd(RTypeInstruction r) {
-            return r.rd;
-        }
-
-        static Integer rs(RTypeInstruction r) {
-            return r.rs;
-        }
-
-        static Integer rt(RTypeInstruction r) {
-            return r.rt;
+    /**
+     * Looks up the kind of R-type instruction that the given instruction
+     * is identified as, using its opcode and funct field.
+     *
+     * @param instruction the numerical representation of the instruction.
+     * @return the identified instruction or {@code null} if the pairing
+     * of the opcode and the funct field does not match any known
+     * instruction.
+     */
+    public static RTypeInstruction lookup(int instruction) {
+        RTypeInstruction[] slot =
+                table[(instruction >>> 20) & 0xfc0 | instruction & 0x3f];
+        if (slot == null) {
+            return null;
         }
 
-        static Integer shamt(RTypeInstruction r) {
-            return r.shamt;
+        if (slot.length > 1) {
+            for (RTypeInstruction r : slot) {
+                if ((instruction & r.mask) == r.match) {
+                    return r;
+                }
+            }
         }
+        return slot[0];
     }
 
-
     public static Format getFormat(int instruction) {
-        int op = Opcode.toNumericalRepresentation(instruction);
-        Opcode opcode = Opcode.fromNumericalRepresentation(op);
-
-        return Format.fromOpcode(opcode);
+        return Format.fromOpcode(Opcode.toNumericalRepresentation(instruction));
     }
 
     /** Returns true if the instruction has the R-format */
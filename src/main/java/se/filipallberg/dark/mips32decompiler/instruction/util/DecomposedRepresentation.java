@@ -6,6 +6,15 @@ import java.util.Arrays;
 import java.util.StringJoiner;
 
 public class DecomposedRepresentation {
+    /** The decomposition (6, 5, 5, 5, 5, 6) shared by all R-format instructions */
+    public static final Layout R = new Layout(6, 5, 5, 5, 5, 6);
+
+    /** The decomposition (6, 5, 5, 16) shared by all I-format instructions */
+    public static final Layout I = new Layout(6, 5, 5, 16);
+
+    /** The decomposition (6, 26) shared by all J-format instructions */
+    public static final Layout J = new Layout(6, 26);
+
     private final int[] decomposition;
 
     private DecomposedRepresentation(int[] decomposition) {
@@ -29,18 +38,32 @@ public class DecomposedRepresentation {
      * @throws InvalidParameterException if the sum of {@code lengths} is not 32.
      */
     public static DecomposedRepresentation fromNumber(int number, int... lengths) {
-        if (Arrays.stream(lengths).sum() != 32) {
-            String err = "Expected the sum of \"lengths\" to be 32. Got: ";
-            err += Arrays.stream(lengths).sum();
-            throw new IllegalArgumentException(err);
+        if (Arrays.equals(lengths, R.lengths)) {
+            return fromNumber(number, R);
+        } else if (Arrays.equals(lengths, I.lengths)) {
+            return fromNumber(number, I);
+        } else if (Arrays.equals(lengths, J.lengths)) {
+            return fromNumber(number, J);
         }
-        assert(Arrays.stream(lengths).sum() == 32);
+        return fromNumber(number, new Layout(lengths));
+    }
 
-        int[] decomposition = new int[lengths.length];
-        int start = 0;
-        for (int i = 0; i < lengths.length; i++) {
-            decomposition[i] = Bit.getNBits(number, start, lengths[i]);
-            start += lengths[i];
+    /**
+     * Decomposes the given number into the chunks described by the
+     * supplied layout. Unlike {@link #fromNumber(int, int...)} the
+     * lengths are not validated again, that was done once when the
+     * layout was created.
+     *
+     * @param number the numerical representation of the number to decompose.
+     * @param layout the precomputed shifts and masks of each chunk.
+     * @return the decomposed representation of {@code number}.
+     */
+    public static DecomposedRepresentation fromNumber(int number, Layout layout) {
+        int[] shifts = layout.shifts;
+        int[] masks = layout.masks;
+        int[] decomposition = new int[shifts.length];
+        for (int i = 0; i < shifts.length; i++) {
+            decomposition[i] = Bit.extract(number, shifts[i], masks[i]);
         }
 
         return new DecomposedRepresentation(decomposition);
@@ -108,4 +131,59 @@ public class DecomposedRepresentation {
     }
 
     public int opcode() { return decomposition[0]; }
-}
\ No newline at end of file
+
+    /**
+     * Describes how a 32-bit number is split into chunks. The shift and
+     * mask of every chunk is computed once, when the layout is created,
+     * so that decomposing a number only requires a shift and an AND per
+     * chunk.
+     */
+    public static final class Layout {
+        private final int[] lengths;
+        private final int[] shifts;
+        private final int[] masks;
+
+        /**
+         * @param lengths the length of each chunk, from the leftmost bit
+         *                and onwards.
+         * @throws IllegalArgumentException if the sum of {@code lengths}
+         * is not 32.
+         */
+        public Layout(int... lengths) {
+            if (Arrays.stream(lengths).sum() != 32) {
+                String err = "Expected the sum of \"lengths\" to be 32. Got: ";
+                err += Arrays.stream(lengths).sum();
+                throw new IllegalArgumentException(err);
+            }
+
+            this.lengths = lengths.clone();
+            shifts = new int[lengths.length];
+            masks = new int[lengths.length];
+            int start = 0;
+            for (int i = 0; i < lengths.length; i++) {
+                if (lengths[i] < 1) {
+                    throw new IllegalArgumentException(
+                            "Expected every length to be positive. Got: "
+                                    + lengths[i]);
+                }
+                shifts[i] = Bit.shift(start, lengths[i]);
+                masks[i] = Bit.mask(lengths[i]);
+                start += lengths[i];
+            }
+        }
+
+        /** Returns the number of chunks */
+        public int size() {
+            return shifts.length;
+        }
+
+        /**
+         * Returns the chunk at the given index of the given number, the
+         * same as {@code fromNumber(number, this).toIntArray()[index]}
+         * but without decomposing the rest of the number.
+         */
+        public int chunk(int number, int index) {
+            return Bit.extract(number, shifts[index], masks[index]);
+        }
+    }
+}
@@ -4,36 +4,98 @@ import se.filipallberg.dark.mips32decompiler.instruction.type.ITypeInstruction.I
 import se.filipallberg.dark.mips32decompiler.instruction.type.JTypeInstruction.JTypeInstruction;
 import se.filipallberg.dark.mips32decompiler.instruction.type.RTypeInstruction.RTypeInstruction;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static se.filipallberg.dark.mips32decompiler.instruction.util.InstructionField.*;
 
 public enum Format {
-    R,
-    I,
-    J;
-    private static final Map<Opcode, Format> formatMap = new HashMap<>();
+    R(OPCODE, RS, RT, RD, SHAMT, FUNCT),
+    I(OPCODE, RS, RT, IMM),
+    J(OPCODE, TARGET);
+
+    private final List<InstructionField> fields;
+
+    Format(InstructionField... fields) {
+        this.fields = Collections.unmodifiableList(Arrays.asList(fields));
+    }
+
+    /**
+     * Returns the decomposition shared by all instructions of this
+     * format.
+     */
+    public DecomposedRepresentation.Layout getLayout() {
+        switch (this) {
+            case R:
+                return DecomposedRepresentation.R;
+            case I:
+                return DecomposedRepresentation.I;
+            default:
+                return DecomposedRepresentation.J;
+        }
+    }
+
+    /**
+     * Returns the fields that instructions of this format are decomposed
+     * into, in the order of the decomposition, e.g. opcode, rs, rt and
+     * imm for the I-format.
+     */
+    public List<InstructionField> getFields() {
+        return fields;
+    }
+
+    /**
+     * Opcodes are 6 bits wide, so there are exactly 64 of them. The
+     * array is indexed by the numerical representation of the opcode
+     * and holds {@code null} for opcodes that are not associated with
+     * any known format.
+     */
+    private static final Format[] formats = new Format[64];
 
     public static Format fromOpcode(Opcode op) {
-        if (formatMap.containsKey(op)) {
-            return formatMap.get(op);
+        return fromOpcode(op.toNumericalRepresentation());
+    }
+
+    /**
+     * Returns the format associated with the given numerical
+     * representation of an opcode.
+     *
+     * @param opcode the numerical representation of the opcode.
+     * @return the format associated with the opcode.
+     * @throws IllegalStateException if the opcode is not associated
+     * with any known format.
+     */
+    public static Format fromOpcode(int opcode) {
+        Format format = lookup(opcode);
+        if (format != null) {
+            return format;
         }
-        String err = "The opcode: " + op.toNumericalRepresentation()
+        String err = "The opcode: " + opcode
                 + " is not associated with any known format.";
 
         throw new IllegalStateException(err);
     }
 
+    /**
+     * Returns the format associated with the given numerical
+     * representation of an opcode, or {@code null} if there is none.
+     */
+    public static Format lookup(int opcode) {
+        return formats[opcode & 0x3f];
+    }
+
     static {
         RTypeInstruction.getOpcodeSet().forEach(op -> {
-            formatMap.put(op, Format.R);
+            formats[op.toNumericalRepresentation()] = Format.R;
         });
 
         ITypeInstruction.getOpcodeSet().forEach(op -> {
-            formatMap.put(op, Format.I);
+            formats[op.toNumericalRepresentation()] = Format.I;
         });
 
         JTypeInstruction.getOpcodeSet().forEach(op -> {
-            formatMap.put(op, Format.J);
+            formats[op.toNumericalRepresentation()] = Format.J;
         });
     }
 }
@@ -0,0 +1,66 @@
+package se.filipallberg.dark.mips32decompiler.instruction.util;
+
+/**
+ * The named bitfields that MIPS32 instructions are decomposed into. Each
+ * field knows where in the 32-bit numerical representation of an
+ * instruction it is located, so its value may be yanked out of any
+ * instruction with a shift and a mask.
+ *
+ * | 6 bits  | 5 bits | 5 bits | 5 bits | 5 bits | 6 bits |
+ * |:-------:|:------:|:------:|:------:|:------:|:------:|
+ * | op      | rs     | rt     | rd     | shamt  | funct  |
+ * | op      | rs     | rt     | imm                      |
+ * | op      | target                                     |
+ */
+public enum InstructionField {
+    OPCODE(26, 6),
+    RS(21, 5),
+    RT(16, 5),
+    RD(11, 5),
+    SHAMT(6, 5),
+    FUNCT(0, 6),
+    IMM(0, 16),
+    TARGET(0, 26);
+
+    private final int shift;
+    private final int mask;
+    private final String name;
+
+    InstructionField(int shift, int length) {
+        this.shift = shift;
+        this.mask = -1 >>> (32 - length);
+        this.name = name().toLowerCase();
+    }
+
+    /** Yanks the value of this field out of the given instruction */
+    public int of(int instruction) {
+        return (instruction >>> shift) & mask;
+    }
+
+    /**
+     * Returns the bits that this field occupies in the numerical
+     * representation of an instruction.
+     */
+    public int mask() {
+        return mask << shift;
+    }
+
+    /** Places the given value in this field, i.e. the inverse of {@link #of} */
+    public int compose(int value) {
+        return (value & mask) << shift;
+    }
+
+    /**
+     * Returns a bitmask with a single bit set that identifies this field,
+     * used to describe sets of fields as a single int.
+     */
+    public int bit() {
+        return 1 << ordinal();
+    }
+
+    /** Returns the lowercase name of this field, e.g. "shamt" */
+    @Override
+    public String toString() {
+        return name;
+    }
+}
@@ -1,25 +1,22 @@
 package se.filipallberg.dark.mips32decompiler.instruction.util;
 
-import java.util.HashMap;
-import java.util.Map;
-
 /**
  * Represents a register source or destination.
  */
 public class Register {
-    /** Pairs address numbers with their corresponding name */
-    private static final Map<Integer, String> map = new HashMap<>();
+    /** Indexed by address, holds the corresponding name */
+    private static final String[] names = new String[32];
 
     public static String toString(int registerAddress) {
-        if (map.containsKey(registerAddress)) {
-            return map.get(registerAddress);
+        if (registerAddress >= 0 && registerAddress < names.length) {
+            return names[registerAddress];
         }
         return Integer.toString(registerAddress);
     }
 
     /** Method used for brevity in the static initializer */
     private static void put(int address, String name) {
-        map.put(address, "$" + name);
+        names[address] = "$" + name;
     }
 
     /**
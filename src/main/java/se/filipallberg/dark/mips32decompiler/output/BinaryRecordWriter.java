@@ -0,0 +1,81 @@
+package se.filipallberg.dark.mips32decompiler.output;
+
+import se.filipallberg.dark.mips32decompiler.instruction.DecodeResult;
+import se.filipallberg.dark.mips32decompiler.instruction.type.InstructionIds;
+import se.filipallberg.dark.mips32decompiler.instruction.type.InstructionType;
+import se.filipallberg.dark.mips32decompiler.instruction.util.Format;
+
+import java.nio.channels.WritableByteChannel;
+
+import static se.filipallberg.dark.mips32decompiler.instruction.util.InstructionField.*;
+
+/**
+ * Writes every instruction as a fixed-size record of {@link #RECORD_SIZE}
+ * bytes, so that the output may be consumed without parsing any text.
+ * All values are unsigned and big-endian,
+ *
+ * <pre>
+ * offset  size  value
+ *      0     8  the address, or 0 when addresses are not written
+ *      8     4  the instruction
+ *     12     1  the format: 0 = R, 1 = I, 2 = J or 0xff if unknown
+ *     13     1  the status: 0 = legal, 1 = partially legal, 2 = illegal
+ *     14     2  the instruction id, or 0 if unknown
+ *     16     1  the opcode field
+ *     17     1  the rs field
+ *     18     1  the rt field
+ *     19     1  the rd field
+ *     20     1  the shamt field
+ *     21     1  the funct field
+ *     22     2  the imm field
+ *     24     4  the target field
+ *     28     1  the violated fields, one bit per field in the order
+ *               opcode, rs, rt, rd, shamt, funct, imm and target,
+ *               starting from the least significant bit
+ *     29     3  reserved, always 0
+ * </pre>
+ *
+ * Every field is yanked out of the instruction regardless of its format.
+ * The instruction id is that of {@link InstructionIds}, the same as in
+ * {@link se.filipallberg.dark.mips32decompiler.instruction.DecodedColumns}.
+ */
+public final class BinaryRecordWriter extends BufferedInstructionWriter {
+    public static final int RECORD_SIZE = 32;
+
+    private static final int UNKNOWN = -1;
+
+    public BinaryRecordWriter(WritableByteChannel channel,
+                              boolean addressed) {
+        super(channel, addressed);
+    }
+
+    /** Records are written one after another regardless of the input */
+    @Override
+    public void begin() {
+    }
+
+    @Override
+    public void write(long address, DecodeResult result) {
+        int instruction = result.toNumericalRepresentation();
+        Format format = result.getFormat();
+        InstructionType type = result.getType();
+
+        reserve(RECORD_SIZE);
+        buffer.putLong(addressed ? address : 0)
+                .putInt(instruction)
+                .put((byte) (format == null ? UNKNOWN : format.ordinal()))
+                .put((byte) result.getStatus().ordinal())
+                .putShort(InstructionIds.of(type))
+                .put((byte) OPCODE.of(instruction))
+                .put((byte) RS.of(instruction))
+                .put((byte) RT.of(instruction))
+                .put((byte) RD.of(instruction))
+                .put((byte) SHAMT.of(instruction))
+                .put((byte) FUNCT.of(instruction))
+                .putShort((short) IMM.of(instruction))
+                .putInt(TARGET.of(instruction))
+                .put((byte) result.getViolations())
+                .put((byte) 0)
+                .putShort((short) 0);
+    }
+}
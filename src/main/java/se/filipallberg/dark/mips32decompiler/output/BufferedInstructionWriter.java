@@ -0,0 +1,121 @@
+package se.filipallberg.dark.mips32decompiler.output;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * The base of the writers, which encode their output straight into a
+ * reused buffer that is written out to a channel once it is full or when
+ * the writer is flushed. Text is ASCII only, every character is written
+ * as a single byte.
+ */
+abstract class BufferedInstructionWriter implements InstructionWriter {
+    private static final int CAPACITY = 1 << 16;
+
+    private static final String HEX_DIGITS = "0123456789abcdef";
+
+    private final WritableByteChannel channel;
+
+    /** Holds everything that has been written since the last flush */
+    final ByteBuffer buffer;
+
+    /** Whether the addresses of instructions are written */
+    final boolean addressed;
+
+    BufferedInstructionWriter(WritableByteChannel channel,
+                              boolean addressed) {
+        this(channel, addressed, CAPACITY);
+    }
+
+    /** Creates a writer whose buffer holds the given number of bytes */
+    BufferedInstructionWriter(WritableByteChannel channel,
+                              boolean addressed, int capacity) {
+        this.channel = channel;
+        this.addressed = addressed;
+        this.buffer = ByteBuffer.allocate(capacity);
+    }
+
+    @Override
+    public void flush() {
+        buffer.flip();
+        try {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            buffer.clear();
+        }
+    }
+
+    /** Makes room for the given number of bytes, at most the capacity */
+    final void reserve(int bytes) {
+        if (buffer.remaining() < bytes) {
+            flush();
+        }
+    }
+
+    final void put(char c) {
+        if (!buffer.hasRemaining()) {
+            flush();
+        }
+        buffer.put((byte) c);
+    }
+
+    final void append(String s) {
+        for (int i = 0; i < s.length(); i++) {
+            put(s.charAt(i));
+        }
+    }
+
+    /** Appends the given text padded with spaces to the given width */
+    final void pad(String s, int width) {
+        append(s);
+        for (int i = s.length(); i < width; i++) {
+            put(' ');
+        }
+    }
+
+    /**
+     * Pads what has been written since the given position of the buffer
+     * with spaces to the given width. Room for it must have been
+     * reserved, so that the buffer was not flushed in between.
+     */
+    final void padFrom(int start, int width) {
+        for (int i = buffer.position() - start; i < width; i++) {
+            put(' ');
+        }
+    }
+
+    final void appendDecimal(long value) {
+        if (value < 0) {
+            put('-');
+            value = -value;
+        }
+        long divisor = 1;
+        while (value / divisor >= 10) {
+            divisor *= 10;
+        }
+        for (; divisor > 0; divisor /= 10) {
+            put((char) ('0' + value / divisor % 10));
+        }
+    }
+
+    /**
+     * Appends the given value as a hexadecimal number with the 0x prefix
+     * and at least the given number of digits, e.g. what {@code "0x%08x"}
+     * formats it as.
+     */
+    final void appendHex(long value, int digits) {
+        put('0');
+        put('x');
+        digits = Math.max(digits,
+                (64 - Long.numberOfLeadingZeros(value) + 3) / 4);
+        for (int i = digits - 1; i >= 0; i--) {
+            put(HEX_DIGITS.charAt((int) (value >>> 4 * i) & 0xf));
+        }
+    }
+}
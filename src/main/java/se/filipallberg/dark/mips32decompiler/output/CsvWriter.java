@@ -0,0 +1,106 @@
+package se.filipallberg.dark.mips32decompiler.output;
+
+import se.filipallberg.dark.mips32decompiler.instruction.DecodeResult;
+import se.filipallberg.dark.mips32decompiler.instruction.type.InstructionType;
+import se.filipallberg.dark.mips32decompiler.instruction.util.Format;
+import se.filipallberg.dark.mips32decompiler.instruction.util.InstructionField;
+
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Writes every instruction as a record of comma-separated values,
+ * preceded by a single header record. For an example,
+ *
+ * <pre>
+ * instruction,status,format,mnemonic,opcode,rs,rt,rd,shamt,funct,imm,target,source,errors
+ * 0x23bdfff8,legal,I,addi,8,29,29,,,,65528,,"addi $sp, $sp, -8",
+ * 0xfc000000,illegal,,,,,,,,,,,,The opcode: 63 is not associated with any known format.
+ * </pre>
+ *
+ * The address is written as the first value when addresses are written.
+ * Fields that are not part of the format of the instruction are left
+ * empty, as are the values that are unknown for illegal instructions.
+ * Values are quoted when they contain a comma or a quote.
+ */
+public final class CsvWriter extends BufferedInstructionWriter {
+    private static final InstructionField[] fields =
+            InstructionField.values();
+
+    private boolean started;
+
+    public CsvWriter(WritableByteChannel channel, boolean addressed) {
+        super(channel, addressed);
+    }
+
+    /** Writes the header the first time, the records of all inputs follow */
+    @Override
+    public void begin() {
+        if (started) {
+            return;
+        }
+        started = true;
+        if (addressed) {
+            append("address,");
+        }
+        append("instruction,status,format,mnemonic");
+        for (InstructionField field : fields) {
+            put(',');
+            append(field.toString());
+        }
+        append(",source,errors\n");
+    }
+
+    @Override
+    public void write(long address, DecodeResult result) {
+        if (addressed) {
+            appendHex(address, 8);
+            put(',');
+        }
+        int instruction = result.toNumericalRepresentation();
+        appendHex(instruction & 0xffffffffL, 8);
+        put(',');
+        append(result.getStatus().name().toLowerCase());
+        put(',');
+
+        Format format = result.getFormat();
+        InstructionType type = result.getType();
+        if (format != null) {
+            append(format.name());
+        }
+        put(',');
+        if (type != null) {
+            append(type.getMnemonicPattern().getName());
+        }
+        for (InstructionField field : fields) {
+            put(',');
+            if (format != null && format.getFields().contains(field)) {
+                appendDecimal(field.of(instruction));
+            }
+        }
+        put(',');
+        if (type != null) {
+            appendValue(type.toMnemonic(instruction).toString());
+        }
+        put(',');
+        if (result.getStatus() != DecodeResult.Status.LEGAL) {
+            appendValue(result.getErrors());
+        }
+        put('\n');
+    }
+
+    private void appendValue(String s) {
+        if (s.indexOf(',') < 0 && s.indexOf('"') < 0) {
+            append(s);
+            return;
+        }
+        put('"');
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c == '"') {
+                put('"');
+            }
+            put(c);
+        }
+        put('"');
+    }
+}
@@ -0,0 +1,41 @@
+package se.filipallberg.dark.mips32decompiler.output;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Compresses output with gzip at a given compression level, where 1 is
+ * the fastest and 9 is the smallest. Output is compressed through a
+ * large buffer as the writers hand over large chunks at a time.
+ *
+ * Flushing the stream compresses and writes out everything that has
+ * been written so far, e.g. while following a file. Call
+ * {@link #finish()} once everything has been written, which ends the
+ * compressed output without closing the underlying stream.
+ */
+public final class GzipOutputStream extends GZIPOutputStream {
+    private static final int BUFFER = 1 << 16;
+
+    private GzipOutputStream(OutputStream out, int level)
+            throws IOException {
+        super(out, BUFFER, true);
+        def.setLevel(level);
+    }
+
+    /**
+     * Starts compressed output, the gzip header is written immediately.
+     *
+     * @throws IllegalArgumentException if the level is not in the range
+     * of 1 to 9.
+     */
+    public static GzipOutputStream withLevel(OutputStream out, int level)
+            throws IOException {
+        if (level < Deflater.BEST_SPEED || level > Deflater.BEST_COMPRESSION) {
+            throw new IllegalArgumentException("The compression level: " +
+                    level + " is not in the range of 1 to 9");
+        }
+        return new GzipOutputStream(out, level);
+    }
+}
@@ -0,0 +1,38 @@
+package se.filipallberg.dark.mips32decompiler.output;
+
+import se.filipallberg.dark.mips32decompiler.instruction.DecodeCache;
+import se.filipallberg.dark.mips32decompiler.instruction.DecodeResult;
+
+import java.io.Flushable;
+
+/**
+ * Writes decoded instructions in some output format, e.g. as a table or
+ * as JSON. Writers buffer their output, nothing is guaranteed to have
+ * been written until the writer is flushed.
+ */
+public interface InstructionWriter extends Flushable {
+    /**
+     * Starts the output of an input, e.g. by writing the header of a
+     * table. Is called before the instructions of each input are
+     * written.
+     */
+    void begin();
+
+    /**
+     * Writes a decoded instruction. The address is only written by
+     * writers that were created to write addresses.
+     */
+    void write(long address, DecodeResult result);
+
+    /**
+     * Writes a decoded instruction that was looked up in a cache, which
+     * writers may use to avoid rendering it again.
+     */
+    default void write(long address, DecodeCache.Entry entry) {
+        write(address, entry.getResult());
+    }
+
+    /** Writes out everything that has been buffered */
+    @Override
+    void flush();
+}
@@ -0,0 +1,112 @@
+package se.filipallberg.dark.mips32decompiler.output;
+
+import se.filipallberg.dark.mips32decompiler.instruction.DecodeResult;
+import se.filipallberg.dark.mips32decompiler.instruction.type.InstructionType;
+import se.filipallberg.dark.mips32decompiler.instruction.util.Format;
+import se.filipallberg.dark.mips32decompiler.instruction.util.InstructionField;
+
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Writes every instruction as a JSON object on a line of its own, i.e.
+ * newline delimited JSON. For an example,
+ *
+ * <pre>
+ * {"address":"0x00400000","instruction":"0x23bdfff8","status":"legal","format":"I","mnemonic":"addi","fields":{"opcode":8,"rs":29,"rt":29,"imm":65528},"source":"addi $sp, $sp, -8"}
+ * {"instruction":"0x00012122","status":"partially_legal","format":"R","mnemonic":"sub","fields":{"opcode":0,"rs":0,"rt":1,"rd":4,"shamt":4,"funct":34},"source":"sub $a0, $zero, $at","violations":["shamt"],"errors":"shamt: Got: 4 Expected: 0"}
+ * {"instruction":"0xfc000000","status":"illegal","format":null,"mnemonic":null,"errors":"The opcode: 63 is not associated with any known format."}
+ * </pre>
+ *
+ * The address is only present when addresses are written, and like the
+ * instruction is a hexadecimal string as in the table. The fields,
+ * which are those of the format, are present unless the format is
+ * unknown. The source is only present for known instructions.
+ */
+public final class NdjsonWriter extends BufferedInstructionWriter {
+    public NdjsonWriter(WritableByteChannel channel, boolean addressed) {
+        super(channel, addressed);
+    }
+
+    /** Objects are written one after another regardless of the input */
+    @Override
+    public void begin() {
+    }
+
+    @Override
+    public void write(long address, DecodeResult result) {
+        put('{');
+        if (addressed) {
+            append("\"address\":\"");
+            appendHex(address, 8);
+            append("\",");
+        }
+        append("\"instruction\":\"");
+        appendHex(result.toNumericalRepresentation() & 0xffffffffL, 8);
+        append("\",\"status\":");
+        appendString(result.getStatus().name().toLowerCase());
+
+        Format format = result.getFormat();
+        InstructionType type = result.getType();
+        append(",\"format\":");
+        appendString(format == null ? null : format.name());
+        append(",\"mnemonic\":");
+        appendString(type == null ? null :
+                type.getMnemonicPattern().getName());
+
+        int instruction = result.toNumericalRepresentation();
+        if (format != null) {
+            append(",\"fields\":{");
+            boolean first = true;
+            for (InstructionField field : format.getFields()) {
+                if (!first) {
+                    put(',');
+                }
+                first = false;
+                appendString(field.toString());
+                put(':');
+                appendDecimal(field.of(instruction));
+            }
+            put('}');
+        }
+        if (type != null) {
+            append(",\"source\":");
+            appendString(type.toMnemonic(instruction).toString());
+        }
+        if (result.getViolations() != 0) {
+            append(",\"violations\":[");
+            boolean first = true;
+            for (InstructionField field : InstructionField.values()) {
+                if (result.isViolated(field)) {
+                    if (!first) {
+                        put(',');
+                    }
+                    first = false;
+                    appendString(field.toString());
+                }
+            }
+            put(']');
+        }
+        if (result.getStatus() != DecodeResult.Status.LEGAL) {
+            append(",\"errors\":");
+            appendString(result.getErrors());
+        }
+        append("}\n");
+    }
+
+    /** Appends the given text as a JSON string, or null */
+    private void appendString(String s) {
+        if (s == null) {
+            append("null");
+            return;
+        }
+        put('"');
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c == '"' || c == '\\') {
+                put('\\');
+            }
+            put(c);
+        }
+        put('"');
+    }
+}
@@ -0,0 +1,65 @@
+package se.filipallberg.dark.mips32decompiler.output;
+
+import se.filipallberg.dark.mips32decompiler.Column;
+
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.util.Arrays;
+import java.util.List;
+
+/** The formats that decoded instructions may be written in */
+public enum OutputFormat {
+    /** The human-readable table, see {@link TableWriter} */
+    TABLE,
+    /** See {@link NdjsonWriter} */
+    NDJSON,
+    /** See {@link CsvWriter} */
+    CSV,
+    /** See {@link BinaryRecordWriter} */
+    BINARY;
+
+    /**
+     * Creates a writer of this format. Only the table consists of the
+     * given columns, the other formats always contain everything.
+     *
+     * @param addressed whether the address of each instruction is
+     *                  written.
+     */
+    public InstructionWriter create(WritableByteChannel channel,
+                                    List<Column> columns,
+                                    boolean addressed) {
+        switch (this) {
+            case NDJSON:
+                return new NdjsonWriter(channel, addressed);
+            case CSV:
+                return new CsvWriter(channel, addressed);
+            case BINARY:
+                return new BinaryRecordWriter(channel, addressed);
+            default:
+                return new TableWriter(channel, columns, addressed);
+        }
+    }
+
+    /** The stream is not closed by the writer, only flushed */
+    public InstructionWriter create(OutputStream out, List<Column> columns,
+                                    boolean addressed) {
+        return create(Channels.newChannel(out), columns, addressed);
+    }
+
+    /**
+     * Parses the name of a format, e.g. {@code ndjson}.
+     *
+     * @throws IllegalArgumentException if the name does not match any
+     * format.
+     */
+    public static OutputFormat fromString(String name) {
+        try {
+            return valueOf(name.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown output format: " +
+                    name + ", expected one of: " +
+                    Arrays.toString(values()).toLowerCase());
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package se.filipallberg.dark.mips32decompiler.output;
+
+import se.filipallberg.dark.mips32decompiler.Column;
+import se.filipallberg.dark.mips32decompiler.instruction.DecodeCache;
+import se.filipallberg.dark.mips32decompiler.instruction.DecodeResult;
+import se.filipallberg.dark.mips32decompiler.instruction.type.InstructionType;
+import se.filipallberg.dark.mips32decompiler.instruction.util.DecomposedRepresentation;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Writes the table of decompiled instructions, where every column is
+ * left-justified and padded with spaces to its width. The output is the
+ * same as that of formatting each row with {@link Column#rowFormat(List)},
+ * i.e.
+ *
+ * <pre>
+ * Instruction     Fmt Decomposition   Decomp hex             Source
+ * 0x23bdfff8      I  [8 29 29 65528] [8 0x1d 0x1d 0xfff8]   addi $sp, $sp, -8
+ * </pre>
+ *
+ * but every column is written and padded straight into a reused buffer
+ * rather than rendered and formatted. Addresses are written as an
+ * additional first column.
+ */
+public final class TableWriter extends BufferedInstructionWriter {
+    /** More than the longest row, without its address and errors */
+    private static final int ROW_BYTES = 256;
+
+    private final List<Column> columns;
+
+    public TableWriter(WritableByteChannel channel, List<Column> columns,
+                       boolean addressed) {
+        super(channel, addressed);
+        this.columns = columns;
+    }
+
+    private TableWriter(WritableByteChannel channel, List<Column> columns,
+                        int capacity) {
+        super(channel, false, capacity);
+        this.columns = columns;
+    }
+
+    /**
+     * Renders the row of the given result, and the line describing its
+     * errors, as it is written without addresses. Is meant for rows that
+     * are rendered once and then reused, e.g. by a
+     * {@link DecodeCache}.
+     */
+    public static String render(List<Column> columns, DecodeResult result) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(ROW_BYTES);
+        TableWriter writer = new TableWriter(Channels.newChannel(out),
+                columns, ROW_BYTES);
+        writer.write(0, result);
+        writer.flush();
+        return new String(out.toByteArray(), StandardCharsets.US_ASCII);
+    }
+
+    /** Writes the header of the table */
+    @Override
+    public void begin() {
+        if (addressed) {
+            pad("Address", 10);
+            put(' ');
+        }
+        for (int i = 0; i < columns.size(); i++) {
+            if (i > 0) {
+                put(' ');
+            }
+            Column column = columns.get(i);
+            pad(column.getHeader(), column.getWidth());
+        }
+        put('\n');
+    }
+
+    /**
+     * Writes the row of the given result, followed by a line describing
+     * the errors of the instruction unless it is legal.
+     */
+    @Override
+    public void write(long address, DecodeResult result) {
+        writeAddress(address);
+        reserve(ROW_BYTES);
+        for (int i = 0; i < columns.size(); i++) {
+            if (i > 0) {
+                put(' ');
+            }
+            Column column = columns.get(i);
+            int start = buffer.position();
+            writeColumn(column, result);
+            padFrom(start, column.getWidth());
+        }
+        put('\n');
+
+        if (result.getStatus() != DecodeResult.Status.LEGAL) {
+            append("  Errors: ");
+            pad(result.getErrors(), 15);
+            put('\n');
+        }
+    }
+
+    /**
+     * Writes the rendering of the entry as is, which must thus be a row
+     * of this table.
+     */
+    @Override
+    public void write(long address, DecodeCache.Entry entry) {
+        writeAddress(address);
+        append(entry.getRendering());
+    }
+
+    /**
+     * Writes the column of the given result as {@link Column#render}
+     * renders it
+     */
+    private void writeColumn(Column column, DecodeResult result) {
+        int instruction = result.toNumericalRepresentation();
+        InstructionType type = result.getType();
+        if (column == Column.INSTRUCTION) {
+            appendHex(instruction & 0xffffffffL, 8);
+        } else if (column == Column.FORMAT) {
+            append(result.getFormat() == null ? "-" :
+                    result.getFormat().name());
+        } else if (type == null) {
+            put('-');
+        } else if (column == Column.SOURCE) {
+            type.getMnemonicPattern().writeTo(buffer, instruction);
+        } else {
+            writeDecomposition(instruction, result.getFormat().getLayout(),
+                    column == Column.HEX);
+        }
+    }
+
+    /**
+     * Writes the chunks of the instruction, e.g. "[8 29 29 65528]", or
+     * "[8 0x1d 0x1d 0xfff8]" in hexadecimal where chunks above 9 have
+     * the 0x prefix.
+     */
+    private void writeDecomposition(int instruction,
+                                    DecomposedRepresentation.Layout layout,
+                                    boolean hex) {
+        put('[');
+        for (int i = 0; i < layout.size(); i++) {
+            if (i > 0) {
+                put(' ');
+            }
+            int chunk = layout.chunk(instruction, i);
+            if (hex && chunk > 9) {
+                appendHex(chunk, 1);
+            } else {
+                appendDecimal(chunk);
+            }
+        }
+        put(']');
+    }
+
+    private void writeAddress(long address) {
+        if (addressed) {
+            appendHex(address, 8);
+            put(' ');
+        }
+    }
+}
@@ -25,8 +25,8 @@ public class Bit {
      * @param numberOfBits the amount of bits to retrieve.
      * @return a numeric representation of the retrieved bits.
      * @throws IllegalArgumentException if
-     * {@code start} does not satisfy {@code 0 <= start <= 31} or if
-     * {@code start + numberOfBits > 32}.
+     * {@code start} does not satisfy {@code 0 <= start <= 31}, if
+     * {@code start + numberOfBits > 32} or if {@code numberOfBits < 1}.
      */
     public static int getNBits(int number, int start, int numberOfBits) {
         if (start > 31 || start < 0) {
@@ -41,9 +41,51 @@ public class Bit {
                             "Got start: " + start + " numberOfBits: " + numberOfBits);
         }
 
-        String s = asBitPattern(number);
-        String requestedBits = s.substring(start, start + numberOfBits);
-        return Integer.parseInt(requestedBits, 2);
+        if (numberOfBits < 1) {
+            throw new IllegalArgumentException(
+                    "The argument \"numberOfBits\" must satisfy " +
+                            "numberOfBits >= 1. Got: " + numberOfBits);
+        }
+
+        return extract(number, shift(start, numberOfBits), mask(numberOfBits));
+    }
+
+    /**
+     * Yanks the bits selected by {@code mask} after shifting {@code number}
+     * {@code shift} positions to the right. No range checks are performed,
+     * the shift and mask are expected to have been computed once up front
+     * using {@link #shift(int, int)} and {@link #mask(int)}.
+     *
+     * For instance, with n = 0x71014802 the leftmost six bits are retrieved
+     * by calling
+     *
+     * extract(n, shift(0, 6), mask(6)) => 28 = 0x1c
+     *
+     * @param number the number to yank bits from.
+     * @param shift the amount of positions to shift {@code number} right.
+     * @param mask the mask to apply after shifting.
+     * @return a numeric representation of the retrieved bits.
+     */
+    public static int extract(int number, int shift, int mask) {
+        return (number >>> shift) & mask;
+    }
+
+    /**
+     * Returns the amount of positions that a number has to be shifted right
+     * so that the {@code numberOfBits} bits starting at the bit index
+     * {@code start} (where {@code start = 0} is the leftmost bit) become
+     * the rightmost bits.
+     */
+    public static int shift(int start, int numberOfBits) {
+        return 32 - start - numberOfBits;
+    }
+
+    /**
+     * Returns a mask covering the {@code numberOfBits} rightmost bits,
+     * with {@code 1 <= numberOfBits <= 32}.
+     */
+    public static int mask(int numberOfBits) {
+        return -1 >>> (32 - numberOfBits);
     }
 
     public static String asBitPattern(int number) {
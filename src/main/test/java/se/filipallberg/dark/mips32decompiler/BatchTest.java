@@ -0,0 +1,108 @@
+package se.filipallberg.dark.mips32decompiler;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class BatchTest {
+    private Path root;
+    private Path in;
+    private Path out;
+
+    @Before
+    public void createDirectories() throws IOException {
+        root = Files.createTempDirectory("batch");
+        in = Files.createDirectories(root.resolve("in"));
+        out = root.resolve("out");
+    }
+
+    @After
+    public void deleteDirectories() throws IOException {
+        try (Stream<Path> walk = Files.walk(root)) {
+            for (Path path : walk.sorted(Comparator.reverseOrder())
+                    .collect(Collectors.toList())) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    private Path write(String name, String text) throws IOException {
+        Path file = in.resolve(name);
+        Files.createDirectories(file.getParent());
+        return Files.write(file, text.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    @Test
+    public void filesBelowDirectoriesKeepTheirRelativePaths()
+            throws IOException {
+        write("a.txt", "0x23bdfff8\n");
+        write("sub/b.txt", "0x03e00008\n");
+
+        List<Batch.Job> jobs = Batch.jobs(new String[] {in.toString()}, out,
+                ".csv");
+
+        assertThat(jobs.size(), is(2));
+        assertThat(jobs.get(0).getOutput(), is(out.resolve("a.txt.csv")));
+        assertThat(jobs.get(1).getOutput(),
+                is(out.resolve("sub").resolve("b.txt.csv")));
+    }
+
+    @Test (expected = IllegalArgumentException.class)
+    public void inputsMustNotShareAnOutput() throws IOException {
+        Path a = write("a.txt", "0x23bdfff8\n");
+        Path b = write("sub/a.txt", "0x03e00008\n");
+
+        Batch.jobs(new String[] {a.toString(), b.toString()}, out, ".txt");
+    }
+
+    @Test
+    public void everyInputIsDecompiledDespiteFailures() throws IOException {
+        write("a.txt", "0x23bdfff8\n0xafbf0004\n0xffffffff\n");
+        write("bad.txt", "zz\n");
+        write("c.txt", "0x03e00008\n");
+
+        List<Batch.Result> results = Batch.run(Batch.jobs(
+                new String[] {in.toString()}, out, ".txt"),
+                Options.parse(new String[] {"--threads", "2"}));
+
+        assertThat(results.size(), is(3));
+        assertThat(results.get(0).getInstructions(), is(3L));
+        assertThat(results.get(0).getNotLegal(), is(1L));
+        assertThat(results.get(1).failed(), is(true));
+        assertThat(results.get(2).getInstructions(), is(1L));
+
+        assertThat(Files.exists(out.resolve("bad.txt.txt")), is(false));
+        List<String> lines = Files.readAllLines(out.resolve("c.txt.txt"));
+        assertThat(lines.get(lines.size() - 1).contains("jr $ra"), is(true));
+    }
+
+    @Test (expected = IllegalArgumentException.class)
+    public void standardInputCannotBeBatched() throws IOException {
+        Batch.jobs(new String[] {"-"}, out, ".txt");
+    }
+
+    @Test
+    public void jobsAreListedInTheOrderGiven() throws IOException {
+        Path b = write("b.txt", "0x03e00008\n");
+        Path a = write("a.txt", "0x23bdfff8\n");
+
+        List<Batch.Job> jobs = Batch.jobs(
+                new String[] {b.toString(), a.toString()}, out, ".txt");
+
+        assertThat(jobs.stream().map(Batch.Job::getInput)
+                .collect(Collectors.toList()), is(Arrays.asList(b, a)));
+    }
+}
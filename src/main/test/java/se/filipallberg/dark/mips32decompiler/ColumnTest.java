@@ -0,0 +1,46 @@
+package se.filipallberg.dark.mips32decompiler;
+
+import org.junit.Test;
+import se.filipallberg.dark.mips32decompiler.instruction.DecodeResult;
+import se.filipallberg.dark.mips32decompiler.instruction.Instruction;
+
+import java.util.Arrays;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class ColumnTest {
+    @Test
+    public void allColumnsFormatTheOriginalTable() {
+        assertThat(Column.rowFormat(Arrays.asList(Column.values())),
+                is("%-15s %-2s %-15s %-22s %-18s\n"));
+    }
+
+    @Test
+    public void columnsAreListedInTableOrder() {
+        assertThat(Column.fromString("source, instruction"),
+                is(Arrays.asList(Column.INSTRUCTION, Column.SOURCE)));
+    }
+
+    @Test
+    public void onlySelectedColumnsAreRendered() {
+        DecodeResult result = Instruction.decode(0x23bd0008);
+
+        assertThat(Column.SOURCE.render(result), is("addi $sp, $sp, 8"));
+        assertThat(Column.HEX.render(result), is("[8 0x1d 0x1d 8]"));
+    }
+
+    @Test
+    public void illegalInstructionsHavePlaceholders() {
+        DecodeResult result = Instruction.decode(0xfc000000);
+
+        assertThat(Column.INSTRUCTION.render(result), is("0xfc000000"));
+        assertThat(Column.FORMAT.render(result), is("-"));
+        assertThat(Column.SOURCE.render(result), is("-"));
+    }
+
+    @Test (expected = IllegalArgumentException.class)
+    public void unknownColumnIsRejected() {
+        Column.fromString("instruction,opcode");
+    }
+}
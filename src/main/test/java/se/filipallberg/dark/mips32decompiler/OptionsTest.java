@@ -0,0 +1,55 @@
+package se.filipallberg.dark.mips32decompiler;
+
+import org.junit.Test;
+import se.filipallberg.dark.mips32decompiler.output.OutputFormat;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class OptionsTest {
+    @Test
+    public void optionsAreFollowedByTheInputs() {
+        Options options = Options.parse(new String[] {"--base", "0x400000",
+                "--output", "csv", "-n", "0x23bdfff8"});
+
+        assertThat(options.getBase(), is(0x400000L));
+        assertThat(options.isAddressed(), is(true));
+        assertThat(options.getFormat(), is(OutputFormat.CSV));
+        assertThat(options.getInputs(), is(new String[] {"-n", "0x23bdfff8"}));
+    }
+
+    @Test
+    public void runsDoNotShareOptions() {
+        Options.parse(new String[] {"--base", "0", "--output", "ndjson",
+                "--cache", "16", "--binary", "--offset", "8", "a.bin"});
+        Options defaults = Options.defaults();
+
+        assertThat(defaults.isAddressed(), is(false));
+        assertThat(defaults.getFormat(), is(OutputFormat.TABLE));
+        assertThat(defaults.getCache() == null, is(true));
+        assertThat(defaults.getBinary() == null, is(true));
+        assertThat(defaults.getOffset(), is(0L));
+    }
+
+    @Test
+    public void onlyBinaryInputIsReadFromAnOffset() {
+        Options options = Options.parse(new String[] {"--offset", "8",
+                "a.txt"});
+
+        assertThat(options.getOffset(), is(0L));
+    }
+
+    @Test
+    public void imagesAreOutputAtTheirOwnAddresses() {
+        Options options = Options.parse(new String[] {"--ihex", "a.hex"});
+
+        assertThat(options.getBase(), is(0L));
+    }
+
+    @Test
+    public void theSuffixFollowsTheFormat() {
+        assertThat(Options.parse(new String[] {"--output", "ndjson",
+                "--gzip", "1"}).outputSuffix(), is(".ndjson.gz"));
+        assertThat(Options.defaults().outputSuffix(), is(".txt"));
+    }
+}
@@ -0,0 +1,146 @@
+package se.filipallberg.dark.mips32decompiler;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import se.filipallberg.dark.mips32decompiler.input.BinaryWordReader;
+import se.filipallberg.dark.mips32decompiler.input.WordParser;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.IntConsumer;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+public class ParallelDecompilerTest {
+    /** Small chunks so that a small file is split into many */
+    private final ParallelDecompiler parallel =
+            new ParallelDecompiler(new ForkJoinPool(4), 16);
+
+    private Path file;
+
+    @Before
+    public void createFile() throws IOException {
+        file = Files.createTempFile("parallel", ".txt");
+    }
+
+    @After
+    public void deleteFile() throws IOException {
+        Files.delete(file);
+    }
+
+    /** Renders every word as "address: word" on its own line */
+    private static long[] render(int[] words, int count, long address,
+                                 OutputStream out) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < count; i++, address += 4) {
+            sb.append(String.format("%x: %08x\n", address, words[i]));
+        }
+        try {
+            out.write(sb.toString().getBytes(StandardCharsets.US_ASCII));
+        } catch (IOException e) {
+            throw new AssertionError(e);
+        }
+        return new long[] {count, 0};
+    }
+
+    private static void parse(ByteBuffer chunk, IntConsumer consumer,
+                              long line) {
+        WordParser parser = new WordParser(consumer, line);
+        parser.parse(chunk);
+        parser.finish();
+    }
+
+    private String decompileText(String text, StringBuilder fallback)
+            throws IOException {
+        Files.write(file, text.getBytes(StandardCharsets.US_ASCII));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.READ)) {
+            parallel.decompile(channel, 0, channel.size(), true, 0x100,
+                    (chunk, consumer) -> parse(chunk, consumer, 1),
+                    ParallelDecompilerTest::render,
+                    (chunk, address, line) -> {
+                        fallback.append(Long.toHexString(address));
+                        parse(chunk, w -> {}, line);
+                    }, out);
+        }
+        return new String(out.toByteArray(), StandardCharsets.US_ASCII);
+    }
+
+    @Test
+    public void chunksAreOutputInOrder() throws IOException {
+        StringBuilder sb = new StringBuilder();
+        StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < 200; i++) {
+            if (i % 7 == 0) {
+                /* Lines without words shift the addresses */
+                sb.append("# comment\n\n");
+            }
+            sb.append(String.format("0x%08x\n", i));
+            expected.append(String.format("%x: %08x\n", 0x100 + 4 * i, i));
+        }
+
+        assertThat(decompileText(sb.toString(), new StringBuilder()),
+                is(expected.toString()));
+    }
+
+    @Test
+    public void errorsReferToTheLineOfTheFile() throws IOException {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            sb.append(i == 60 ? "0xzz\n" : "0x23bdfff8\n");
+        }
+
+        StringBuilder fallback = new StringBuilder();
+        try {
+            decompileText(sb.toString(), fallback);
+            fail();
+        } catch (NumberFormatException e) {
+            assertThat(e.getMessage().startsWith("Line 61: "), is(true));
+        }
+        /* The chunk holding line 61 starts with the word of some line */
+        long address = Long.parseLong(fallback.toString(), 16);
+        assertThat((address - 0x100) % 4, is(0L));
+        assertThat(address <= 0x100 + 60 * 4, is(true));
+    }
+
+    @Test
+    public void binaryChunksStartAtTheOffset() throws IOException {
+        byte[] bytes = new byte[3 + 4 * 50];
+        for (int i = 0; i < 50; i++) {
+            ByteBuffer.wrap(bytes).putInt(3 + 4 * i, i);
+        }
+        Files.write(file, bytes);
+
+        StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < 50; i++) {
+            expected.append(String.format("%x: %08x\n", 3 + 4 * i, i));
+        }
+
+        BinaryWordReader binary = new BinaryWordReader(
+                ByteOrder.BIG_ENDIAN, 3, -1);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.READ)) {
+            long[] counts = parallel.decompile(channel, 3,
+                    binary.end(channel.size()), false, 3, binary::read,
+                    ParallelDecompilerTest::render,
+                    (chunk, address, line) -> fail(), out);
+            assertThat(counts[0], is(50L));
+        }
+        assertThat(new String(out.toByteArray(), StandardCharsets.US_ASCII),
+                is(expected.toString()));
+    }
+}
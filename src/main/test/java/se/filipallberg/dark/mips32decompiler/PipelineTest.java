@@ -0,0 +1,104 @@
+package se.filipallberg.dark.mips32decompiler;
+
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+public class PipelineTest {
+    private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    /** Renders every word as "address: word" on its own line */
+    private static long[] render(int[] words, int count, long address,
+                                 OutputStream out) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < count; i++, address += 4) {
+            sb.append(String.format("%x: %x\n", address, words[i]));
+        }
+        write(out, sb.toString());
+        return new long[] {count, 0};
+    }
+
+    private static void write(OutputStream out, String s) {
+        try {
+            out.write(s.getBytes(StandardCharsets.US_ASCII));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private long[] run(Pipeline pipeline, Pipeline.Reader reader)
+            throws IOException {
+        return pipeline.run(reader, PipelineTest::render,
+                () -> write(out, "begin\n"), out);
+    }
+
+    private String output() {
+        return new String(out.toByteArray(), StandardCharsets.US_ASCII);
+    }
+
+    @Test
+    public void batchesAreWrittenInOrder() throws IOException {
+        Pipeline pipeline = new Pipeline(3);
+        int words = 10 * Pipeline.BATCH + 1;
+        long[] counts = run(pipeline, () -> {
+            pipeline.begin();
+            for (int i = 0; i < words; i++) {
+                pipeline.accept(4L * i, i);
+            }
+        });
+
+        StringBuilder expected = new StringBuilder("begin\n");
+        for (int i = 0; i < words; i++) {
+            expected.append(String.format("%x: %x\n", 4L * i, i));
+        }
+        assertThat(output(), is(expected.toString()));
+        assertThat(counts[0], is((long) words));
+    }
+
+    @Test
+    public void everyInputBegins() throws IOException {
+        Pipeline pipeline = new Pipeline(1);
+        run(pipeline, () -> {
+            pipeline.begin();
+            pipeline.accept(0, 1);
+            /* An input without any words */
+            pipeline.begin();
+            pipeline.begin();
+            /* Not at the address following the previous word */
+            pipeline.accept(0x100, 2);
+            pipeline.accept(0x200, 3);
+        });
+
+        assertThat(output(), is("begin\n0: 1\nbegin\nbegin\n100: 2\n" +
+                "200: 3\n"));
+    }
+
+    @Test
+    public void wordsBeforeAnErrorAreWritten() throws IOException {
+        Pipeline pipeline = new Pipeline(2);
+        try {
+            run(pipeline, () -> {
+                pipeline.begin();
+                pipeline.accept(0, 1);
+                throw new IOException("Unreadable");
+            });
+            fail();
+        } catch (IOException e) {
+            assertThat(e.getMessage(), is("Unreadable"));
+        }
+        assertThat(output(), is("begin\n0: 1\n"));
+    }
+
+    @Test (expected = IllegalArgumentException.class)
+    public void thereMustBeADecoder() {
+        new Pipeline(0);
+    }
+}
@@ -0,0 +1,58 @@
+package se.filipallberg.dark.mips32decompiler;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class RingBufferTest {
+    @Test
+    public void elementsAreTakenInOrder() throws InterruptedException {
+        RingBuffer<Integer> buffer = new RingBuffer<>(2);
+        List<Integer> taken = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            buffer.put(i);
+            taken.add(buffer.take());
+        }
+        buffer.put(5);
+        buffer.put(6);
+        taken.add(buffer.take());
+        taken.add(buffer.take());
+
+        for (int i = 0; i < taken.size(); i++) {
+            assertThat(taken.get(i), is(i));
+        }
+        assertThat(buffer.fullWaits(), is(0L));
+        assertThat(buffer.emptyWaits(), is(0L));
+    }
+
+    @Test
+    public void aFullBufferHoldsTheProducerBack()
+            throws InterruptedException {
+        RingBuffer<Integer> buffer = new RingBuffer<>(1);
+        Thread producer = new Thread(() -> {
+            try {
+                for (int i = 0; i < 100; i++) {
+                    buffer.put(i);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        producer.start();
+
+        for (int i = 0; i < 100; i++) {
+            assertThat(buffer.take(), is(i));
+        }
+        producer.join();
+        assertThat(buffer.meanDepth() <= buffer.capacity(), is(true));
+    }
+
+    @Test (expected = IllegalArgumentException.class)
+    public void capacityMustBePositive() {
+        new RingBuffer<Integer>(0);
+    }
+}
@@ -0,0 +1,197 @@
+package se.filipallberg.dark.mips32decompiler.flow;
+
+import org.junit.Test;
+import se.filipallberg.dark.mips32decompiler.instruction.DecodeResult;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.junit.Assert.assertThat;
+
+public class DecodeProcessorTest {
+    /** Publishes on the thread that signals, so that tests are ordered */
+    private final DecodeProcessor processor =
+            new DecodeProcessor(Runnable::run, 4);
+
+    /** Counts the batches requested by the processor */
+    private long requested;
+    private boolean cancelled;
+
+    private final Flow.Subscription upstream = new Flow.Subscription() {
+        @Override
+        public void request(long n) {
+            requested += n;
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+        }
+    };
+
+    /** Records every signal, requests more results only when told to */
+    private static final class Recorder
+            implements Flow.Subscriber<DecodeResult> {
+        private Flow.Subscription subscription;
+        private final List<DecodeResult> results = new ArrayList<>();
+        private Throwable error;
+        private boolean complete;
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void onNext(DecodeResult result) {
+            results.add(result);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error = throwable;
+        }
+
+        @Override
+        public void onComplete() {
+            complete = true;
+        }
+    }
+
+    private Recorder subscribe() {
+        Recorder recorder = new Recorder();
+        processor.subscribe(recorder);
+        processor.onSubscribe(upstream);
+        return recorder;
+    }
+
+    @Test
+    public void onlyTheRequestedResultsArePublished() {
+        Recorder recorder = subscribe();
+        processor.onNext(new int[] {0x23bdfff8, 0xafbf0004, 0x03e00008});
+
+        assertThat(recorder.results.isEmpty(), is(true));
+        recorder.subscription.request(2);
+        assertThat(recorder.results.size(), is(2));
+        assertThat(recorder.results.get(1).toNumericalRepresentation(),
+                is(0xafbf0004));
+
+        processor.onComplete();
+        assertThat(recorder.complete, is(false));
+        recorder.subscription.request(5);
+        assertThat(recorder.results.size(), is(3));
+        assertThat(recorder.complete, is(true));
+    }
+
+    @Test
+    public void batchesAreOnlyRequestedAsTheyAreDecoded() {
+        Recorder recorder = subscribe();
+        assertThat(requested, is(4L));
+        for (int i = 0; i < 4; i++) {
+            processor.onNext(new int[] {i, i});
+        }
+
+        /* The subscriber is slow, nothing more is requested */
+        recorder.subscription.request(3);
+        assertThat(requested, is(4L));
+
+        /* Half of the batches have been decoded */
+        recorder.subscription.request(2);
+        assertThat(requested, is(6L));
+    }
+
+    @Test
+    public void partiallyLegalWordsArePublished() {
+        Recorder recorder = subscribe();
+        recorder.subscription.request(Long.MAX_VALUE);
+        /* add $t1, $t0, $at with a shamt of 4 */
+        processor.onNext(new int[] {0x01014920, 0xfc000000});
+        processor.onComplete();
+
+        assertThat(recorder.results.get(0).getStatus(),
+                is(DecodeResult.Status.PARTIALLY_LEGAL));
+        assertThat(recorder.results.get(1).getStatus(),
+                is(DecodeResult.Status.ILLEGAL));
+        assertThat(recorder.complete, is(true));
+    }
+
+    @Test
+    public void errorsFollowTheWordsBeforeThem() {
+        Recorder recorder = subscribe();
+        processor.onNext(new int[] {0x23bdfff8});
+        processor.onError(new IllegalStateException("Queue closed"));
+        assertThat(recorder.error == null, is(true));
+
+        recorder.subscription.request(1);
+        assertThat(recorder.results.size(), is(1));
+        assertThat(recorder.error.getMessage(), is("Queue closed"));
+    }
+
+    @Test
+    public void cancellingCancelsUpstream() {
+        Recorder recorder = subscribe();
+        recorder.subscription.cancel();
+        assertThat(cancelled, is(true));
+    }
+
+    @Test
+    public void requestsMustBePositive() {
+        Recorder recorder = subscribe();
+        recorder.subscription.request(0);
+        assertThat(recorder.error,
+                instanceOf(IllegalArgumentException.class));
+        assertThat(cancelled, is(true));
+    }
+
+    @Test
+    public void onlyASingleSubscriberIsSupported() {
+        subscribe();
+        Recorder second = new Recorder();
+        processor.subscribe(second);
+        assertThat(second.error, instanceOf(IllegalStateException.class));
+    }
+
+    @Test
+    public void resultsArePublishedOnTheExecutor()
+            throws InterruptedException {
+        DecodeProcessor processor = new DecodeProcessor();
+        CountDownLatch latch = new CountDownLatch(1);
+        List<DecodeResult> results = new ArrayList<>();
+        processor.subscribe(new Flow.Subscriber<DecodeResult>() {
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                subscription.request(Long.MAX_VALUE);
+            }
+
+            @Override
+            public void onNext(DecodeResult result) {
+                results.add(result);
+            }
+
+            @Override
+            public void onError(Throwable throwable) {}
+
+            @Override
+            public void onComplete() {
+                latch.countDown();
+            }
+        });
+        processor.onSubscribe(upstream);
+        /* As many batches as were requested */
+        for (int i = 0; i < 100; i += 25) {
+            processor.onNext(IntStream.range(i, i + 25).toArray());
+        }
+        processor.onComplete();
+
+        assertThat(latch.await(10, TimeUnit.SECONDS), is(true));
+        assertThat(results.size(), is(100));
+        for (int i = 0; i < 100; i++) {
+            assertThat(results.get(i).toNumericalRepresentation(), is(i));
+        }
+    }
+}
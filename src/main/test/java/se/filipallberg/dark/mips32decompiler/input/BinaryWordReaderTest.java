@@ -0,0 +1,83 @@
+package se.filipallberg.dark.mips32decompiler.input;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.channels.Channels;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class BinaryWordReaderTest {
+    /** addi $sp, $sp, -8 and sw $ra, 4($sp) followed by a partial word */
+    private static final byte[] image = {
+            0x23, (byte) 0xbd, (byte) 0xff, (byte) 0xf8,
+            (byte) 0xaf, (byte) 0xbf, 0x00, 0x04,
+            0x08};
+
+    private static List<Integer> readFile(BinaryWordReader reader)
+            throws IOException {
+        Path file = Files.createTempFile("image", ".bin");
+        try {
+            Files.write(file, image);
+            List<Integer> words = new ArrayList<>();
+            reader.read(file, words::add);
+            return words;
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    private static List<Integer> readChannel(BinaryWordReader reader)
+            throws IOException {
+        List<Integer> words = new ArrayList<>();
+        reader.read(Channels.newChannel(new ByteArrayInputStream(image)),
+                words::add);
+        return words;
+    }
+
+    @Test
+    public void wordsAreBigEndianByDefault() throws IOException {
+        List<Integer> expected = Arrays.asList(0x23bdfff8, 0xafbf0004);
+
+        assertThat(readFile(new BinaryWordReader()), is(expected));
+        assertThat(readChannel(new BinaryWordReader()), is(expected));
+    }
+
+    @Test
+    public void wordsMayBeLittleEndian() throws IOException {
+        BinaryWordReader reader = new BinaryWordReader(
+                ByteOrder.LITTLE_ENDIAN, 0, -1);
+        List<Integer> expected = Arrays.asList(0xf8ffbd23, 0x0400bfaf);
+
+        assertThat(readFile(reader), is(expected));
+        assertThat(readChannel(reader), is(expected));
+    }
+
+    @Test
+    public void offsetAndLengthSelectTheWordsRead() throws IOException {
+        BinaryWordReader reader = new BinaryWordReader(
+                ByteOrder.BIG_ENDIAN, 4, 4);
+        List<Integer> expected = Arrays.asList(0xafbf0004);
+
+        assertThat(readFile(reader), is(expected));
+        assertThat(readChannel(reader), is(expected));
+    }
+
+    @Test
+    public void offsetNeedNotBeAligned() throws IOException {
+        BinaryWordReader reader = new BinaryWordReader(
+                ByteOrder.BIG_ENDIAN, 1, -1);
+        List<Integer> expected = Arrays.asList(0xbdfff8af, 0xbf000408);
+
+        assertThat(readFile(reader), is(expected));
+        assertThat(readChannel(reader), is(expected));
+    }
+}
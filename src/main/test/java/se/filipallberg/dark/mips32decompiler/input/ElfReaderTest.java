@@ -0,0 +1,135 @@
+package se.filipallberg.dark.mips32decompiler.input;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class ElfReaderTest {
+    /** addi $sp, $sp, -8 and sw $ra, 4($sp) */
+    private static final int[] text = {0x23bdfff8, 0xafbf0004};
+
+    private static final byte[] names =
+            "\0.text\0.data\0.shstrtab\0".getBytes(StandardCharsets.US_ASCII);
+
+    /**
+     * Builds an executable consisting of the header, the .text section,
+     * a .data section, the section names and the section headers, in
+     * that order. Without section headers the .text section is described
+     * by a program header instead.
+     */
+    private static ByteBuffer elf(ByteOrder order, int machine,
+                                  boolean sections) {
+        ByteBuffer b = ByteBuffer.allocate(512).order(order);
+        b.put(new byte[] {0x7f, 'E', 'L', 'F'}).put((byte) 1)
+                .put((byte) (order == ByteOrder.LITTLE_ENDIAN ? 1 : 2))
+                .put((byte) 1);
+        b.position(16);
+        b.putShort((short) 2).putShort((short) machine).putInt(1)
+                .putInt(0x00400000)
+                .putInt(sections ? 0 : 200)     /* e_phoff */
+                .putInt(sections ? 112 : 0)     /* e_shoff */
+                .putInt(0).putShort((short) 52)
+                .putShort((short) 32).putShort((short) (sections ? 0 : 1))
+                .putShort((short) 40).putShort((short) (sections ? 4 : 0))
+                .putShort((short) 3);
+
+        /* .text at 52, .data at 60 and the names at 64 */
+        for (int word : text) {
+            b.putInt(word);
+        }
+        b.putInt(0x03e00008);
+        b.put(names);
+
+        if (sections) {
+            b.position(152);
+            section(b, 1, 1, 0x6, 0x00400000, 52, 8);
+            section(b, 7, 1, 0x3, 0x10000000, 60, 4);
+            section(b, 13, 3, 0, 0, 64, names.length);
+        } else {
+            b.position(200);
+            b.putInt(1).putInt(52).putInt(0x00400000).putInt(0x00400000)
+                    .putInt(8).putInt(8).putInt(0x5).putInt(4);
+        }
+        b.clear();
+        return b;
+    }
+
+    private static void section(ByteBuffer b, int name, int type, int flags,
+                                int address, int offset, int size) {
+        b.putInt(name).putInt(type).putInt(flags).putInt(address)
+                .putInt(offset).putInt(size).putInt(0).putInt(0).putInt(4)
+                .putInt(0);
+    }
+
+    private static List<Integer> words(ElfReader.Section section) {
+        List<Integer> words = new ArrayList<>();
+        section.read(words::add);
+        return words;
+    }
+
+    @Test
+    public void executableSectionsAreFound() {
+        for (ByteOrder order : Arrays.asList(ByteOrder.BIG_ENDIAN,
+                ByteOrder.LITTLE_ENDIAN)) {
+            ElfReader reader = new ElfReader(elf(order, 8, true));
+            List<ElfReader.Section> sections =
+                    reader.getExecutableSections();
+
+            assertThat(reader.getByteOrder(), is(order));
+            assertThat(sections.size(), is(1));
+            assertThat(sections.get(0).getName(), is(".text"));
+            assertThat(sections.get(0).getAddress(), is(0x00400000L));
+            assertThat(words(sections.get(0)),
+                    is(Arrays.asList(0x23bdfff8, 0xafbf0004)));
+        }
+    }
+
+    @Test
+    public void segmentsAreUsedWithoutSections() {
+        ElfReader reader = new ElfReader(elf(ByteOrder.BIG_ENDIAN, 8, false));
+        List<ElfReader.Section> segments = reader.getExecutableSections();
+
+        assertThat(segments.size(), is(1));
+        assertThat(segments.get(0).getName(), is("segment 0"));
+        assertThat(segments.get(0).getAddress(), is(0x00400000L));
+        assertThat(words(segments.get(0)),
+                is(Arrays.asList(0x23bdfff8, 0xafbf0004)));
+    }
+
+    @Test
+    public void filesAreMapped() throws IOException {
+        ByteBuffer image = elf(ByteOrder.LITTLE_ENDIAN, 8, true);
+        Path file = Files.createTempFile("image", ".elf");
+        try {
+            Files.write(file, Arrays.copyOf(image.array(), image.limit()));
+            ElfReader reader = ElfReader.open(file);
+
+            assertThat(words(reader.getExecutableSections().get(0)),
+                    is(Arrays.asList(0x23bdfff8, 0xafbf0004)));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test (expected = IllegalArgumentException.class)
+    public void machineMustBeMips() {
+        /* EM_386 */
+        new ElfReader(elf(ByteOrder.LITTLE_ENDIAN, 3, true));
+    }
+
+    @Test (expected = IllegalArgumentException.class)
+    public void fileMustBeElf() {
+        new ElfReader(ByteBuffer.wrap(new byte[64]));
+    }
+}
@@ -0,0 +1,101 @@
+package se.filipallberg.dark.mips32decompiler.input;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class FileFollowerTest {
+    private static void append(Path file, String text) throws IOException {
+        Files.write(file, text.getBytes(StandardCharsets.US_ASCII),
+                StandardOpenOption.APPEND);
+    }
+
+    @Test
+    public void onlyAppendedLinesAreRead() throws IOException {
+        Path file = Files.createTempFile("trace", ".txt");
+        List<Integer> words = new ArrayList<>();
+        WordParser parser = new WordParser(words::add);
+        try (FileFollower follower = new FileFollower(file, 0)) {
+            append(file, "0x23bdfff8\n0xafbf");
+            follower.readAppended(parser::parse, () -> {});
+            assertThat(words, is(Arrays.asList(0x23bdfff8)));
+
+            assertThat(follower.readAppended(parser::parse, () -> {}), is(0L));
+
+            /* The rest of the line is appended */
+            append(file, "0004\n");
+            follower.readAppended(parser::parse, () -> {});
+            assertThat(words, is(Arrays.asList(0x23bdfff8, 0xafbf0004)));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void partialWordsAreKept() throws IOException {
+        Path file = Files.createTempFile("trace", ".bin");
+        List<Integer> words = new ArrayList<>();
+        BinaryWordReader reader = new BinaryWordReader();
+        try (FileFollower follower = new FileFollower(file, 0)) {
+            Files.write(file, new byte[] {0x23, (byte) 0xbd, (byte) 0xff});
+            follower.readAppended(b -> reader.read(b, words::add), () -> {});
+            assertThat(words.isEmpty(), is(true));
+
+            Files.write(file, new byte[] {(byte) 0xf8},
+                    StandardOpenOption.APPEND);
+            follower.readAppended(b -> reader.read(b, words::add), () -> {});
+            assertThat(words, is(Arrays.asList(0x23bdfff8)));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void truncatedFilesAreReadFromTheStart() throws IOException {
+        Path file = Files.createTempFile("trace", ".txt");
+        List<Integer> words = new ArrayList<>();
+        WordParser parser = new WordParser(words::add);
+        try (FileFollower follower = new FileFollower(file, 0)) {
+            append(file, "0x23bdfff8\n0xafbf0004\n");
+            follower.readAppended(parser::parse, () -> {});
+
+            Files.write(file, "0x03e00008\n".getBytes(
+                    StandardCharsets.US_ASCII));
+            follower.readAppended(parser::parse, () -> {});
+            assertThat(words, is(Arrays.asList(0x23bdfff8, 0xafbf0004,
+                    0x03e00008)));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void partialTokensAreDroppedWhenTruncated() throws IOException {
+        Path file = Files.createTempFile("trace", ".txt");
+        List<Integer> words = new ArrayList<>();
+        WordParser[] parser = {new WordParser(words::add)};
+        Runnable truncated = () -> parser[0] = new WordParser(words::add);
+        try (FileFollower follower = new FileFollower(file, 0)) {
+            /* The second number is cut off by the truncation */
+            append(file, "0x23bdfff8\n0xafbf");
+            follower.readAppended(b -> parser[0].parse(b), truncated);
+
+            Files.write(file, "0x03e00008\n".getBytes(
+                    StandardCharsets.US_ASCII));
+            follower.readAppended(b -> parser[0].parse(b), truncated);
+            assertThat(words, is(Arrays.asList(0x23bdfff8, 0x03e00008)));
+        } finally {
+            Files.delete(file);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package se.filipallberg.dark.mips32decompiler.input;
+
+import org.junit.Test;
+import se.filipallberg.dark.mips32decompiler.output.GzipOutputStream;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class GzipTest {
+    private static final byte[] program =
+            "0x23bdfff8\n0xafbf0004\n".getBytes(StandardCharsets.US_ASCII);
+
+    private static byte[] compress(byte[] bytes, int level)
+            throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        GzipOutputStream gzip = GzipOutputStream.withLevel(out, level);
+        gzip.write(bytes);
+        gzip.finish();
+        return out.toByteArray();
+    }
+
+    private static List<Integer> parse(InputStream in) throws IOException {
+        List<Integer> words = new ArrayList<>();
+        WordParser.parse(Channels.newChannel(in), words::add);
+        return words;
+    }
+
+    @Test
+    public void compressedInputIsSniffed() throws IOException {
+        InputStream in = Gzip.sniff(
+                new ByteArrayInputStream(compress(program, 9)));
+
+        assertThat(parse(in), is(Arrays.asList(0x23bdfff8, 0xafbf0004)));
+    }
+
+    @Test
+    public void uncompressedInputIsReadAsIs() throws IOException {
+        InputStream in = Gzip.sniff(new ByteArrayInputStream(program));
+
+        assertThat(parse(in), is(Arrays.asList(0x23bdfff8, 0xafbf0004)));
+    }
+
+    @Test
+    public void compressedFilesEndWithGz() {
+        assertThat(Gzip.isCompressed(Paths.get("dump.txt.gz")), is(true));
+        assertThat(Gzip.isCompressed(Paths.get("dump.txt")), is(false));
+    }
+
+    @Test
+    public void fastestLevelIsDecompressed() throws IOException {
+        InputStream in = Gzip.decompress(
+                new ByteArrayInputStream(compress(program, 1)));
+
+        assertThat(parse(in), is(Arrays.asList(0x23bdfff8, 0xafbf0004)));
+    }
+
+    @Test (expected = IllegalArgumentException.class)
+    public void levelMustBeInRange() throws IOException {
+        GzipOutputStream.withLevel(new ByteArrayOutputStream(), 10);
+    }
+}
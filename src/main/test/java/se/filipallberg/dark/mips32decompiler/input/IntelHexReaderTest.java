@@ -0,0 +1,110 @@
+package se.filipallberg.dark.mips32decompiler.input;
+
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class IntelHexReaderTest {
+    /** Every word as "address: word" */
+    private final List<String> words = new ArrayList<>();
+
+    private void read(ByteOrder order, String image, int chunk) {
+        IntelHexReader reader = new IntelHexReader(order,
+                (address, word) -> words.add(String.format("%08x: %08x",
+                        address, word)));
+        byte[] bytes = image.getBytes(StandardCharsets.US_ASCII);
+        for (int i = 0; i < bytes.length; i += chunk) {
+            reader.parse(ByteBuffer.wrap(bytes, i,
+                    Math.min(chunk, bytes.length - i)));
+        }
+        reader.finish();
+    }
+
+    @Test
+    public void recordsAreAssembledIntoWords() {
+        /* sw $ra, 4($sp) is split between two records */
+        read(ByteOrder.BIG_ENDIAN, ":020000040040BA\n" +
+                ":0600000023BDFFF8AFBFB5\r\n" +
+                ":020006000004F4\n" +
+                ":00000001FF\n", 3);
+
+        assertThat(words, is(Arrays.asList(
+                "00400000: 23bdfff8",
+                "00400004: afbf0004")));
+    }
+
+    @Test
+    public void extendedSegmentAddressesAreShifted() {
+        read(ByteOrder.BIG_ENDIAN, ":020000021000EC\n" +
+                ":0400100003E0000801\n", 64);
+
+        assertThat(words, is(Arrays.asList("00010010: 03e00008")));
+    }
+
+    @Test
+    public void segmentedRecordsWrapAroundWithinTheirSegment() {
+        /* The second word is past the end of the segment at 0x10000 */
+        read(ByteOrder.BIG_ENDIAN, ":020000021000EC\n" +
+                ":08FFFC0023BDFFF8AFBF0004B4\n", 64);
+
+        assertThat(words, is(Arrays.asList(
+                "0001fffc: 23bdfff8",
+                "00010000: afbf0004")));
+    }
+
+    @Test
+    public void gapsAreFilledWithZeros() {
+        /* A byte at 0x02 and then a word at 0x10 */
+        read(ByteOrder.BIG_ENDIAN, ":01000200FFFE\n" +
+                ":0400100003E0000801", 64);
+
+        /* The partial word is handed over at the end */
+        assertThat(words, is(Arrays.asList(
+                "00000010: 03e00008",
+                "00000000: 0000ff00")));
+    }
+
+    @Test
+    public void wordsSplitBetweenRecordsOutOfOrderAreOutputOnce() {
+        /* The halves of jr $ra are given around another word */
+        read(ByteOrder.BIG_ENDIAN, ":020002000008F4\n" +
+                ":0400100023BDFFF815\n" +
+                ":0200000003E01B\n", 64);
+
+        assertThat(words, is(Arrays.asList(
+                "00000010: 23bdfff8",
+                "00000000: 03e00008")));
+    }
+
+    @Test
+    public void wordsMayBeLittleEndian() {
+        read(ByteOrder.LITTLE_ENDIAN, ":04000000F8FFBD2325\n", 64);
+
+        assertThat(words, is(Arrays.asList("00000000: 23bdfff8")));
+    }
+
+    @Test
+    public void recordsAfterTheEndAreIgnored() {
+        read(ByteOrder.BIG_ENDIAN, ":00000001FF\n:0400000023BDFFF825\n", 64);
+
+        assertThat(words.isEmpty(), is(true));
+    }
+
+    @Test (expected = IllegalArgumentException.class)
+    public void checksumMustMatch() {
+        read(ByteOrder.BIG_ENDIAN, ":0400000023BDFFF826\n", 64);
+    }
+
+    @Test (expected = IllegalArgumentException.class)
+    public void recordsMustStartWithAColon() {
+        read(ByteOrder.BIG_ENDIAN, "0400000023BDFFF825\n", 64);
+    }
+}
@@ -0,0 +1,63 @@
+package se.filipallberg.dark.mips32decompiler.input;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class SRecordReaderTest {
+    /** Every word as "address: word" */
+    private final List<String> words = new ArrayList<>();
+
+    private void read(String image) throws IOException {
+        new SRecordReader(ByteOrder.BIG_ENDIAN, (address, word) ->
+                words.add(String.format("%08x: %08x", address, word)))
+                .read(Channels.newChannel(new ByteArrayInputStream(
+                        image.getBytes(StandardCharsets.US_ASCII))));
+    }
+
+    @Test
+    public void everyAddressWidthIsRead() throws IOException {
+        read("S00600004844521B\n" +
+                "S30D0040000023BDFFF8AFBF000469\n" +
+                "S2080100000000000CEA\n" +
+                "S1070010AFA4000095\n" +
+                "S5030003F9\n" +
+                "S70500400000BA\n");
+
+        assertThat(words, is(Arrays.asList(
+                "00400000: 23bdfff8",
+                "00400004: afbf0004",
+                "00010000: 0000000c",
+                "00000010: afa40000")));
+    }
+
+    @Test
+    public void unalignedRecordsAreAssembled() throws IOException {
+        read("S1050002FFFFFA\n" +
+                "S1050004ABCD7E\n");
+
+        assertThat(words, is(Arrays.asList(
+                "00000000: 0000ffff",
+                "00000004: abcd0000")));
+    }
+
+    @Test (expected = IllegalArgumentException.class)
+    public void checksumMustMatch() throws IOException {
+        read("S1070010AFA4000096\n");
+    }
+
+    @Test (expected = IllegalArgumentException.class)
+    public void byteCountMustMatch() throws IOException {
+        read("S1080010AFA40000F4\n");
+    }
+}
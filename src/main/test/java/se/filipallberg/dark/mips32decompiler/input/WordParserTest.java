@@ -0,0 +1,81 @@
+package se.filipallberg.dark.mips32decompiler.input;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class WordParserTest {
+    private static List<Integer> parse(String... chunks) {
+        List<Integer> words = new ArrayList<>();
+        WordParser parser = new WordParser(words::add);
+        for (String chunk : chunks) {
+            parser.parse(ByteBuffer.wrap(chunk.getBytes(US_ASCII)));
+        }
+        parser.finish();
+        return words;
+    }
+
+    @Test
+    public void hexadecimalAndDecimalNumbersAreParsed() {
+        assertThat(parse("0x23bdfff8\n599654392\n0\n0xffffffff"),
+                is(Arrays.asList(0x23bdfff8, 599654392, 0, -1)));
+    }
+
+    @Test
+    public void blankLinesCommentsAndCarriageReturnsAreSkipped() {
+        assertThat(parse("# factorial\r\n\r\n  0x23bdfff8 // addi\r\n" +
+                        "0xafbf0004#sw\n\n"),
+                is(Arrays.asList(0x23bdfff8, 0xafbf0004)));
+    }
+
+    @Test
+    public void numbersMaySpanChunks() {
+        assertThat(parse("0x23b", "dfff8\n5996", "54392"),
+                is(Arrays.asList(0x23bdfff8, 599654392)));
+    }
+
+    @Test
+    public void numbersAreTruncatedTo32Bits() {
+        /* Long.parseLong followed by a cast, as numberFromString does */
+        assertThat(parse("0x123456789\n4294967297\n-1"),
+                is(Arrays.asList(0x23456789, 1, -1)));
+    }
+
+    @Test
+    public void mappedFilesAreParsed() throws IOException {
+        Path file = Files.createTempFile("words", ".txt");
+        try {
+            Files.write(file, "0x23bdfff8\n0xafbf0004".getBytes(US_ASCII));
+            List<Integer> words = new ArrayList<>();
+            WordParser.parse(file, words::add);
+            assertThat(words, is(Arrays.asList(0x23bdfff8, 0xafbf0004)));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test (expected = NumberFormatException.class)
+    public void garbageIsRejected() {
+        parse("0x23bdfff8\nadd $t1, $t0, $at\n");
+    }
+
+    @Test (expected = NumberFormatException.class)
+    public void twoNumbersOnOneLineAreRejected() {
+        parse("0x23bdfff8 0xafbf0004\n");
+    }
+
+    @Test (expected = NumberFormatException.class)
+    public void prefixWithoutDigitsIsRejected() {
+        parse("0x\n");
+    }
+}
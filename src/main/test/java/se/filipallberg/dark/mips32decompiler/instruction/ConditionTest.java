@@ -0,0 +1,41 @@
+package se.filipallberg.dark.mips32decompiler.instruction;
+
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static se.filipallberg.dark.mips32decompiler.instruction.util.InstructionField.*;
+
+public class ConditionTest {
+    @Test
+    public void conditionIsCompiledIntoMaskAndMatch() {
+        Condition c = new Condition().checkThat(RD).and(SHAMT).is(0x00)
+                .andThat(RT).is(0x01);
+
+        assertThat(c.getMask(), is(RD.mask() | SHAMT.mask() | RT.mask()));
+        assertThat(c.getMatch(), is(RT.compose(0x01)));
+        assertThat(c.evaluate(RT.compose(0x01) | RS.compose(0x1f)), is(true));
+    }
+
+    @Test
+    public void violationsDescribeEveryViolatedField() {
+        Condition c = new Condition().checkThat(RD).and(SHAMT).is(0x00)
+                .andThat(RT).is(0x01);
+        int instruction = SHAMT.compose(0x04);
+
+        assertThat(c.evaluate(instruction), is(false));
+        assertThat(c.violations(instruction), is(SHAMT.bit() | RT.bit()));
+        assertThat(String.join(" ", c.getErrors(instruction)),
+                is("shamt: Got: 4 Expected: 0 rt: Got: 0 Expected: 1"));
+    }
+
+    @Test (expected = IllegalArgumentException.class)
+    public void fieldCanNotBeExpectedToHaveTwoValues() {
+        new Condition().checkThat(RD).is(0x00).andThat(RD).is(0x01);
+    }
+
+    @Test (expected = IllegalArgumentException.class)
+    public void expectedValueMustFitInField() {
+        new Condition().checkThat(SHAMT).is(0x20);
+    }
+}
@@ -0,0 +1,57 @@
+package se.filipallberg.dark.mips32decompiler.instruction;
+
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+public class DecodeCacheTest {
+    @Test
+    public void repeatedInstructionsAreHits() {
+        DecodeCache cache = DecodeCache.withMaximumEntries(16,
+                r -> r.getInstruction().mnemonic());
+
+        /* addi $sp, $sp, 8 and jr $ra */
+        DecodeCache.Entry first = cache.get(0x23bd0008);
+        cache.get(0x03e00008);
+        DecodeCache.Entry second = cache.get(0x23bd0008);
+
+        assertThat(second, is(sameInstance(first)));
+        assertThat(first.getRendering(), is("addi $sp, $sp, 8"));
+        assertThat(first.getResult().getStatus(),
+                is(DecodeResult.Status.LEGAL));
+        assertThat(cache.hitCount(), is(1L));
+        assertThat(cache.missCount(), is(2L));
+        assertThat(cache.evictionCount(), is(0L));
+    }
+
+    @Test
+    public void cacheIsBoundedByEntries() {
+        DecodeCache cache = DecodeCache.withMaximumEntries(1,
+                r -> r.getErrors());
+
+        cache.get(0x23bd0008);
+        cache.get(0x03e00008);
+        cache.get(0xfc000000);
+
+        assertThat(cache.size(), is(1L));
+        assertThat(cache.evictionCount(), is(2L));
+    }
+
+    @Test
+    public void cacheIsBoundedByBytes() {
+        /* No entry fits in a single byte */
+        DecodeCache cache = DecodeCache.fromString("1B",
+                r -> r.getErrors());
+
+        cache.get(0x23bd0008);
+
+        assertThat(cache.size(), is(0L));
+    }
+
+    @Test (expected = IllegalArgumentException.class)
+    public void sizeMustBeEntriesOrBytes() {
+        DecodeCache.fromString("64GB", r -> "");
+    }
+}
@@ -0,0 +1,65 @@
+package se.filipallberg.dark.mips32decompiler.instruction;
+
+import org.junit.Test;
+import se.filipallberg.dark.mips32decompiler.instruction.type.RTypeInstruction.RTypeInstruction;
+import se.filipallberg.dark.mips32decompiler.instruction.util.Format;
+import se.filipallberg.dark.mips32decompiler.instruction.util.InstructionField;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+public class DecodeResultTest {
+    @Test
+    public void legalInstructionHasNoViolations() {
+        /* mul $t1, $t0, $at */
+        DecodeResult result = Instruction.decode(0x71014802);
+
+        assertThat(result.getStatus(), is(DecodeResult.Status.LEGAL));
+        assertThat(result.getViolations(), is(0));
+        assertThat(result.getErrors(), is(""));
+        assertThat(result.getInstruction().mnemonic(),
+                is("mul $t1, $t0, $at"));
+    }
+
+    @Test
+    public void partiallyLegalInstructionReportsViolatedFields() {
+        /* sub with a shamt of 4 */
+        DecodeResult result = Instruction.decode(0x00012122);
+
+        assertThat(result.getStatus(),
+                is(DecodeResult.Status.PARTIALLY_LEGAL));
+        assertThat(result.getType(),
+                is(equalTo(RTypeInstruction.SUB)));
+        assertThat(result.getViolations(),
+                is(InstructionField.SHAMT.bit()));
+        assertThat(result.isViolated(InstructionField.SHAMT), is(true));
+        assertThat(result.isViolated(InstructionField.RD), is(false));
+        assertThat(result.getErrors(), is("shamt: Got: 4 Expected: 0"));
+    }
+
+    @Test (expected = PartiallyLegalInstructionException.class)
+    public void partiallyLegalInstructionIsNotRequiredLegal() {
+        Instruction.decode(0x00012122).requireLegal();
+    }
+
+    @Test
+    public void unknownFunctFieldIsIllegal() {
+        /* There is no R-type instruction with the opcode 0 and funct 1 */
+        DecodeResult result = Instruction.decode(0x00000001);
+
+        assertThat(result.getStatus(), is(DecodeResult.Status.ILLEGAL));
+        assertThat(result.getFormat(), is(Format.R));
+        assertThat(result.getType(), is(nullValue()));
+    }
+
+    @Test
+    public void unknownOpcodeIsIllegal() {
+        /* The opcode 0x3f is not associated with any format */
+        DecodeResult result = Instruction.decode(0xfc000000);
+
+        assertThat(result.getStatus(), is(DecodeResult.Status.ILLEGAL));
+        assertThat(result.getFormat(), is(nullValue()));
+    }
+}
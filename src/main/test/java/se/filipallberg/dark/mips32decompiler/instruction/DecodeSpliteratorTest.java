@@ -0,0 +1,88 @@
+package se.filipallberg.dark.mips32decompiler.instruction;
+
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class DecodeSpliteratorTest {
+    /** Every opcode with a varying remainder, legal or not */
+    private static final int[] words = IntStream.range(0, 1 << 12)
+            .map(i -> i << 20 | i * 0x9e37 & 0xfffff)
+            .toArray();
+
+    private static List<Integer> numbers(Stream<DecodeResult> results) {
+        return results.map(DecodeResult::toNumericalRepresentation)
+                .collect(Collectors.toList());
+    }
+
+    private static List<Integer> expected() {
+        return Arrays.stream(words).boxed().collect(Collectors.toList());
+    }
+
+    @Test
+    public void parallelStreamsKeepTheOrder() {
+        assertThat(numbers(Instruction.decodeAll(words).parallel()),
+                is(expected()));
+    }
+
+    @Test
+    public void resultsMatchDecodingOneAtATime() {
+        List<String> errors = Instruction.decodeAll(words).parallel()
+                .map(DecodeResult::getErrors)
+                .collect(Collectors.toList());
+        for (int i = 0; i < words.length; i++) {
+            assertThat(errors.get(i),
+                    is(Instruction.decode(words[i]).getErrors()));
+        }
+    }
+
+    @Test
+    public void onlyTheRemainingWordsOfABufferAreDecoded() {
+        IntBuffer buffer = ByteBuffer.allocateDirect(4 * words.length)
+                .asIntBuffer();
+        buffer.put(words).flip();
+        buffer.position(10).limit(20);
+
+        assertThat(numbers(Instruction.decodeAll(buffer).parallel()),
+                is(expected().subList(10, 20)));
+        assertThat(buffer.position(), is(10));
+    }
+
+    @Test
+    public void streamsOfWordsAreDecoded() {
+        assertThat(numbers(Instruction.decodeAll(Arrays.stream(words))
+                .parallel()), is(expected()));
+    }
+
+    @Test
+    public void splitsAreEvenAndExactlySized() {
+        Spliterator<DecodeResult> suffix =
+                Instruction.decodeAll(new int[101]).spliterator();
+        Spliterator<DecodeResult> prefix = suffix.trySplit();
+
+        assertThat(prefix.getExactSizeIfKnown(), is(50L));
+        assertThat(suffix.getExactSizeIfKnown(), is(51L));
+        assertThat(suffix.hasCharacteristics(Spliterator.SUBSIZED),
+                is(true));
+    }
+
+    @Test
+    public void singleWordsAreNotSplit() {
+        Spliterator<DecodeResult> spliterator =
+                Instruction.decodeAll(new int[1]).spliterator();
+
+        assertThat(spliterator.trySplit() == null, is(true));
+        assertThat(spliterator.tryAdvance(r -> {}), is(true));
+        assertThat(spliterator.tryAdvance(r -> {}), is(false));
+    }
+}
@@ -0,0 +1,101 @@
+package se.filipallberg.dark.mips32decompiler.instruction;
+
+import org.junit.Test;
+import se.filipallberg.dark.mips32decompiler.instruction.type.ITypeInstruction.ITypeInstruction;
+import se.filipallberg.dark.mips32decompiler.instruction.type.InstructionIds;
+import se.filipallberg.dark.mips32decompiler.instruction.type.InstructionType;
+import se.filipallberg.dark.mips32decompiler.instruction.type.JTypeInstruction.JTypeInstruction;
+import se.filipallberg.dark.mips32decompiler.instruction.type.RTypeInstruction.RTypeInstruction;
+
+import java.util.stream.IntStream;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class DecodedColumnsTest {
+    /** Every opcode with a varying remainder, legal or not */
+    private static final int[] words = IntStream.range(0, 1 << 12)
+            .map(i -> i << 20 | i * 0x9e37 & 0xfffff)
+            .toArray();
+
+    @Test
+    public void columnsMatchDecodingOneAtATime() {
+        DecodedColumns columns = DecodedColumns.decode(words);
+        assertThat(columns.size(), is(words.length));
+        for (int i = 0; i < words.length; i++) {
+            DecodeResult expected = Instruction.decode(words[i]);
+            DecodeResult actual = columns.getResult(i);
+
+            assertThat(columns.getWord(i), is(words[i]));
+            assertThat(columns.getStatus(i), is(expected.getStatus()));
+            assertThat(InstructionIds.typeOf(columns.getIds()[i]),
+                    is(expected.getType()));
+            assertThat(columns.getViolations()[i] & 0xff,
+                    is(expected.getViolations()));
+            assertThat(actual.getErrors(), is(expected.getErrors()));
+        }
+    }
+
+    @Test
+    public void fieldsAreDecomposed() {
+        /* sw $ra, -4($sp) */
+        DecodedColumns columns = DecodedColumns.decode(
+                new int[] {0xafbffffc, 0x0c100004});
+
+        assertThat(columns.getOpcodes()[0], is((byte) 0x2b));
+        assertThat(columns.getRs()[0], is((byte) 29));
+        assertThat(columns.getRt()[0], is((byte) 31));
+        assertThat(columns.getImms()[0], is((short) -4));
+        assertThat(columns.getTargets()[1], is(0x100004));
+    }
+
+    @Test
+    public void storesRelativeToTheStackPointerAreFound() {
+        int[] program = {
+                0x27bdffe8, /* addiu $sp, $sp, -24 */
+                0xafbf0014, /* sw $ra, 20($sp) */
+                0xafa40010, /* sw $a0, 16($sp) */
+                0xac850000, /* sw $a1, 0($a0) */
+                0x8fbf0014, /* lw $ra, 20($sp) */
+        };
+        DecodedColumns columns = DecodedColumns.decode(program);
+        short sw = InstructionIds.of(ITypeInstruction.SW);
+
+        int[] stores = IntStream.range(0, columns.size())
+                .filter(i -> columns.getIds()[i] == sw &&
+                        columns.getRs()[i] == 29)
+                .toArray();
+        assertThat(stores, is(new int[] {1, 2}));
+    }
+
+    @Test
+    public void rangesAreDecodedFromTheirFirstWord() {
+        DecodedColumns columns = DecodedColumns.decode(words, 100, 110);
+
+        assertThat(columns.size(), is(10));
+        assertThat(columns.getWord(0), is(words[100]));
+    }
+
+    @Test
+    public void idsIdentifyEveryKind() {
+        assertThat(InstructionIds.typeOf(InstructionIds.ILLEGAL) == null,
+                is(true));
+        for (InstructionType type : RTypeInstruction.values()) {
+            assertThat(InstructionIds.typeOf(InstructionIds.of(type)),
+                    is(type));
+        }
+        for (InstructionType type : ITypeInstruction.values()) {
+            assertThat(InstructionIds.typeOf(InstructionIds.of(type)),
+                    is(type));
+        }
+        for (InstructionType type : JTypeInstruction.values()) {
+            assertThat(InstructionIds.typeOf(InstructionIds.of(type)),
+                    is(type));
+        }
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void rangesMustBeWithinTheWords() {
+        DecodedColumns.decode(words, 10, words.length + 1);
+    }
+}
@@ -9,15 +9,16 @@ public class ITypeInstructionValidationTest {
     @Test (expected = PartiallyLegalInstructionException.class)
     public void luiShouldNotValidateIfRsIsNot0x00() {
         ITypeInstruction instruction = ITypeInstruction.LUI;
-        instruction.rs = 1;
-        instruction.validate();
+        int rs = 1;
+        instruction.validate(instruction.toNumericalRepresentation(rs, 0, 0));
     }
 
     @Test
     public void luiIsValidIfRsIs0x00() {
         ITypeInstruction instruction = ITypeInstruction.LUI;
-        instruction.rs = 0x00;
-        assertTrue(instruction.validate());
+        int rs = 0x00;
+        assertTrue(instruction.validate(
+                instruction.toNumericalRepresentation(rs, 0, 0)));
     }
 
 }
\ No newline at end of file
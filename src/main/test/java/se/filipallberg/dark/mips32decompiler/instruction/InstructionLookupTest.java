@@ -0,0 +1,97 @@
+package se.filipallberg.dark.mips32decompiler.instruction;
+
+import org.junit.Test;
+import se.filipallberg.dark.mips32decompiler.instruction.type.ITypeInstruction.ITypeInstruction;
+import se.filipallberg.dark.mips32decompiler.instruction.type.RTypeInstruction.RTypeInstruction;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public class InstructionLookupTest {
+    /** Field values tried in turn, preferring non-zero values */
+    private static final int[] values = {1, 4, 0};
+
+    @Test
+    public void everyRTypeInstructionIsIdentifiedAsItself() {
+        for (RTypeInstruction r : RTypeInstruction.values()) {
+            int instruction = validInstruction(r);
+            assertThat(r.name(), RTypeInstruction.lookup(instruction),
+                    is(r));
+        }
+    }
+
+    @Test
+    public void everyITypeInstructionIsIdentifiedAsItself() {
+        for (ITypeInstruction i : ITypeInstruction.values()) {
+            for (int rt = 0; rt < 32; rt++) {
+                int instruction = i.toNumericalRepresentation(0, rt, 0);
+                ITypeInstruction identified = ITypeInstruction
+                        .lookup(instruction);
+                if (identified == i) {
+                    break;
+                }
+                assertTrue(i.name() + " is not identified", rt < 31);
+            }
+        }
+    }
+
+    @Test
+    public void unknownFunctFieldIsNotIdentified() {
+        /* There is no R-type instruction with the opcode 0 and funct 1 */
+        assertThat(RTypeInstruction.lookup(0x00000001), is(nullValue()));
+    }
+
+    @Test
+    public void instructionLookupAgreesWithDecode() {
+        /* add, sw, jal, an unknown funct and an unknown opcode */
+        int[] words = {0x01014820, 0xafbf0004, 0x0c100009, 0x00000001,
+                0xfc000000};
+        for (int word : words) {
+            assertThat(Instruction.lookup(word),
+                    is(Instruction.decode(word).getType()));
+        }
+        assertThat(Instruction.lookup(0xafbf0004),
+                is((Object) ITypeInstruction.SW));
+        assertThat(Instruction.lookup(0xfc000000), is(nullValue()));
+    }
+
+    @Test
+    public void lookupsOfEachTypeAgreeWithInstructionLookup() {
+        /* add, jr $ra, mul, sw $ra, 4($sp), bgezal $zero, 3 */
+        int[] words = {0x01014820, 0x03e00008, 0x70821002, 0xafbf0004,
+                0x04110003};
+        for (int word : words) {
+            Object identified = word >>> 26 == 0 || word >>> 26 == 0x1c ?
+                    RTypeInstruction.lookup(word) :
+                    ITypeInstruction.lookup(word);
+            assertThat(identified, is((Object) Instruction.lookup(word)));
+            assertThat(identified == null, is(false));
+        }
+    }
+
+    /**
+     * Returns an instruction of the given kind that satisfies all of its
+     * conditions, preferring non-zero fields.
+     */
+    private static int validInstruction(RTypeInstruction r) {
+        for (int rs : values) {
+            for (int rt : values) {
+                for (int rd : values) {
+                    for (int shamt : values) {
+                        int instruction = r.toNumericalRepresentation(
+                                rs, rt, rd, shamt);
+                        try {
+                            r.validate(instruction);
+                            return instruction;
+                        } catch (PartiallyLegalInstructionException e) {
+                            /* Try the next combination */
+                        }
+                    }
+                }
+            }
+        }
+        throw new AssertionError("No valid instruction for: " + r);
+    }
+}
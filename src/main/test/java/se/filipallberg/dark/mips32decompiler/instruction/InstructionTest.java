@@ -1,10 +1,12 @@
 package se.filipallberg.dark.mips32decompiler.instruction;
 
 import org.junit.Test;
+import se.filipallberg.dark.mips32decompiler.instruction.type.RTypeInstruction.RTypeInstruction;
 import se.filipallberg.dark.mips32decompiler.instruction.util.Format;
 
 import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.CoreMatchers.is;
@@ -33,6 +35,50 @@ public class InstructionTest {
         testData.forEach(InstructionTest::testDecompilation);
     }
 
+    @Test
+    public void instructionIsRenderedFromWordAndType() {
+        Instruction instruction = new Instruction(0x71014802,
+                RTypeInstruction.MUL);
+
+        assertThat(instruction.getFormat(), is(Format.R));
+        assertThat(instruction.asDecimalString(), is("[28 8 1 9 0 2]"));
+        assertThat(instruction.mnemonic(), is("mul $t1, $t0, $at"));
+    }
+
+    @Test (expected = IllegalStateException.class)
+    public void unknownOpcodeShouldNotDecode() {
+        /* The opcode 0x3f is not associated with any format */
+        Instruction.fromInteger(0xfc000000);
+    }
+
+    @Test
+    public void decodingShouldNotShareStateBetweenThreads() throws
+            InterruptedException {
+        /* add $t1, $t0, $at and add $v0, $a0, $v0 respectively */
+        int[] words = {0x01014820, 0x00821020};
+        String[] mnemonics = {"add $t1, $t0, $at", "add $v0, $a0, $v0"};
+        AtomicBoolean mismatch = new AtomicBoolean(false);
+
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            final int k = t % 2;
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 10000; i++) {
+                    Instruction instruction = Instruction.fromInteger(words[k]);
+                    if (!instruction.mnemonic().equals(mnemonics[k])) {
+                        mismatch.set(true);
+                    }
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertThat(mismatch.get(), is(false));
+    }
+
     private static void testDecompilation(TestCase testCase) {
         testDecompilation(testCase.numericalRepresentation,
                 testCase.format,
@@ -4,9 +4,13 @@ import com.google.common.collect.Iterables;
 import org.junit.Test;
 import se.filipallberg.dark.mips32decompiler.MIPS32Decompiler;
 
+import java.io.BufferedReader;
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.PrintStream;
+import java.io.StringReader;
 import java.nio.charset.StandardCharsets;
 import java.util.Iterator;
 
@@ -59,4 +63,44 @@ public class MIPS32DecompilerTest {
         String actual = String.join("\n", it);
         assertThat(actual, is(equalTo(expected)));
     }
+
+    @Test
+    public void eachInputIsTabulatedOnItsOwn() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        PrintStream stdout = System.out;
+        System.setOut(new PrintStream(out, true, "UTF-8"));
+        try {
+            MIPS32Decompiler.outputTable(new BufferedReader(
+                    new StringReader("0x23bdfff8\n\n0xafbf0004")));
+            MIPS32Decompiler.outputTable(new BufferedReader(
+                    new StringReader("599654392\n")));
+        } finally {
+            System.setOut(stdout);
+        }
+
+        String[] lines = out.toString("UTF-8").split("\n");
+        assertThat(lines.length, is(5));
+        assertThat(lines[1].startsWith("0x23bdfff8"), is(true));
+        assertThat(lines[2].startsWith("0xafbf0004"), is(true));
+        assertThat(lines[3].startsWith("Instruction"), is(true));
+        assertThat(lines[4].startsWith("0x23bdfff8"), is(true));
+    }
+
+    @Test
+    public void numbersAreOutputFromTheBaseAddress() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        PrintStream stdout = System.out;
+        System.setOut(new PrintStream(out, true, "UTF-8"));
+        try {
+            MIPS32Decompiler.main(new String[] {"--base", "0x400000", "-n",
+                    "0x23bdfff8", "0xafbf0004"});
+        } finally {
+            System.setOut(stdout);
+        }
+
+        String[] lines = out.toString("UTF-8").split("\n");
+        assertThat(lines.length, is(3));
+        assertThat(lines[1].startsWith("0x00400000 0x23bdfff8"), is(true));
+        assertThat(lines[2].startsWith("0x00400004 0xafbf0004"), is(true));
+    }
 }
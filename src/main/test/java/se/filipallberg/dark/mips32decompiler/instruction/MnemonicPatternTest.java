@@ -0,0 +1,80 @@
+package se.filipallberg.dark.mips32decompiler.instruction;
+
+import org.junit.Test;
+import se.filipallberg.dark.mips32decompiler.instruction.mnemonic.MnemonicPattern;
+import se.filipallberg.dark.mips32decompiler.instruction.type.InstructionType;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class MnemonicPatternTest {
+    private static final int[] words = {0x71014802, 0x23bdfff8, 0xafbf0004,
+            0x00000000, 0x0c100009, 0x3c011001, 0x00021080, 0x40802000};
+    private static final String[] mnemonics = {"mul $t1, $t0, $at",
+            "addi $sp, $sp, -8", "sw $ra, 4($sp)", "nop", "jal 0x100009",
+            "lui $at, 4097", "sll $v0, $v0, 2", "mtc0 $a0, $zero"};
+
+    private static MnemonicPattern patternOf(int instruction) {
+        InstructionType type = Instruction.decode(instruction).getType();
+        return type.getMnemonicPattern();
+    }
+
+    @Test
+    public void patternsRenderIntoStringBuilder() {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < words.length; i++) {
+            sb.setLength(0);
+            patternOf(words[i]).appendTo(sb, words[i]);
+            assertThat(sb.toString(), is(mnemonics[i]));
+        }
+    }
+
+    @Test
+    public void patternsRenderIntoByteBuffer() {
+        ByteBuffer buffer = ByteBuffer.allocate(64);
+        for (int i = 0; i < words.length; i++) {
+            buffer.clear();
+            patternOf(words[i]).writeTo(buffer, words[i]);
+            buffer.flip();
+            assertThat(StandardCharsets.US_ASCII.decode(buffer).toString(),
+                    is(mnemonics[i]));
+        }
+    }
+
+    @Test
+    public void shamtIsRenderedAsAnUnsignedDecimal() {
+        /* sll $zero, $zero, 1 and sra $t0, $t1, 31 */
+        int[] shifts = {0x00000040, 0x000947c3};
+        String[] expected = {"sll $zero, $zero, 1", "sra $t0, $t1, 31"};
+        ByteBuffer buffer = ByteBuffer.allocate(64);
+        for (int i = 0; i < shifts.length; i++) {
+            assertThat(Instruction.decode(shifts[i]).getInstruction()
+                    .getMnemonicRepresentation().toString(), is(expected[i]));
+            buffer.clear();
+            patternOf(shifts[i]).writeTo(buffer, shifts[i]);
+            buffer.flip();
+            assertThat(StandardCharsets.US_ASCII.decode(buffer).toString(),
+                    is(expected[i]));
+        }
+    }
+
+    @Test
+    public void patternsAppendToWhatHasBeenRendered() {
+        /* Every instruction is rendered after the one before */
+        StringBuilder sb = new StringBuilder();
+        ByteBuffer buffer = ByteBuffer.allocate(256);
+        for (int i = 0; i < words.length; i++) {
+            patternOf(words[i]).appendTo(sb, words[i]).append('\n');
+            patternOf(words[i]).writeTo(buffer, words[i]).put((byte) '\n');
+        }
+        buffer.flip();
+
+        String expected = String.join("\n", mnemonics) + "\n";
+        assertThat(sb.toString(), is(expected));
+        assertThat(StandardCharsets.US_ASCII.decode(buffer).toString(),
+                is(expected));
+    }
+}
@@ -29,7 +29,6 @@ public class ValidationTest {
     @Test (expected = PartiallyLegalInstructionException.class)
     public void subShouldNotValidateIfShamtIsNonZero() {
         RTypeInstruction r = RTypeInstruction.SUB;
-        r.shamt = 0x01;
-        r.validate();
+        r.validate(r.toNumericalRepresentation(0, 0, 0, 0x01));
     }
 }
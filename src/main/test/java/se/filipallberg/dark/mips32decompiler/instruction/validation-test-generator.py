@@ -32,10 +32,9 @@ def get_instruction_name(enum: str) -> str:
     ... '     * Is only valid if shamt is 0'
     ... '     */'
     ... '    AND(0x00, 0x24,'
-    ... '        new Condition<RTypeInstruction, Integer>()'
-    ... '               .checkThat(Int::shamt).is(0x00),'
-    ... '        new MnemonicPattern<>('
-    ... '               Str::iname, Str::rd,  Str::rs,  Str::rt)),')
+    ... '        new Condition()'
+    ... '               .checkThat(SHAMT).is(0x00),'
+    ... '        new MnemonicPattern(RD, RS, RT)),')
     >>> get_instruction_name(enum)
     'AND'
 
@@ -47,11 +46,11 @@ def get_instruction_name(enum: str) -> str:
     ... '     * coprocessor 1.'
     ... '     */'
     ... '    // TODO: Validate that rs, shamt, and funct is 0'
-    ... '    MFC0(0x10, 0x00, new Condition<RTypeInstruction, Integer>()'
-    ... '            .checkThat(Int::rs).is(0x00).'
-    ... '                    andThat(Int::shamt).is(0x00).'
-    ... '                    andThat(Int::funct).is(0x00),'
-    ... '            new MnemonicPattern<>(Str::iname, Str::rt,  Str::rd)),')
+    ... '    MFC0(0x10, 0x00, new Condition()'
+    ... '            .checkThat(RS).is(0x00).'
+    ... '                    andThat(SHAMT).is(0x00).'
+    ... '                    andThat(FUNCT).is(0x00),'
+    ... '            new MnemonicPattern(RT, RD)),')
     >>> get_instruction_name(enum)
     'MFC0'
     """
@@ -79,12 +78,11 @@ def get_condition_constructor(enum: str) -> str:
     declaration
 
     >>> enum = ("ADDU(0, 0x21,"
-    ...     "new Condition<RTypeInstruction, Integer>()"
-    ...             ".checkThat(Int::shamt).is(0x00),"
-    ...     "new MnemonicPattern<>("
-    ...             "Str::iname, Str::rd,  Str::rs,  Str::rt))")
+    ...     "new Condition()"
+    ...             ".checkThat(SHAMT).is(0x00),"
+    ...     "new MnemonicPattern(RD, RS, RT))")
     >>> get_condition_constructor(enum)
-    'new Condition<RTypeInstruction, Integer>().checkThat(Int::shamt).is(0x00)'
+    'new Condition().checkThat(SHAMT).is(0x00)'
     """
     # Match against the condition constructor, and get the starting index.
     # Since we want to retrieve the substring describing the entire
@@ -125,10 +123,9 @@ def create_valid_test_title(r: Record) -> str:
     Similarily, we can test the function using the input generated
     from get_condition which should be valid
     >>> enum = ("ADDU(0, 0x21,"
-    ...     "new Condition<RTypeInstruction, Integer>()"
-    ...             ".checkThat(Int::shamt).and(Int::rd).is(0x00),"
-    ...     "new MnemonicPattern<>("
-    ...             "Str::iname, Str::rd,  Str::rs,  Str::rt))")
+    ...     "new Condition()"
+    ...             ".checkThat(SHAMT).and(RD).is(0x00),"
+    ...     "new MnemonicPattern(RD, RS, RT))")
     >>> create_valid_test_title(create_assignment_statements(enum))
     'adduIsValidIfRdIs0x00AndShamtIs0x00'
     """
@@ -156,20 +153,40 @@ def create_assignment_statements_output(r: Record) -> [str]:
     their expected values.
 
     >>> enum = ("ADDU(0, 0x21,"
-    ...     "new Condition<RTypeInstruction, Integer>()"
-    ...             ".checkThat(Int::shamt).and(Int::rd).is(0x00),"
-    ...     "new MnemonicPattern<>("
-    ...             "Str::iname, Str::rd,  Str::rs,  Str::rt))")
+    ...     "new Condition()"
+    ...             ".checkThat(SHAMT).and(RD).is(0x00),"
+    ...     "new MnemonicPattern(RD, RS, RT))")
     >>> create_assignment_statements_output(create_assignment_statements(enum))
-    ['instruction.rd = 0x00', 'instruction.shamt = 0x00']
+    ['int rd = 0x00', 'int shamt = 0x00']
     """
     assignments = []
     for (field_name, expected_value) in sorted(vars(r).items()):
         if (field_name is not 'iname'):
-            assignments.append('instruction.' + field_name + ' = ' + expected_value)
+            assignments.append('int ' + field_name + ' = ' + expected_value)
 
     return assignments
 
+# The arguments, in order, of toNumericalRepresentation for each type
+composable_fields = {'RTypeInstruction': ['rs', 'rt', 'rd', 'shamt'],
+                     'ITypeInstruction': ['rs', 'rt', 'imm']}
+
+def create_composed_instruction(r: Record, instruction_type: str) -> str:
+    """
+    Generates a call composing an instruction out of the fields
+    assigned in the record. Fields without an assignment are 0.
+
+    >>> enum = ("ADDU(0, 0x21,"
+    ...     "new Condition()"
+    ...             ".checkThat(SHAMT).and(RD).is(0x00),"
+    ...     "new MnemonicPattern(RD, RS, RT))")
+    >>> r = create_assignment_statements(enum)
+    >>> create_composed_instruction(r, 'RTypeInstruction')
+    'instruction.toNumericalRepresentation(0, 0, rd, shamt)'
+    """
+    args = [f if f in vars(r) else '0'
+            for f in composable_fields[instruction_type]]
+    return 'instruction.toNumericalRepresentation(' + ', '.join(args) + ')'
+
 def create_assignment_statements(enum: str) -> Record:
     """
     Expects to retrieve a string describing a particular enum
@@ -178,10 +195,9 @@ def create_assignment_statements(enum: str) -> Record:
     name of the enum and the expected values of each field.
 
     >>> enum = ("ADDU(0, 0x21,"
-    ...     "new Condition<RTypeInstruction, Integer>()"
-    ...             ".checkThat(Int::shamt).and(Int::rd).is(0x00),"
-    ...     "new MnemonicPattern<>("
-    ...             "Str::iname, Str::rd,  Str::rs,  Str::rt))")
+    ...     "new Condition()"
+    ...             ".checkThat(SHAMT).and(RD).is(0x00),"
+    ...     "new MnemonicPattern(RD, RS, RT))")
     >>> create_assignment_statements(enum)
     namespace(iname='ADDU', rd='0x00', shamt='0x00')
 
@@ -192,11 +208,11 @@ def create_assignment_statements(enum: str) -> Record:
     ... '     * coprocessor 1.'
     ... '     */'
     ... '    // TODO: Validate that rs, shamt, and funct is 0'
-    ... '    MFC0(0x10, 0x00, new Condition<RTypeInstruction, Integer>()'
-    ... '            .checkThat(Int::rs).is(0x00).'
-    ... '                    andThat(Int::shamt).is(0x00).'
-    ... '                    andThat(Int::funct).is(0x00),'
-    ... '            new MnemonicPattern<>(Str::iname, Str::rt,  Str::rd)),')
+    ... '    MFC0(0x10, 0x00, new Condition()'
+    ... '            .checkThat(RS).is(0x00).'
+    ... '                    andThat(SHAMT).is(0x00).'
+    ... '                    andThat(FUNCT).is(0x00),'
+    ... '            new MnemonicPattern(RT, RD)),')
     >>> create_assignment_statements(enum)
     namespace(funct='0x00', iname='MFC0', rs='0x00', shamt='0x00')
     """
@@ -219,18 +235,18 @@ def get_conditions(condition_constructor):
     A very simple example showcasing that we expect combined actual
     values to have their common expected value.
 
-    >>> condition_constructor = ("new Condition<RTypeInstruction, Integer>()"
-    ...                          ".checkThat(Int::shamt).and(Int::rd).is(0x00)")
+    >>> condition_constructor = ("new Condition()"
+    ...                          ".checkThat(SHAMT).and(RD).is(0x00)")
     >>> get_conditions(condition_constructor)
     [['shamt', 'rd', '0x00']]
 
     A more extensive example shows that the function supports parsing
     of more complex expressions
 
-    >>> enum = ("new Condition<RTypeInstruction, Integer>()"
-    ... ".checkThat(Int::rt).is(0x00)."
-    ... "checkThat(Int::rs).and(Int::shamt).and(Int::funct).is(0x00)"
-    ... "andThat(Int::rd).is(0x11).")
+    >>> enum = ("new Condition()"
+    ... ".checkThat(RT).is(0x00)."
+    ... "checkThat(RS).and(SHAMT).and(FUNCT).is(0x00)"
+    ... "andThat(RD).is(0x11).")
     >>> get_conditions(enum)
     [['rt', '0x00'], ['rs', 'shamt', 'funct', '0x00'], ['rd', '0x11']]
     """
@@ -242,13 +258,15 @@ def get_conditions(condition_constructor):
     # index get the argument as it will be the item immediately after.
     args = condition_constructor.replace('(', ' ').replace(')', ' ').split()
 
-    # If an item starts with "Int::" it is a metod reference with the
-    # same name as the field which it retrieves. We need the name of
-    # that field to generate the appropriate code.
+    # The argument following a "checkThat", "and" or "andThat" method
+    # call is the InstructionField constant that the condition checks.
+    # The constants are named after the fields that they describe, but
+    # in upper case. We need the name of that field to generate the
+    # appropriate code.
     #
     # For an example, if we parse the following line:
     #
-    # andThat(Int::shamt).is(0x00)
+    # andThat(SHAMT).is(0x00)
     #
     # we want to yank out "shamt" specifically so that we can use it
     # to compose a test. Furthermore we want to pair it with what
@@ -262,7 +280,7 @@ def get_conditions(condition_constructor):
     #
     # An extensive example would be the line
     #
-    # checkThat(Int::rs).andThat(Int::shamt).and(Int::funct).is(0x00)
+    # checkThat(RS).andThat(SHAMT).and(FUNCT).is(0x00)
     #
     # is essentially the following condition:
     #
@@ -270,7 +288,7 @@ def get_conditions(condition_constructor):
     #
     # Sidenote: Do not write conditions like that, instead write
     #
-    # checkThat(Int::rs).and(Int::shamt).and(Int::funct).is(0x00)
+    # checkThat(RS).and(SHAMT).and(FUNCT).is(0x00)
     #
     # "andThat" is best to indicate the start of a new equality
     # although it is not required. Which is to say that either line
@@ -285,16 +303,16 @@ def get_conditions(condition_constructor):
     #
     # [['rs', 'shamt', 'funct', 0]]
 
-    # Iteratively, we compound all Int:: expressions until
-    # an "is" method is called.
-    prefix = "Int::"
+    # Iteratively, we compound all fields until an "is" method is
+    # called.
+    field_methods = ('checkThat', 'and', 'andThat')
     conditions = []
     fields = []
     i = 0
     while i < len(args):
         arg = args[i]
-        if arg.startswith(prefix):
-            fields.append(arg[len(prefix)::])
+        if arg.strip('.') in field_methods:
+            fields.append(args[i+1].lower())
         if arg.startswith(".is"):
             fields.append(args[i+1])
             conditions.append(fields)
@@ -310,25 +328,24 @@ def create_invalid_test_cases(enum: str, instruction_type: str) -> str:
     is thrown when one of the conditions is not met
 
     >>> enum = ("ADDU(0, 0x21,"
-    ...     "new Condition<RTypeInstruction, Integer>()"
-    ...             ".checkThat(Int::shamt).and(Int::rd).is(0x00),"
-    ...     "new MnemonicPattern<>("
-    ...             "Str::iname, Str::rd,  Str::rs,  Str::rt))")
+    ...     "new Condition()"
+    ...             ".checkThat(SHAMT).and(RD).is(0x00),"
+    ...     "new MnemonicPattern(RD, RS, RT))")
     >>> print(create_invalid_test_cases(enum, 'RTypeInstruction'))
     @Test (expected = PartiallyLegalInstructionException.class)
     public void adduShouldNotValidateIfRdIsNot0x00() {
         RTypeInstruction instruction = RTypeInstruction.ADDU;
-        instruction.rd = 1;
-        instruction.shamt = 0x00;
-        instruction.validate();
+        int rd = 1;
+        int shamt = 0x00;
+        instruction.validate(instruction.toNumericalRepresentation(0, 0, rd, shamt));
     }
     <BLANKLINE>
     @Test (expected = PartiallyLegalInstructionException.class)
     public void adduShouldNotValidateIfShamtIsNot0x00() {
         RTypeInstruction instruction = RTypeInstruction.ADDU;
-        instruction.rd = 0x00;
-        instruction.shamt = 1;
-        instruction.validate();
+        int rd = 0x00;
+        int shamt = 1;
+        instruction.validate(instruction.toNumericalRepresentation(0, 0, rd, shamt));
     }
 
 
@@ -340,8 +357,7 @@ def create_invalid_test_cases(enum: str, instruction_type: str) -> str:
     ... '     * Move conditional zero. Move register rs to register rd if'
     ... '     * register rt is zero.'
     ... '     */'
-    ... '    MOVZ(0x00, 0x10, new MnemonicPattern<>(Str::iname, '
-    ... '        Str::rd,  Str::rs,  Str::rt)),')
+    ... '    MOVZ(0x00, 0x10, new MnemonicPattern(RD, RS, RT)),')
     >>> create_invalid_test_cases(enum, 'RTypeInstruction')
     ''
     """
@@ -381,7 +397,9 @@ def create_invalid_test_cases(enum: str, instruction_type: str) -> str:
             indent = '    ' # 4 spaces
 
             # Strings inside ('...', '...') are implicitly joined
-            body_statement.append(('instruction.validate()'))
+            body_statement.append('instruction.validate(' +
+                    create_composed_instruction(invalid_assignment,
+                                                instruction_type) + ')')
 
             body_statement = [indent + s + ';' for s in body_statement]
 
@@ -399,10 +417,9 @@ def create_invalid_test_title(r: Record, name: str) -> str:
     name is something other than the expected value
     
     >>> enum = ("ADDU(0, 0x21,"
-    ...     "new Condition<RTypeInstruction, Integer>()"
-    ...             ".checkThat(Int::shamt).and(Int::rd).is(0x00),"
-    ...     "new MnemonicPattern<>("
-    ...             "Str::iname, Str::rd,  Str::rs,  Str::rt))")
+    ...     "new Condition()"
+    ...             ".checkThat(SHAMT).and(RD).is(0x00),"
+    ...     "new MnemonicPattern(RD, RS, RT))")
     >>> create_invalid_test_title(create_assignment_statements(enum), 'shamt')
     'adduShouldNotValidateIfShamtIsNot0x00'
     """
@@ -428,17 +445,16 @@ def create_valid_test_case(enum: str, instruction_type: str) -> str:
     meets all its conditions
 
     >>> enum = ("ADDU(0, 0x21,"
-    ...     "new Condition<RTypeInstruction, Integer>()"
-    ...             ".checkThat(Int::shamt).and(Int::rd).is(0x00),"
-    ...     "new MnemonicPattern<>("
-    ...             "Str::iname, Str::rd,  Str::rs,  Str::rt))")
+    ...     "new Condition()"
+    ...             ".checkThat(SHAMT).and(RD).is(0x00),"
+    ...     "new MnemonicPattern(RD, RS, RT))")
     >>> print(create_valid_test_case(enum, 'RTypeInstruction'))
     @Test
     public void adduIsValidIfRdIs0x00AndShamtIs0x00() {
         RTypeInstruction instruction = RTypeInstruction.ADDU;
-        instruction.rd = 0x00;
-        instruction.shamt = 0x00;
-        assertTrue(instruction.validate());
+        int rd = 0x00;
+        int shamt = 0x00;
+        assertTrue(instruction.validate(instruction.toNumericalRepresentation(0, 0, rd, shamt)));
     }
 
     If there are no conditions to satisfy the empty string is returned.
@@ -449,8 +465,7 @@ def create_valid_test_case(enum: str, instruction_type: str) -> str:
     ... '     * Move conditional zero. Move register rs to register rd if'
     ... '     * register rt is zero.'
     ... '     */'
-    ... '    MOVZ(0x00, 0x10, new MnemonicPattern<>(Str::iname, '
-    ... '        Str::rd,  Str::rs,  Str::rt)),')
+    ... '    MOVZ(0x00, 0x10, new MnemonicPattern(RD, RS, RT)),')
     >>> create_valid_test_case(enum, 'RTypeInstruction')
     ''
     """
@@ -476,7 +491,8 @@ def create_valid_test_case(enum: str, instruction_type: str) -> str:
     indent = '    ' # 4 spaces
 
     # Strings inside ('...', '...') are implicitly joined
-    body_statement.append(('assertTrue(instruction.validate())'))
+    body_statement.append('assertTrue(instruction.validate(' +
+            create_composed_instruction(assignments, instruction_type) + '))')
 
     body_statement = [indent + s + ';' for s in body_statement]
 
@@ -0,0 +1,122 @@
+package se.filipallberg.dark.mips32decompiler.output;
+
+import org.junit.Test;
+import se.filipallberg.dark.mips32decompiler.Column;
+import se.filipallberg.dark.mips32decompiler.instruction.Instruction;
+import se.filipallberg.dark.mips32decompiler.instruction.type.InstructionIds;
+import se.filipallberg.dark.mips32decompiler.instruction.type.RTypeInstruction.RTypeInstruction;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class OutputFormatTest {
+    /** A legal, a partially legal and an illegal instruction */
+    private static final int[] instructions = {0x23bdfff8, 0x00012122,
+            0xfc000000};
+
+    private static byte[] write(OutputFormat format, boolean addressed) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        InstructionWriter writer = format.create(out,
+                Arrays.asList(Column.values()), addressed);
+        /* Two inputs */
+        for (int i = 0; i < 2; i++) {
+            writer.begin();
+            long address = 0x00400000;
+            for (int instruction : instructions) {
+                writer.write(address, Instruction.decode(instruction));
+                address += 4;
+            }
+        }
+        writer.flush();
+        return out.toByteArray();
+    }
+
+    private static String[] lines(OutputFormat format, boolean addressed) {
+        return new String(write(format, addressed), StandardCharsets.US_ASCII)
+                .split("\n");
+    }
+
+    @Test
+    public void ndjsonHasAnObjectPerLine() {
+        String[] lines = lines(OutputFormat.NDJSON, true);
+
+        assertThat(lines.length, is(6));
+        assertThat(lines[0], is("{\"address\":\"0x00400000\"," +
+                "\"instruction\":\"0x23bdfff8\",\"status\":\"legal\"," +
+                "\"format\":\"I\",\"mnemonic\":\"addi\",\"fields\":" +
+                "{\"opcode\":8,\"rs\":29,\"rt\":29,\"imm\":65528}," +
+                "\"source\":\"addi $sp, $sp, -8\"}"));
+        assertThat(lines[1], is("{\"address\":\"0x00400004\"," +
+                "\"instruction\":\"0x00012122\"," +
+                "\"status\":\"partially_legal\",\"format\":\"R\"," +
+                "\"mnemonic\":\"sub\",\"fields\":{\"opcode\":0,\"rs\":0," +
+                "\"rt\":1,\"rd\":4,\"shamt\":4,\"funct\":34}," +
+                "\"source\":\"sub $a0, $zero, $at\"," +
+                "\"violations\":[\"shamt\"]," +
+                "\"errors\":\"shamt: Got: 4 Expected: 0\"}"));
+        assertThat(lines[2], is("{\"address\":\"0x00400008\"," +
+                "\"instruction\":\"0xfc000000\",\"status\":\"illegal\"," +
+                "\"format\":null,\"mnemonic\":null,\"errors\":\"The " +
+                "opcode: 63 is not associated with any known format.\"}"));
+    }
+
+    @Test
+    public void csvHasASingleHeader() {
+        String[] lines = lines(OutputFormat.CSV, false);
+
+        assertThat(lines.length, is(7));
+        assertThat(lines[0], is("instruction,status,format,mnemonic," +
+                "opcode,rs,rt,rd,shamt,funct,imm,target,source,errors"));
+        assertThat(lines[1], is("0x23bdfff8,legal,I,addi,8,29,29,,,," +
+                "65528,,\"addi $sp, $sp, -8\","));
+        assertThat(lines[2], is("0x00012122,partially_legal,R,sub," +
+                "0,0,1,4,4,34,,,\"sub $a0, $zero, $at\"," +
+                "shamt: Got: 4 Expected: 0"));
+        assertThat(lines[3], is("0xfc000000,illegal,,,,,,,,,,,," +
+                "The opcode: 63 is not associated with any known format."));
+        assertThat(lines[4], is(lines[1]));
+    }
+
+    @Test
+    public void binaryRecordsAreFixedSize() {
+        ByteBuffer records = ByteBuffer.wrap(
+                write(OutputFormat.BINARY, true));
+
+        assertThat(records.remaining(),
+                is(6 * BinaryRecordWriter.RECORD_SIZE));
+
+        /* sub $a0, $zero, $at with a violated shamt */
+        records.position(BinaryRecordWriter.RECORD_SIZE);
+        assertThat(records.getLong(), is(0x00400004L));
+        assertThat(records.getInt(), is(0x00012122));
+        assertThat(records.get(), is((byte) 0));
+        assertThat(records.get(), is((byte) 1));
+        assertThat(records.getShort(),
+                is(InstructionIds.of(RTypeInstruction.SUB)));
+        assertThat(records.get(), is((byte) 0));
+        assertThat(records.get(), is((byte) 0));
+        assertThat(records.get(), is((byte) 1));
+        assertThat(records.get(), is((byte) 4));
+        assertThat(records.get(), is((byte) 4));
+        assertThat(records.get(), is((byte) 34));
+        assertThat(records.getShort(), is((short) 0x2122));
+        assertThat(records.getInt(), is(0x00012122));
+        assertThat(records.get(), is((byte) (1 << 4)));
+
+        /* The illegal instruction has neither a format nor a mnemonic */
+        records.position(2 * BinaryRecordWriter.RECORD_SIZE + 12);
+        assertThat(records.get(), is((byte) 0xff));
+        assertThat(records.get(), is((byte) 2));
+        assertThat(records.getShort(), is(InstructionIds.ILLEGAL));
+    }
+
+    @Test (expected = IllegalArgumentException.class)
+    public void formatMustBeKnown() {
+        OutputFormat.fromString("xml");
+    }
+}
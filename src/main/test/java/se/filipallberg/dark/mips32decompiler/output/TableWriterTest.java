@@ -0,0 +1,104 @@
+package se.filipallberg.dark.mips32decompiler.output;
+
+import org.junit.Test;
+import se.filipallberg.dark.mips32decompiler.Column;
+import se.filipallberg.dark.mips32decompiler.instruction.DecodeResult;
+import se.filipallberg.dark.mips32decompiler.instruction.Instruction;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class TableWriterTest {
+    /**
+     * A legal, a partially legal and an illegal instruction, followed by
+     * instructions with a shift amount, a target and an unknown funct
+     */
+    private static final int[] instructions = {0x23bdfff8, 0x00012122,
+            0xfc000000, 0x00101080, 0x0c100004, 0x0000003f};
+
+    /** What the table was written as before the writer existed */
+    private static String format(List<Column> columns, long address) {
+        String rowFormat = Column.rowFormat(columns);
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("%-10s ", "Address"));
+        sb.append(String.format(rowFormat,
+                columns.stream().map(Column::getHeader).toArray()));
+        for (int instruction : instructions) {
+            DecodeResult result = Instruction.decode(instruction);
+            sb.append(String.format("0x%08x ", address));
+            address += 4;
+            sb.append(String.format(rowFormat, columns.stream()
+                    .map(c -> c.render(result)).toArray()));
+            if (result.getStatus() != DecodeResult.Status.LEGAL) {
+                sb.append(String.format("  Errors: %-15s\n",
+                        result.getErrors()));
+            }
+        }
+        return sb.toString();
+    }
+
+    private static String write(List<Column> columns, long address) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        TableWriter writer = new TableWriter(Channels.newChannel(out),
+                columns, true);
+        writer.begin();
+        for (int instruction : instructions) {
+            writer.write(address, Instruction.decode(instruction));
+            address += 4;
+        }
+        writer.flush();
+        return new String(out.toByteArray(), StandardCharsets.US_ASCII);
+    }
+
+    @Test
+    public void outputIsThatOfFormat() {
+        List<Column> columns = Arrays.asList(Column.values());
+
+        assertThat(write(columns, 0), is(format(columns, 0)));
+        assertThat(write(columns, 0xbfc00000L),
+                is(format(columns, 0xbfc00000L)));
+        /* Wider than the address column */
+        assertThat(write(columns, 0x123456789L),
+                is(format(columns, 0x123456789L)));
+    }
+
+    @Test
+    public void onlyTheGivenColumnsAreWritten() {
+        List<Column> columns = Column.fromString("source,instruction");
+
+        assertThat(write(columns, 0), is(format(columns, 0)));
+    }
+
+    @Test
+    public void renderedRowsAreThoseWritten() {
+        List<Column> columns = Arrays.asList(Column.values());
+        StringBuilder sb = new StringBuilder();
+        for (int instruction : instructions) {
+            sb.append(TableWriter.render(columns,
+                    Instruction.decode(instruction)));
+        }
+
+        String table = format(columns, 0);
+        String rows = table.substring(table.indexOf('\n') + 1)
+                .replaceAll("(?m)^0x[0-9a-f]{8} ", "");
+        assertThat(sb.toString(), is(rows));
+    }
+
+    @Test
+    public void nothingIsWrittenUntilFlushed() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        TableWriter writer = new TableWriter(Channels.newChannel(out),
+                Arrays.asList(Column.values()), false);
+        writer.write(0, Instruction.decode(0x23bdfff8));
+
+        assertThat(out.size(), is(0));
+        writer.flush();
+        assertThat(out.size() > 0, is(true));
+    }
+}
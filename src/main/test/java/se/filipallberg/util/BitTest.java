@@ -0,0 +1,41 @@
+package se.filipallberg.util;
+
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class BitTest {
+    @Test
+    public void getNBitsYanksTheRequestedBits() {
+        int n = 0x71014802;
+        assertThat(Bit.getNBits(n, 0, 6), is(equalTo(0x1c)));
+        assertThat(Bit.getNBits(n, 6, 5), is(equalTo(8)));
+        assertThat(Bit.getNBits(n, 26, 6), is(equalTo(2)));
+        assertThat(Bit.getNBits(0xffffffff, 0, 32), is(equalTo(0xffffffff)));
+    }
+
+    @Test
+    public void getNBitsAgreesWithTheBitPattern() {
+        int n = 0x8fbf0004;
+        String s = Bit.asBitPattern(n);
+        for (int start = 0; start < 32; start++) {
+            for (int length = 1; start + length <= 32; length++) {
+                int expected = (int) Long.parseLong(
+                        s.substring(start, start + length), 2);
+                assertThat(Bit.getNBits(n, start, length), is(equalTo(expected)));
+            }
+        }
+    }
+
+    @Test (expected = IllegalArgumentException.class)
+    public void getNBitsShouldNotAcceptTooManyBits() {
+        Bit.getNBits(0, 30, 3);
+    }
+
+    @Test (expected = IllegalArgumentException.class)
+    public void getNBitsShouldNotAcceptANegativeStart() {
+        Bit.getNBits(0, -1, 3);
+    }
+}